@@ -31,14 +31,21 @@ import com.alpsbte.alpslib.utils.AlpsUtils;
 import com.alpsbte.alpslib.utils.head.AlpsHeadEventListener;
 import com.alpsbte.plotsystem.commands.*;
 import com.alpsbte.plotsystem.core.holograms.LeaderboardManager;
-import com.alpsbte.plotsystem.core.system.Builder;
+import com.alpsbte.plotsystem.core.system.ReferenceDataCache;
+import com.alpsbte.plotsystem.core.system.ScoreRanking;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotRegeneration;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicPrefetcher;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicSync;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldPool;
 import com.alpsbte.plotsystem.core.system.tutorial.*;
 import com.alpsbte.plotsystem.utils.PacketListener;
 import com.alpsbte.plotsystem.utils.Utils;
 import com.alpsbte.plotsystem.utils.io.ConfigPaths;
 import com.alpsbte.plotsystem.utils.io.ConfigUtil;
+import com.alpsbte.plotsystem.utils.io.FTPManager;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
@@ -60,6 +67,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.logging.Level;
@@ -182,9 +190,20 @@ public class PlotSystem extends JavaPlugin {
         });
 
         HolographicDisplay.registerPlugin(this);
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            try {
+                ReferenceDataCache.load();
+                ScoreRanking.load();
+                SchematicPrefetcher.prefetchAll();
+            } catch (SQLException ex) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+            }
+        });
         LeaderboardManager.initLeaderboards();
         PlotUtils.checkPlotsForLastActivity();
         PlotUtils.syncPlotSchematicFiles();
+        PlotWorldPool.init();
+        PlotWorldManager.init();
         Utils.ChatUtils.checkForChatInputExpiry();
         PlotUtils.Effects.startTimer();
 
@@ -224,9 +243,14 @@ public class PlotSystem extends JavaPlugin {
 
             LeaderboardManager.getLeaderboards().forEach(HolographicDisplay::delete);
         } else {
+            // Stop everything that still produces database or FTP work
+            SchematicPrefetcher.shutdown();
+            SchematicSync.shutdown();
+            PlotRegeneration.shutdown();
+
             // Unload plots
-            for (UUID player : PlotUtils.Cache.getCachedInProgressPlots().keySet()) {
-                for (Plot plot : PlotUtils.Cache.getCachedInProgressPlots(Builder.byUUID(player))) {
+            for (List<Plot> plots : PlotUtils.Cache.getCachedInProgressPlots().values()) {
+                for (Plot plot : plots) {
                     if (plot != null) plot.getWorld().unloadWorld(true);
                 }
             }
@@ -236,6 +260,11 @@ public class PlotSystem extends JavaPlugin {
                 Tutorial tutorial = AbstractTutorial.getActiveTutorials().get(i);
                 tutorial.onTutorialStop(tutorial.getPlayerUUID());
             }
+            PlotWorldManager.shutdown();
+
+            // Finish running database tasks and write pending updates
+            DatabaseConnection.shutdown();
+            FTPManager.shutdown();
         }
     }
 
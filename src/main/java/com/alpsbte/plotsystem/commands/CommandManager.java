@@ -27,6 +27,7 @@ package com.alpsbte.plotsystem.commands;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.commands.admin.CMD_DeletePlot;
 import com.alpsbte.plotsystem.commands.admin.CMD_PReload;
+import com.alpsbte.plotsystem.commands.admin.CMD_RegenPlots;
 import com.alpsbte.plotsystem.commands.admin.CMD_SetLeaderboard;
 import com.alpsbte.plotsystem.commands.admin.setup.CMD_Setup;
 import com.alpsbte.plotsystem.commands.plot.CMD_Plot;
@@ -61,6 +62,7 @@ public class CommandManager {
         add(new CMD_DeletePlot());
         add(new CMD_SetLeaderboard());
         add(new CMD_PReload());
+        add(new CMD_RegenPlots());
 
         // Admin Setup Commands
         add(new CMD_Setup());
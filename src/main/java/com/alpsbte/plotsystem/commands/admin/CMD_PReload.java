@@ -24,17 +24,23 @@
 
 package com.alpsbte.plotsystem.commands.admin;
 
+import com.alpsbte.alpslib.hologram.HolographicDisplay;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.commands.BaseCommand;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.database.DatabaseExecutor;
 import com.alpsbte.plotsystem.core.holograms.LeaderboardConfiguration;
 import com.alpsbte.plotsystem.core.holograms.LeaderboardManager;
+import com.alpsbte.plotsystem.core.holograms.ScoreActionBarBroadcaster;
+import com.alpsbte.plotsystem.core.holograms.ScoreLeaderboard;
+import com.alpsbte.plotsystem.core.system.ReferenceDataCache;
 import com.alpsbte.plotsystem.utils.Utils;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class CMD_PReload extends BaseCommand {
@@ -56,6 +62,21 @@ public class CMD_PReload extends BaseCommand {
             sender.sendMessage(Utils.ChatUtils.getInfoFormat("Successfully reloaded leaderboards!"));
 
             DatabaseConnection.InitializeDatabase();
+            ReferenceDataCache.invalidate();
+
+            DatabaseExecutor executor = DatabaseConnection.getExecutor();
+            sender.sendMessage(Utils.ChatUtils.getInfoFormat("Database: " + executor.getActiveCount() + " running, " +
+                    executor.getQueueSize() + " queued (peak " + executor.getMaxQueueSize() + "), " +
+                    executor.getSubmittedTasks() + " submitted, " + executor.getOverflowedTasks() + " overflowed, " +
+                    DatabaseConnection.getQueuedUpdateCount() + " pending updates"));
+
+            for (HolographicDisplay leaderboard : LeaderboardManager.getLeaderboards()) {
+                if (!(leaderboard instanceof ScoreLeaderboard)) continue;
+                ScoreActionBarBroadcaster broadcaster = ((ScoreLeaderboard) leaderboard).getActionBarBroadcaster();
+                sender.sendMessage(Utils.ChatUtils.getInfoFormat("Score action bar: last cycle took " +
+                        TimeUnit.NANOSECONDS.toMillis(broadcaster.getLastCycleNanos()) + "ms, " + broadcaster.getLastCycleRecipients() + " players, " +
+                        broadcaster.getLastCycleBuilt() + " built, " + broadcaster.getLastCycleSent() + " sent"));
+            }
         } catch (Exception ex) {
             sender.sendMessage(Utils.ChatUtils.getAlertFormat("An error occurred while executing command!"));
             Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
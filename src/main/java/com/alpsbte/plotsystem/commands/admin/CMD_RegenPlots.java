@@ -0,0 +1,253 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.commands.admin;
+
+import com.alpsbte.alpslib.utils.AlpsUtils;
+import com.alpsbte.plotsystem.commands.BaseCommand;
+import com.alpsbte.plotsystem.commands.SubCommand;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotRegeneration;
+import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.logging.Level;
+
+public class CMD_RegenPlots extends BaseCommand {
+    private static final int DEFAULT_CHUNKS_PER_TICK = 16;
+
+    public CMD_RegenPlots() {
+        registerSubCommand(new CMD_RegenPlots_Start(this));
+        registerSubCommand(new CMD_RegenPlots_Status(this));
+        registerSubCommand(new CMD_RegenPlots_Pause(this));
+        registerSubCommand(new CMD_RegenPlots_Resume(this));
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command cmd, @NotNull String s, String[] args) {
+        if(!sender.hasPermission(getPermission())) {
+            sender.sendMessage(Utils.ChatUtils.getAlertFormat("You don't have permission to use this command!"));
+            return true;
+        }
+
+        if (args.length == 0) {
+            sendInfo(sender);
+        }
+
+        return super.onCommand(sender, cmd, s, args);
+    }
+
+    @Override
+    public String[] getNames() {
+        return new String[] { "regenplots" };
+    }
+
+    @Override
+    public String getDescription() {
+        return "Validate or regenerate all plots of a city project or status.";
+    }
+
+    @Override
+    public String[] getParameter() {
+        return new String[0];
+    }
+
+    @Override
+    public String getPermission() {
+        return "plotsystem.admin.regenplots";
+    }
+
+
+
+    public static class CMD_RegenPlots_Start extends SubCommand {
+        public CMD_RegenPlots_Start(BaseCommand baseCommand) {
+            super(baseCommand);
+        }
+
+        @Override
+        public void onCommand(CommandSender sender, String[] args) {
+            if (args.length < 3) { sendInfo(sender); return; }
+
+            PlotRegeneration.Mode mode = Arrays.stream(PlotRegeneration.Mode.values())
+                    .filter(m -> m.name().equalsIgnoreCase(args[0])).findFirst().orElse(null);
+            Integer cityID = args[1].equals("*") ? Integer.valueOf(-1) : AlpsUtils.tryParseInt(args[1]);
+            Status status = Arrays.stream(Status.values()).filter(st -> st.name().equalsIgnoreCase(args[2])).findFirst().orElse(null);
+            Integer chunksPerTick = args.length > 3 ? AlpsUtils.tryParseInt(args[3]) : Integer.valueOf(DEFAULT_CHUNKS_PER_TICK);
+            if (mode == null || cityID == null || (status == null && !args[2].equals("*")) || chunksPerTick == null || chunksPerTick <= 0) {
+                sendInfo(sender);
+                return;
+            }
+
+            PlotRegeneration job = PlotRegeneration.getJob();
+            if (job != null && job.isRunning()) {
+                sender.sendMessage(Utils.ChatUtils.getAlertFormat("A plot regeneration is already running! (" + job.getProgress() + ")"));
+                return;
+            }
+
+            sender.sendMessage(Utils.ChatUtils.getInfoFormat("Loading plots..."));
+            PlotRegeneration.start(mode, cityID, status, chunksPerTick, sender).exceptionally(ex -> {
+                sender.sendMessage(Utils.ChatUtils.getAlertFormat("An error occurred while executing command!"));
+                Bukkit.getLogger().log(Level.SEVERE, "Could not start plot regeneration!", ex);
+                return null;
+            });
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[] { "start" };
+        }
+
+        @Override
+        public String getDescription() {
+            return "City ID and status can be * for all. Default chunks per tick: " + DEFAULT_CHUNKS_PER_TICK;
+        }
+
+        @Override
+        public String[] getParameter() {
+            return new String[] { "validate/regenerate", "City-ID", "Status", "Chunks per Tick" };
+        }
+
+        @Override
+        public String getPermission() {
+            return "plotsystem.admin.regenplots";
+        }
+    }
+
+    public static class CMD_RegenPlots_Status extends SubCommand {
+        public CMD_RegenPlots_Status(BaseCommand baseCommand) {
+            super(baseCommand);
+        }
+
+        @Override
+        public void onCommand(CommandSender sender, String[] args) {
+            PlotRegeneration job = PlotRegeneration.getJob();
+            if (job == null) {
+                sender.sendMessage(Utils.ChatUtils.getInfoFormat("There is no plot regeneration since the last restart."));
+                return;
+            }
+
+            sender.sendMessage(Utils.ChatUtils.getInfoFormat((job.isRunning() ? "Running " : "Stopped ") + job.getMode().name().toLowerCase(Locale.ROOT) + ": " + job.getProgress()));
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[] { "status" };
+        }
+
+        @Override
+        public String getDescription() {
+            return "Shows the progress of the plot regeneration.";
+        }
+
+        @Override
+        public String[] getParameter() {
+            return new String[0];
+        }
+
+        @Override
+        public String getPermission() {
+            return "plotsystem.admin.regenplots";
+        }
+    }
+
+    public static class CMD_RegenPlots_Pause extends SubCommand {
+        public CMD_RegenPlots_Pause(BaseCommand baseCommand) {
+            super(baseCommand);
+        }
+
+        @Override
+        public void onCommand(CommandSender sender, String[] args) {
+            PlotRegeneration job = PlotRegeneration.getJob();
+            if (job == null || !job.isRunning()) {
+                sender.sendMessage(Utils.ChatUtils.getAlertFormat("There is no running plot regeneration!"));
+                return;
+            }
+            job.pause();
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[] { "pause" };
+        }
+
+        @Override
+        public String getDescription() {
+            return "Pauses the plot regeneration, it can be resumed later.";
+        }
+
+        @Override
+        public String[] getParameter() {
+            return new String[0];
+        }
+
+        @Override
+        public String getPermission() {
+            return "plotsystem.admin.regenplots";
+        }
+    }
+
+    public static class CMD_RegenPlots_Resume extends SubCommand {
+        public CMD_RegenPlots_Resume(BaseCommand baseCommand) {
+            super(baseCommand);
+        }
+
+        @Override
+        public void onCommand(CommandSender sender, String[] args) {
+            PlotRegeneration job = PlotRegeneration.getJob();
+            if (job != null && job.isRunning()) {
+                sender.sendMessage(Utils.ChatUtils.getAlertFormat("A plot regeneration is already running! (" + job.getProgress() + ")"));
+                return;
+            }
+
+            if (PlotRegeneration.resume(sender) == null) {
+                sender.sendMessage(Utils.ChatUtils.getAlertFormat("There is no paused plot regeneration!"));
+            }
+        }
+
+        @Override
+        public String[] getNames() {
+            return new String[] { "resume" };
+        }
+
+        @Override
+        public String getDescription() {
+            return "Resumes a paused or interrupted plot regeneration.";
+        }
+
+        @Override
+        public String[] getParameter() {
+            return new String[0];
+        }
+
+        @Override
+        public String getPermission() {
+            return "plotsystem.admin.regenplots";
+        }
+    }
+}
@@ -289,7 +289,7 @@ public class CMD_Setup_BuildTeam extends SubCommand {
                     sender.sendMessage(Utils.ChatUtils.getAlertFormat("Country could not be found or is already added to the build team!"));
                     return;
                 }
-                Country country = new Country(Integer.parseInt(args[2]));
+                Country country = Country.byID(Integer.parseInt(args[2]));
                 BuildTeam.addCountry(Integer.parseInt(args[1]), country.getID());
                 sender.sendMessage(Utils.ChatUtils.getInfoFormat("Successfully added country '" + country.getName() + "' to build team with ID " + args[1] + "!"));
             } catch (SQLException ex) {
@@ -338,7 +338,7 @@ public class CMD_Setup_BuildTeam extends SubCommand {
                     sender.sendMessage(Utils.ChatUtils.getAlertFormat("Country could not be found or is not added to the build team!"));
                     return;
                 }
-                Country country = new Country(Integer.parseInt(args[2]));
+                Country country = Country.byID(Integer.parseInt(args[2]));
                 BuildTeam.removeCountry(Integer.parseInt(args[1]), country.getID());
                 sender.sendMessage(Utils.ChatUtils.getInfoFormat("Successfully removed country '" + country.getName() + "' from build team with ID " + args[1] + "!"));
             } catch (SQLException ex) {
@@ -27,6 +27,7 @@ package com.alpsbte.plotsystem.commands.review;
 import com.alpsbte.alpslib.utils.AlpsUtils;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.commands.BaseCommand;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.menus.ReviewMenu;
 import com.alpsbte.plotsystem.core.menus.ReviewPlotMenu;
 import com.alpsbte.plotsystem.core.system.Builder;
@@ -68,7 +69,7 @@ public class CMD_Review extends BaseCommand {
             return true;
         }
 
-        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+        DatabaseConnection.async(() -> {
             Plot plot = null;
             if (args.length > 0) {
                 int plotId = Integer.parseInt(args[0]);
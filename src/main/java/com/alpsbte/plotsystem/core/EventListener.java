@@ -28,23 +28,18 @@ import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.menus.companion.CompanionMenu;
 import com.alpsbte.plotsystem.core.system.plot.TutorialPlot;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
-import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
-import com.alpsbte.plotsystem.core.system.tutorial.AbstractPlotTutorial;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 import com.alpsbte.plotsystem.core.system.tutorial.TutorialCategory;
 import com.alpsbte.plotsystem.utils.PlotMemberInvitation;
 import com.alpsbte.plotsystem.utils.chat.ChatInput;
 import com.alpsbte.plotsystem.utils.chat.PlayerInviteeChatInput;
 import com.alpsbte.plotsystem.utils.chat.PlayerFeedbackChatInput;
-import com.alpsbte.plotsystem.utils.io.ConfigPaths;
 import com.alpsbte.plotsystem.core.menus.ReviewMenu;
-import com.alpsbte.plotsystem.core.database.DatabaseConnection;
-import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.plot.generator.DefaultPlotGenerator;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
 import com.alpsbte.plotsystem.utils.Utils;
-import com.alpsbte.plotsystem.utils.enums.Status;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.flags.Flags;
@@ -70,115 +65,13 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.Openable;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
-import java.util.logging.Level;
 
 public class EventListener implements Listener {
     @EventHandler
     public void onPlayerJoinEvent(PlayerJoinEvent event) {
-        // User has joined for the first time
-        // Adding user to the database
-        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
-            // Add Items
-            Utils.updatePlayerInventorySlots(event.getPlayer());
-
-            // Check if player even exists in database.
-            try (ResultSet rs = DatabaseConnection.createStatement("SELECT * FROM plotsystem_builders WHERE uuid = ?")
-                    .setValue(event.getPlayer().getUniqueId().toString()).executeQuery()) {
-
-                if(!rs.first()) {
-                        DatabaseConnection.createStatement("INSERT INTO plotsystem_builders (uuid, name) VALUES (?, ?)")
-                                .setValue(event.getPlayer().getUniqueId().toString())
-                                .setValue(event.getPlayer().getName())
-                                .executeUpdate();
-                }
-
-                DatabaseConnection.closeResultSet(rs);
-            } catch (SQLException ex) {
-                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-            }
-
-            // Inform player about update
-            if (event.getPlayer().hasPermission("plotsystem.admin") && PlotSystem.UpdateChecker.updateAvailable() && PlotSystem.getPlugin().getConfig().getBoolean(ConfigPaths.CHECK_FOR_UPDATES)) {
-                event.getPlayer().sendMessage(Utils.ChatUtils.getInfoFormat("There is a new update for the Plot-System available. Check your console for more information!"));
-                event.getPlayer().playSound(event.getPlayer().getLocation(), Utils.SoundUtils.NOTIFICATION_SOUND, 1f, 1f);
-            }
-
-            // Check if player has changed his name
-            Builder builder = Builder.byUUID(event.getPlayer().getUniqueId());
-            try {
-                if (!builder.getName().equals(event.getPlayer().getName())) {
-                    DatabaseConnection.createStatement("UPDATE plotsystem_builders SET name = ? WHERE uuid = ?")
-                            .setValue(event.getPlayer().getName()).setValue(event.getPlayer().getUniqueId().toString()).executeUpdate();
-                }
-            } catch (SQLException ex) {
-                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-            }
-
-            // Informing player about new feedback
-            try {
-                List<Plot> plots = Plot.getPlots(builder, Status.completed, Status.unfinished);
-                List<Plot> reviewedPlots = new ArrayList<>();
-
-                for(Plot plot : plots) {
-                    if(plot.isReviewed() && !plot.getReview().isFeedbackSent()) {
-                        reviewedPlots.add(plot);
-                        plot.getReview().setFeedbackSent(true);
-                    }
-                }
-
-                if(!reviewedPlots.isEmpty()) {
-                    PlotUtils.ChatFormatting.sendFeedbackMessage(reviewedPlots, event.getPlayer());
-                    event.getPlayer().sendTitle("","§6§l" + reviewedPlots.size() + " §a§lPlot" + (reviewedPlots.size() == 1 ? " " : "s ") + (reviewedPlots.size() == 1 ? "has" : "have") + " been reviewed!", 20, 150, 20);
-                }
-            } catch (Exception ex) {
-                Bukkit.getLogger().log(Level.SEVERE, "An error occurred while trying to inform the player about his plot feedback!", ex);
-            }
-
-            // Informing player about unfinished plots
-            try {
-                List<Plot> plots = Plot.getPlots(builder, Status.unfinished);
-                if(!plots.isEmpty()) {
-                    PlotUtils.ChatFormatting.sendUnfinishedPlotReminderMessage(plots, event.getPlayer());
-                    event.getPlayer().sendMessage("");
-                }
-            } catch (Exception ex){
-                Bukkit.getLogger().log(Level.SEVERE,"An error occurred while trying to inform the player about his unfinished plots!", ex);
-            }
-
-            // Informing reviewer about new reviews
-            try {
-                if(event.getPlayer().hasPermission("plotsystem.review") && builder.isReviewer()) {
-                    List<Plot> unreviewedPlots = Plot.getPlots(builder.getAsReviewer().getCountries(), Status.unreviewed);
-
-                    if(!unreviewedPlots.isEmpty()) {
-                        PlotUtils.ChatFormatting.sendUnreviewedPlotsReminderMessage(unreviewedPlots, event.getPlayer());
-                    }
-                }
-            } catch (Exception ex) {
-                Bukkit.getLogger().log(Level.SEVERE,"An error occurred while trying to inform the player about unreviewed plots!", ex);
-            }
-
-            // Start or notify the player if he has not completed the beginner tutorial yet (only if required)
-            try {
-                if (PlotSystem.getPlugin().getConfig().getBoolean(ConfigPaths.TUTORIAL_REQUIRE_BEGINNER_TUTORIAL) &&
-                        !TutorialPlot.isPlotCompleted(event.getPlayer(), TutorialCategory.BEGINNER.getId())) {
-                    if (!event.getPlayer().hasPlayedBefore()) {
-                        Bukkit.getScheduler().runTask(PlotSystem.getPlugin(),
-                                () -> event.getPlayer().performCommand("tutorial " + TutorialCategory.BEGINNER.getId()));
-                    } else {
-                        AbstractPlotTutorial.sendTutorialRequiredMessage(event.getPlayer(), TutorialCategory.BEGINNER.getId());
-                        event.getPlayer().playSound(event.getPlayer().getLocation(), Utils.SoundUtils.NOTIFICATION_SOUND, 1f, 1f);
-                    }
-                }
-            } catch (SQLException ex) {
-                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-            }
-        });
+        JoinPipeline.onJoin(event.getPlayer());
     }
 
     @EventHandler
@@ -230,10 +123,7 @@ public class EventListener implements Listener {
         final World w = event.getPlayer().getWorld();
 
         Bukkit.getScheduler().scheduleSyncDelayedTask(PlotSystem.getPlugin(), () -> {
-            if(PlotUtils.isPlotWorld(w)) {
-                try { PlotWorld.getPlotWorldByName(w.getName()).unloadWorld(false);
-                } catch (SQLException ex) { Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex); }
-            }
+            if(PlotUtils.isPlotWorld(w)) PlotWorldManager.touch(w.getName());
             DefaultPlotGenerator.playerPlotGenerationHistory.remove(event.getPlayer().getUniqueId());
             ChatInput.awaitChatInput.remove(event.getPlayer().getUniqueId());
             PlotUtils.Cache.clearCache(event.getPlayer().getUniqueId());
@@ -242,9 +132,8 @@ public class EventListener implements Listener {
 
     @EventHandler
     public void onPlayerChangedWorldEvent(PlayerChangedWorldEvent event) throws SQLException {
-        if (PlotUtils.isPlotWorld(event.getFrom())) {
-            PlotWorld.getPlotWorldByName(event.getFrom().getName()).unloadWorld(false);
-        }
+        // The world is unloaded by the plot world manager once it is idle
+        if (PlotUtils.isPlotWorld(event.getFrom())) PlotWorldManager.touch(event.getFrom().getName());
         Utils.updatePlayerInventorySlots(event.getPlayer());
     }
 
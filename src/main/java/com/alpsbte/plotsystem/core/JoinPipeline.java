@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.system.Builder;
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.core.system.plot.PlotRecord;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
+import com.alpsbte.plotsystem.core.system.tutorial.AbstractPlotTutorial;
+import com.alpsbte.plotsystem.core.system.tutorial.TutorialCategory;
+import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import com.alpsbte.plotsystem.utils.io.ConfigPaths;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Handles everything that has to be done when a player joins the server.
+ * <p>
+ * The builder row is upserted and all facts needed for the join notifications are fetched with two queries.
+ * The notifications are then sent in parallel. All work runs on the bounded database executor, so login waves
+ * do not starve the shared async scheduler pool.
+ */
+public final class JoinPipeline {
+    private JoinPipeline() {}
+
+    public static void onJoin(Player player) {
+        DatabaseConnection.async(() -> load(player))
+                .thenAcceptAsync(facts -> notify(player, facts), DatabaseConnection.mainThread())
+                .exceptionally(ex -> {
+                    Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                    return null;
+                });
+    }
+
+    private static JoinFacts load(Player player) throws SQLException {
+        // Add Items
+        Utils.updatePlayerInventorySlots(player);
+
+        // Add user to the database or update the name if it has changed
+        DatabaseConnection.createStatement("INSERT INTO plotsystem_builders (uuid, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name)")
+                .setValue(player.getUniqueId().toString())
+                .setValue(player.getName())
+                .executeUpdate();
+
+        return JoinFacts.load(player);
+    }
+
+    /**
+     * Sends the join notifications, runs on the main thread and hands everything that needs the database to the database executor
+     */
+    private static void notify(Player player, JoinFacts facts) {
+        if (!player.isOnline()) return;
+
+        // Inform player about update
+        if (player.hasPermission("plotsystem.admin") && PlotSystem.UpdateChecker.updateAvailable() && PlotSystem.getPlugin().getConfig().getBoolean(ConfigPaths.CHECK_FOR_UPDATES)) {
+            player.sendMessage(Utils.ChatUtils.getInfoFormat("There is a new update for the Plot-System available. Check your console for more information!"));
+            player.playSound(player.getLocation(), Utils.SoundUtils.NOTIFICATION_SOUND, 1f, 1f);
+        }
+
+        // Informing player about new feedback
+        if (!facts.reviewedPlots.isEmpty()) DatabaseConnection.async(() -> {
+            try {
+                DatabaseConnection.runInTransaction(() -> {
+                    for (Plot plot : facts.reviewedPlots) plot.getReview().setFeedbackSent(true);
+                });
+
+                PlotUtils.ChatFormatting.sendFeedbackMessage(facts.reviewedPlots, player);
+                player.sendTitle("","§6§l" + facts.reviewedPlots.size() + " §a§lPlot" + (facts.reviewedPlots.size() == 1 ? " " : "s ") + (facts.reviewedPlots.size() == 1 ? "has" : "have") + " been reviewed!", 20, 150, 20);
+            } catch (Exception ex) {
+                Bukkit.getLogger().log(Level.SEVERE, "An error occurred while trying to inform the player about his plot feedback!", ex);
+            }
+        });
+
+        // Informing player about unfinished plots
+        if (!facts.unfinishedPlots.isEmpty()) {
+            PlotUtils.ChatFormatting.sendUnfinishedPlotReminderMessage(facts.unfinishedPlots, player);
+            player.sendMessage("");
+        }
+
+        // Informing reviewer about new reviews
+        if (facts.isReviewer && player.hasPermission("plotsystem.review")) DatabaseConnection.async(() -> {
+            try {
+                List<Plot> unreviewedPlots = Plot.getPlots(Builder.byUUID(player.getUniqueId()).getAsReviewer().getCountries(), Status.unreviewed);
+                if (!unreviewedPlots.isEmpty()) {
+                    PlotUtils.ChatFormatting.sendUnreviewedPlotsReminderMessage(unreviewedPlots, player);
+                }
+            } catch (Exception ex) {
+                Bukkit.getLogger().log(Level.SEVERE,"An error occurred while trying to inform the player about unreviewed plots!", ex);
+            }
+        });
+
+        // Start or notify the player if he has not completed the beginner tutorial yet (only if required)
+        if (PlotSystem.getPlugin().getConfig().getBoolean(ConfigPaths.TUTORIAL_REQUIRE_BEGINNER_TUTORIAL) && !facts.completedBeginnerTutorial) {
+            if (!player.hasPlayedBefore()) {
+                player.performCommand("tutorial " + TutorialCategory.BEGINNER.getId());
+            } else {
+                AbstractPlotTutorial.sendTutorialRequiredMessage(player, TutorialCategory.BEGINNER.getId());
+                player.playSound(player.getLocation(), Utils.SoundUtils.NOTIFICATION_SOUND, 1f, 1f);
+            }
+        }
+    }
+
+    /**
+     * Everything the join notifications need to know about a player, loaded with two queries
+     */
+    private static class JoinFacts {
+        private final List<Plot> reviewedPlots = new ArrayList<>();
+        private final List<Plot> unfinishedPlots = new ArrayList<>();
+        private boolean isReviewer;
+        private boolean completedBeginnerTutorial;
+
+        private static JoinFacts load(Player player) throws SQLException {
+            JoinFacts facts = new JoinFacts();
+            String uuid = player.getUniqueId().toString();
+
+            DatabaseConnection.createStatement("SELECT plots.*, reviews.id AS joined_review_id, reviews.sent AS feedback_sent FROM plotsystem_plots AS plots " +
+                            "LEFT JOIN plotsystem_reviews AS reviews ON reviews.id = plots.review_id " +
+                            "WHERE plots.status IN ('completed', 'unfinished') AND (plots.owner_uuid = ? " +
+                            "OR plots.id IN (SELECT plot_id FROM plotsystem_plot_members WHERE builder_uuid = ?)) ORDER BY plots.id")
+                    .setValue(uuid).setValue(uuid)
+                    .query(rs -> {
+                        Plot plot = new Plot(new PlotRecord(rs));
+                        // A review_id without a matching review would otherwise read as unsent feedback
+                        if (rs.getObject("joined_review_id") != null && rs.getInt("feedback_sent") == 0) facts.reviewedPlots.add(plot);
+                        if (plot.getStatus() == Status.unfinished) facts.unfinishedPlots.add(plot);
+                        return plot;
+                    });
+
+            DatabaseConnection.createStatement("SELECT " +
+                            "(SELECT COUNT(builder_uuid) FROM plotsystem_builder_is_reviewer WHERE builder_uuid = ?), " +
+                            "(SELECT COUNT(id) FROM plotsystem_plots_tutorial WHERE player_uuid = ? AND tutorial_id = ? AND is_completed = 1)")
+                    .setValue(uuid).setValue(uuid).setValue(TutorialCategory.BEGINNER.getId())
+                    .queryOne(rs -> {
+                        facts.isReviewer = rs.getInt(1) > 0;
+                        facts.completedBeginnerTutorial = rs.getInt(2) > 0;
+                        return facts;
+                    });
+            return facts;
+        }
+    }
+}
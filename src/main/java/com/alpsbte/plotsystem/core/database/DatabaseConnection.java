@@ -30,14 +30,26 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.logging.Level;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DatabaseConnection {
 
@@ -49,7 +61,21 @@ public class DatabaseConnection {
     private static String username;
     private static String password;
 
-    private static int connectionClosed, connectionOpened;
+    public static final long WRITE_BEHIND_FLUSH_TICKS = 20 * 30;
+    private static final int EXECUTOR_QUEUE_CAPACITY = 1024;
+
+    private static DatabaseExecutor executor;
+
+    // Updates and callbacks collected by the unit of work that is currently running on this thread
+    private static final ThreadLocal<List<StatementBuilder>> pendingUpdates = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> pendingCallbacks = new ThreadLocal<>();
+    // Non-critical updates, coalesced per key and flushed periodically
+    private static final Map<String, StatementBuilder> writeBehindQueue = new ConcurrentHashMap<>();
+    // Updates taken from the queue by the flush that is currently running
+    private static final Map<String, StatementBuilder> flushingUpdates = new ConcurrentHashMap<>();
+    private static final Object writeBehindLock = new Object();
+    // Guarded by writeBehindLock, true while a flush is writing its updates
+    private static boolean flushing;
 
     public static void InitializeDatabase() throws ClassNotFoundException, SQLException {
         Class.forName("org.mariadb.jdbc.Driver");
@@ -68,10 +94,18 @@ public class DatabaseConnection {
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
 
         dataSource = new HikariDataSource(config);
 
         createTables();
+
+        // Executor and flush timer outlive a /preload, only create them once
+        if (executor == null) {
+            executor = new DatabaseExecutor(dataSource.getMaximumPoolSize(), EXECUTOR_QUEUE_CAPACITY);
+            Bukkit.getScheduler().runTaskTimerAsynchronously(PlotSystem.getPlugin(), DatabaseConnection::flushWriteBehindQueue,
+                    WRITE_BEHIND_FLUSH_TICKS, WRITE_BEHIND_FLUSH_TICKS);
+        }
     }
 
     @Deprecated
@@ -92,21 +126,222 @@ public class DatabaseConnection {
         return new StatementBuilder(sql);
     }
 
-    public static void closeResultSet(ResultSet resultSet) throws SQLException {
-        if(resultSet.isClosed()
-                && resultSet.getStatement().isClosed()
-                && resultSet.getStatement().getConnection().isClosed())
+    /**
+     * Runs the given actions as one unit of work. All updates executed on this thread while the
+     * unit of work is running are collected and flushed afterwards in a single transaction using JDBC batches.
+     * If the actions throw an exception, none of the collected updates are executed.
+     * <p>
+     * NOTE: Queries inside the unit of work do not see the collected updates yet.
+     *
+     * @param transaction actions to run
+     * @throws SQLException SQL database exception
+     */
+    public static void runInTransaction(Transaction transaction) throws SQLException {
+        // Join the unit of work that is already running
+        if (pendingUpdates.get() != null) {
+            transaction.run();
             return;
+        }
+
+        List<StatementBuilder> updates = new ArrayList<>();
+        List<Runnable> callbacks = new ArrayList<>();
+        pendingUpdates.set(updates);
+        pendingCallbacks.set(callbacks);
+        try {
+            transaction.run();
+        } finally {
+            pendingUpdates.remove();
+            pendingCallbacks.remove();
+        }
+
+        executeBatch(updates);
+        for (Runnable callback : callbacks) callback.run();
+    }
+
+    /**
+     * Runs the callback after the unit of work running on this thread has been committed, or right away if there is none.
+     * Use it for side effects like cache invalidations, so they are skipped if the unit of work fails.
+     * @param callback callback to run
+     */
+    public static void afterCommit(Runnable callback) {
+        List<Runnable> callbacks = pendingCallbacks.get();
+        if (callbacks != null) callbacks.add(callback);
+        else callback.run();
+    }
+
+    /**
+     * Runs the given database task on the database executor.
+     * Use {@link #mainThread()} to continue on the main thread, e.g. {@code async(...).thenAcceptAsync(result -> ..., mainThread())}
+     *
+     * @param task task to run
+     * @return future which completes with the result of the task
+     */
+    public static <T> CompletableFuture<T> async(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs the given database task on the database executor.
+     *
+     * @param task task to run
+     * @return future which completes when the task is done
+     */
+    public static CompletableFuture<Void> async(Transaction task) {
+        return async(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return executor which runs tasks on the main thread
+     */
+    public static Executor mainThread() {
+        return task -> {
+            if (Bukkit.isPrimaryThread()) task.run();
+            else Bukkit.getScheduler().runTask(PlotSystem.getPlugin(), task);
+        };
+    }
+
+    /**
+     * @return executor which runs all database tasks, can be used to read the queue metrics
+     */
+    public static DatabaseExecutor getExecutor() {
+        return executor;
+    }
 
-        resultSet.close();
-        resultSet.getStatement().close();
-        resultSet.getStatement().getConnection().close();
+    /**
+     * Waits for all running database tasks and writes pending updates
+     */
+    public static void shutdown() {
+        if (executor != null) executor.shutdown();
+        flushWriteBehindQueue();
+    }
 
-        connectionClosed++;
+    /**
+     * Removes a queued write-behind update, e.g. if the value gets overwritten immediately
+     * @param key key the update was queued with
+     */
+    public static void cancelQueuedUpdate(String key) {
+        synchronized (writeBehindLock) {
+            writeBehindQueue.remove(key);
 
-        if(connectionOpened > connectionClosed + 5) {
-            Bukkit.getLogger().log(Level.SEVERE, "There are multiple database connections opened. Please report this issue.");
-            Bukkit.getLogger().log(Level.SEVERE, "Connections Open: " + (connectionOpened - connectionClosed));
+            // If the value is being written right now, wait for the flush, so it can not be written after the caller's own update
+            if (flushingUpdates.remove(key) != null) awaitFlush();
+        }
+    }
+
+    /**
+     * Returns a value of a queued write-behind update which is not written to the database yet
+     * @param key key the update was queued with
+     * @param index index of the value in the update statement
+     * @return value or null if no update is pending for the key
+     */
+    public static @Nullable Object getQueuedValue(String key, int index) {
+        StatementBuilder update = writeBehindQueue.get(key);
+        if (update == null) update = flushingUpdates.get(key);
+        return update != null ? update.values.get(index) : null;
+    }
+
+    /**
+     * @return amount of write-behind updates which are not written to the database yet
+     */
+    public static int getQueuedUpdateCount() {
+        return writeBehindQueue.size() + flushingUpdates.size();
+    }
+
+    /**
+     * Executes all queued write-behind updates in one transaction
+     */
+    public static void flushWriteBehindQueue() {
+        List<StatementBuilder> updates;
+        synchronized (writeBehindLock) {
+            // Only one flush writes at a time, so updates of the same key can not overtake each other
+            awaitFlush();
+            if (flushing || writeBehindQueue.isEmpty()) return;
+
+            for (String key : new ArrayList<>(writeBehindQueue.keySet())) {
+                StatementBuilder update = writeBehindQueue.remove(key);
+                if (update != null) flushingUpdates.put(key, update);
+            }
+            flushing = true;
+
+            // Queued updates are independent of each other, so they can be grouped by statement
+            updates = new ArrayList<>(flushingUpdates.values());
+            updates.sort(Comparator.comparing(update -> update.sql));
+        }
+
+        boolean failed = false;
+        try {
+            executeBatch(updates);
+        } catch (SQLException ex) {
+            failed = true;
+            Bukkit.getLogger().log(Level.SEVERE, "An error occurred while flushing queued database updates!", ex);
+        } finally {
+            synchronized (writeBehindLock) {
+                // Retry failed updates with the next flush, unless they were cancelled or replaced by a newer value meanwhile
+                if (failed) flushingUpdates.forEach(writeBehindQueue::putIfAbsent);
+                flushingUpdates.clear();
+                flushing = false;
+                writeBehindLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until the running flush has finished, has to be called while holding writeBehindLock
+     */
+    private static void awaitFlush() {
+        while (flushing) {
+            try {
+                writeBehindLock.wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void executeBatch(List<StatementBuilder> updates) throws SQLException {
+        if (updates.isEmpty()) return;
+
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(false);
+            try {
+                // Consecutive updates with the same statement share one batch, so the order is preserved
+                PreparedStatement ps = null;
+                String currentSql = null;
+                try {
+                    for (StatementBuilder update : updates) {
+                        if (!update.sql.equals(currentSql)) {
+                            if (ps != null) {
+                                ps.executeBatch();
+                                ps.close();
+                            }
+                            ps = con.prepareStatement(update.sql);
+                            currentSql = update.sql;
+                        }
+                        update.iterateValues(ps).addBatch();
+                    }
+                    if (ps != null) ps.executeBatch();
+                } finally {
+                    if (ps != null) ps.close();
+                }
+                con.commit();
+            } catch (SQLException ex) {
+                con.rollback();
+                throw ex;
+            } finally {
+                con.setAutoCommit(true);
+            }
         }
     }
 
@@ -133,6 +368,8 @@ public class DatabaseConnection {
                     }
                 }
             }
+
+            SchemaMigrations.migrate(con);
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "An error occurred while creating database table!", ex);
         }
@@ -147,16 +384,8 @@ public class DatabaseConnection {
         try {
             String query ="SELECT id + 1 available_id FROM $table t WHERE NOT EXISTS (SELECT * FROM $table WHERE $table.id = t.id + 1) ORDER BY id LIMIT 1"
                     .replace("$table", table);
-            try (ResultSet rs = DatabaseConnection.createStatement(query).executeQuery()) {
-                if (rs.next()) {
-                    int i = rs.getInt(1);
-                    DatabaseConnection.closeResultSet(rs);
-                    return i;
-                }
-
-                DatabaseConnection.closeResultSet(rs);
-                return 1;
-            }
+            Integer id = DatabaseConnection.createStatement(query).queryOne(rs -> rs.getInt(1));
+            return id != null ? id : 1;
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
             return 1;
@@ -176,17 +405,80 @@ public class DatabaseConnection {
             return this;
         }
 
-        public ResultSet executeQuery() throws SQLException {
-            Connection con = dataSource.getConnection();
-            PreparedStatement ps = Objects.requireNonNull(con).prepareStatement(sql);
-            ResultSet rs = iterateValues(ps).executeQuery();
+        /**
+         * Executes the query and maps all rows. The connection is always released before returning.
+         * @param mapper maps the current row of the result set
+         * @return list of all mapped rows
+         * @throws SQLException SQL database exception
+         */
+        public <T> List<T> query(RowMapper<T> mapper) throws SQLException {
+            try (Connection con = dataSource.getConnection();
+                 PreparedStatement ps = Objects.requireNonNull(con).prepareStatement(sql)) {
+                iterateValues(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    List<T> rows = new ArrayList<>();
+                    while (rs.next()) rows.add(mapper.map(rs));
+                    return rows;
+                }
+            }
+        }
 
-            connectionOpened++;
+        /**
+         * Executes the query and maps the first row. The connection is always released before returning.
+         * @param mapper maps the current row of the result set
+         * @return mapped first row or null if the query returned no rows
+         * @throws SQLException SQL database exception
+         */
+        public <T> T queryOne(RowMapper<T> mapper) throws SQLException {
+            try (Connection con = dataSource.getConnection();
+                 PreparedStatement ps = Objects.requireNonNull(con).prepareStatement(sql)) {
+                iterateValues(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? mapper.map(rs) : null;
+                }
+            }
+        }
+
+        /**
+         * Executes the query and lazily maps the rows while they are fetched in chunks of the given size.
+         * The connection is released as soon as the last row was read or the stream is closed,
+         * so the stream should be used with try-with-resources if it might not be consumed completely.
+         * @param fetchSize number of rows fetched from the database at once
+         * @param mapper maps the current row of the result set
+         * @return stream of mapped rows
+         * @throws SQLException SQL database exception
+         */
+        public <T> Stream<T> stream(int fetchSize, RowMapper<T> mapper) throws SQLException {
+            Connection con = dataSource.getConnection();
+            PreparedStatement ps = null;
+            ResultSet rs;
+            try {
+                ps = Objects.requireNonNull(con).prepareStatement(sql);
+                iterateValues(ps);
+                ps.setFetchSize(fetchSize);
+                rs = ps.executeQuery();
+            } catch (SQLException ex) {
+                if (ps != null) ps.close();
+                con.close();
+                throw ex;
+            }
 
-            return rs;
+            RowSpliterator<T> spliterator = new RowSpliterator<>(con, ps, rs, mapper);
+            return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
         }
 
+        /**
+         * Executes the update immediately or adds it to the running unit of work
+         * @see DatabaseConnection#runInTransaction(Transaction)
+         * @throws SQLException SQL database exception
+         */
         public void executeUpdate() throws SQLException {
+            List<StatementBuilder> pending = pendingUpdates.get();
+            if (pending != null) {
+                pending.add(this);
+                return;
+            }
+
             try (Connection con = dataSource.getConnection()) {
                 try (PreparedStatement ps = Objects.requireNonNull(con).prepareStatement(sql)) {
                     iterateValues(ps).executeUpdate();
@@ -194,6 +486,15 @@ public class DatabaseConnection {
             }
         }
 
+        /**
+         * Queues the update to be executed with the next write-behind flush.
+         * A previously queued update with the same key is replaced.
+         * @param key unique key of the updated value, e.g. table, column and row
+         */
+        public void queueUpdate(String key) {
+            writeBehindQueue.put(key, this);
+        }
+
         private PreparedStatement iterateValues(PreparedStatement ps) throws SQLException {
             for (int i = 0; i < values.size(); i++) {
                 ps.setObject(i + 1, values.get(i));
@@ -202,6 +503,60 @@ public class DatabaseConnection {
         }
     }
 
+    @FunctionalInterface
+    public interface Transaction {
+        void run() throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection con;
+        private final PreparedStatement ps;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean closed = false;
+
+        private RowSpliterator(Connection con, PreparedStatement ps, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.con = con;
+            this.ps = ps;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) return false;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException ex) {
+                close();
+                throw new IllegalStateException("An error occurred while reading the query result!", ex);
+            }
+        }
+
+        private void close() {
+            if (closed) return;
+            closed = true;
+            try {
+                rs.close();
+                ps.close();
+                con.close();
+            } catch (SQLException ex) {
+                Bukkit.getLogger().log(Level.SEVERE, "An error occurred while closing the database connection!", ex);
+            }
+        }
+    }
+
     private static class Tables {
         private final static List<String> tables;
 
@@ -330,6 +685,21 @@ public class DatabaseConnection {
                     "ALTER TABLE plotsystem_plots ADD COLUMN IF NOT EXISTS type int NOT NULL DEFAULT 1;",
                     "ALTER TABLE plotsystem_plots ADD COLUMN IF NOT EXISTS version DOUBLE NULL DEFAULT NULL;",
 
+                    // Plot Members
+                    "CREATE TABLE IF NOT EXISTS `plotsystem_plot_members` (" +
+                            "`id` INT(11) NOT NULL AUTO_INCREMENT," +
+                            "`plot_id` INT(11) NOT NULL," +
+                            "`builder_uuid` VARCHAR(36) NOT NULL COLLATE 'utf8mb4_general_ci'," +
+                            "PRIMARY KEY (`id`) USING BTREE," +
+                            "UNIQUE KEY `UQ_plot_member` (`plot_id`, `builder_uuid`)," +
+                            "KEY `IDX_builder_uuid` (`builder_uuid`)," +
+                            "CONSTRAINT `FK_150` FOREIGN KEY (`plot_id`) REFERENCES `plotsystem_plots` (`id`) ON UPDATE RESTRICT ON DELETE CASCADE," +
+                            "CONSTRAINT `FK_151` FOREIGN KEY (`builder_uuid`) REFERENCES `plotsystem_builders` (`uuid`) ON UPDATE RESTRICT ON DELETE RESTRICT" +
+                            ")" +
+                            "COLLATE='utf8mb4_general_ci'" +
+                            "ENGINE=InnoDB" +
+                            ";",
+
                     // API Keys
                     "CREATE TABLE IF NOT EXISTS `plotsystem_api_keys`" +
                             "(" +
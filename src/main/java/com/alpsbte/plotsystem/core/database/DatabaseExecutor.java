@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.database;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Bounded executor for blocking database work.
+ * <p>
+ * The amount of threads matches the size of the connection pool, so queued tasks wait in the queue instead of
+ * blocking a thread while waiting for a connection. If the queue is full, tasks submitted from worker threads run
+ * on the submitting thread (back-pressure). Tasks submitted from the main thread are handed to the scheduler instead
+ * so the server never blocks on the database.
+ */
+public final class DatabaseExecutor {
+    private static final String THREAD_PREFIX = "PlotSystem-Database-";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submittedTasks = new AtomicLong();
+    private final AtomicLong overflowedTasks = new AtomicLong();
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
+
+    DatabaseExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, THREAD_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (r, ex) -> {
+            overflowedTasks.incrementAndGet();
+            if (ex.isShutdown() || Bukkit.isPrimaryThread()) {
+                if (PlotSystem.getPlugin().isEnabled()) {
+                    Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), r);
+                } else r.run();
+            } else r.run();
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    void execute(Runnable task) {
+        submittedTasks.incrementAndGet();
+        // Tasks that are started from a database thread run inline to avoid waiting on the own pool
+        if (isDatabaseThread()) {
+            task.run();
+            return;
+        }
+
+        executor.execute(task);
+        maxQueueSize.accumulateAndGet(executor.getQueue().size(), Math::max);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Bukkit.getLogger().log(Level.WARNING, "Database tasks did not finish in time, " + executor.shutdownNow().size() + " tasks were dropped.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isDatabaseThread() {
+        return Thread.currentThread().getName().startsWith(THREAD_PREFIX);
+    }
+
+    /**
+     * @return amount of tasks waiting for a free thread
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return highest amount of waiting tasks since startup
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize.get();
+    }
+
+    /**
+     * @return amount of tasks currently running
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return amount of tasks submitted since startup
+     */
+    public long getSubmittedTasks() {
+        return submittedTasks.get();
+    }
+
+    /**
+     * @return amount of tasks which did not fit into the queue since startup
+     */
+    public long getOverflowedTasks() {
+        return overflowedTasks.get();
+    }
+}
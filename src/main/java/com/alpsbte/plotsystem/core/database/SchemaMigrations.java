@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.database;
+
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Applies ordered schema migrations on top of the tables created by {@link DatabaseConnection}.
+ * <p>
+ * Applied versions are stored in the plotsystem_schema_version table. Every migration only runs once,
+ * its steps are written to be idempotent so a migration which was interrupted can safely be run again.
+ * New migrations have to be appended with the next version number, existing migrations must not be changed.
+ */
+final class SchemaMigrations {
+    private static final List<Migration> migrations = Arrays.asList(
+            new Migration(1, "Move plot members to plotsystem_plot_members", SchemaMigrations::migratePlotMembers),
+            new Migration(2, "Add plot status indexes",
+                    "ALTER TABLE plotsystem_plots ADD INDEX IF NOT EXISTS `IDX_status_city_difficulty` (`status`, `city_project_id`, `difficulty_id`)",
+                    "ALTER TABLE plotsystem_plots ADD INDEX IF NOT EXISTS `IDX_status_last_activity` (`status`, `last_activity`)"),
+            new Migration(3, "Add leaderboard indexes",
+                    "ALTER TABLE plotsystem_reviews ADD INDEX IF NOT EXISTS `IDX_review_date` (`review_date`)",
+                    "ALTER TABLE plotsystem_builders ADD INDEX IF NOT EXISTS `IDX_name` (`name`)"),
+            new Migration(4, "Add packed plot geometry",
+                    "ALTER TABLE plotsystem_plots ADD COLUMN IF NOT EXISTS `geometry` VARCHAR(255) NULL DEFAULT NULL COLLATE 'utf8mb4_general_ci'")
+    );
+
+    private SchemaMigrations() {}
+
+    static void migrate(Connection con) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("CREATE TABLE IF NOT EXISTS `plotsystem_schema_version` (" +
+                "`version` INT(11) NOT NULL," +
+                "`description` VARCHAR(255) NOT NULL COLLATE 'utf8mb4_general_ci'," +
+                "`applied_at` DATETIME NOT NULL DEFAULT current_timestamp()," +
+                "PRIMARY KEY (`version`) USING BTREE" +
+                ")" +
+                "COLLATE='utf8mb4_general_ci'" +
+                "ENGINE=InnoDB" +
+                ";")) {
+            ps.executeUpdate();
+        }
+
+        int currentVersion = 0;
+        try (PreparedStatement ps = con.prepareStatement("SELECT MAX(version) FROM plotsystem_schema_version");
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) currentVersion = rs.getInt(1);
+        }
+
+        for (Migration migration : migrations) {
+            if (migration.version <= currentVersion) continue;
+
+            Bukkit.getLogger().log(Level.INFO, "Applying database migration " + migration.version + ": " + migration.description);
+            migration.step.apply(con);
+
+            try (PreparedStatement ps = con.prepareStatement("INSERT IGNORE INTO plotsystem_schema_version (version, description) VALUES (?, ?)")) {
+                ps.setInt(1, migration.version);
+                ps.setString(2, migration.description);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Copies the comma separated member_uuids of plots into the plotsystem_plot_members table.
+     * The legacy column is left in place and kept in sync by Plot#updateLegacyPlotMembers, so older plugin versions
+     * and external readers keep working.
+     */
+    private static void migratePlotMembers(Connection con) throws SQLException {
+        boolean autoCommit = con.getAutoCommit();
+        con.setAutoCommit(false);
+        try (PreparedStatement select = con.prepareStatement("SELECT id, member_uuids FROM plotsystem_plots WHERE member_uuids IS NOT NULL AND member_uuids <> ''");
+             PreparedStatement insert = con.prepareStatement("INSERT INTO plotsystem_plot_members (plot_id, builder_uuid) SELECT ?, ? FROM DUAL " +
+                     "WHERE NOT EXISTS (SELECT 1 FROM plotsystem_plot_members WHERE plot_id = ? AND builder_uuid = ?)");
+             ResultSet rs = select.executeQuery()) {
+            int migrated = 0, skipped = 0;
+            while (rs.next()) {
+                int plotID = rs.getInt(1);
+                for (String uuid : rs.getString(2).split(",")) {
+                    if (uuid.trim().isEmpty()) continue;
+                    insert.setInt(1, plotID);
+                    insert.setString(2, uuid.trim());
+                    insert.setInt(3, plotID);
+                    insert.setString(4, uuid.trim());
+                    try {
+                        // A failed statement only rolls back itself, the other members are still migrated
+                        migrated += insert.executeUpdate();
+                    } catch (SQLException ex) {
+                        skipped++;
+                        Bukkit.getLogger().log(Level.WARNING, "Skipped member " + uuid.trim() + " of plot " + plotID + " while migrating plot members: " + ex.getMessage());
+                    }
+                }
+            }
+
+            if (migrated > 0 || skipped > 0)
+                Bukkit.getLogger().log(Level.INFO, "Migrated " + migrated + " plot members to plotsystem_plot_members, skipped " + skipped + ".");
+            con.commit();
+        } catch (SQLException ex) {
+            con.rollback();
+            throw ex;
+        } finally {
+            con.setAutoCommit(autoCommit);
+        }
+    }
+
+    @FunctionalInterface
+    private interface MigrationStep {
+        void apply(Connection con) throws SQLException;
+    }
+
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        private Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+
+        private Migration(int version, String description, String... statements) {
+            this(version, description, con -> {
+                for (String statement : statements) {
+                    try (PreparedStatement ps = con.prepareStatement(statement)) {
+                        ps.executeUpdate();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.holograms;
+
+import com.alpsbte.plotsystem.core.system.Builder;
+import com.alpsbte.plotsystem.core.system.tutorial.AbstractTutorial;
+import com.alpsbte.plotsystem.utils.io.LangPaths;
+import com.alpsbte.plotsystem.utils.io.LangUtil;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.sql.SQLException;
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Sends the ranking of the current score leaderboard page to all players near the leaderboard.
+ * <p>
+ * The ranking is computed once per cycle for all recipients. Finished messages are shared between
+ * players with the same language and ranking, and a message is only re-sent if it changed or
+ * before it fades out on the client.
+ */
+public class ScoreActionBarBroadcaster extends BukkitRunnable {
+    public static final long INTERVAL_TICKS = 20L;
+    // Action bar messages fade out after about three seconds, so unchanged messages are re-sent every second cycle
+    private static final int KEEP_ALIVE_CYCLES = 2;
+    private static final int MAX_CACHED_MESSAGES = 512;
+
+    private final ScoreLeaderboard leaderboard;
+    private final DecimalFormat df = new DecimalFormat("#.##");
+    private final Map<String, BaseComponent[]> cachedMessages = new HashMap<>();
+    private final Map<UUID, SentMessage> sentMessages = new HashMap<>();
+
+    private volatile long lastCycleNanos;
+    private volatile int lastCycleRecipients;
+    private volatile int lastCycleSent;
+    private volatile int lastCycleBuilt;
+
+    public ScoreActionBarBroadcaster(ScoreLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        int sent = 0, built = 0;
+
+        ScoreLeaderboard.LeaderboardTimeframe timeframe = leaderboard.getSortByLeaderboard();
+        List<Player> players = leaderboard.showToPlayers();
+        Set<UUID> recipients = new HashSet<>();
+        for (Player player : players) recipients.add(player.getUniqueId());
+        sentMessages.keySet().retainAll(recipients);
+
+        try {
+            int rows = !players.isEmpty() ? Builder.getBuildersInSort(timeframe) : 0;
+
+            for (Player player : players) {
+                if (AbstractTutorial.getActiveTutorial(player.getUniqueId()) != null) continue;
+
+                int position = Builder.getBuilderScorePosition(player.getUniqueId(), timeframe);
+                int score = Builder.getBuilderScore(player.getUniqueId(), timeframe);
+
+                // The translated texts identify the language of the player, players with the same texts share one message
+                String title = LangUtil.getInstance().get(player, timeframe.langPath);
+                String ranking = getRankingText(player, position, rows);
+                String key = title + '\u0000' + ranking + '\u0000' + score;
+
+                SentMessage lastMessage = sentMessages.get(player.getUniqueId());
+                if (lastMessage != null && lastMessage.key.equals(key) && ++lastMessage.cycles < KEEP_ALIVE_CYCLES) continue;
+
+                BaseComponent[] message = cachedMessages.get(key);
+                if (message == null) {
+                    if (cachedMessages.size() >= MAX_CACHED_MESSAGES) cachedMessages.clear();
+                    message = buildMessage(title, ranking, position, score);
+                    cachedMessages.put(key, message);
+                    built++;
+                }
+
+                player.spigot().sendMessage(ChatMessageType.ACTION_BAR, message);
+                sentMessages.put(player.getUniqueId(), new SentMessage(key));
+                sent++;
+            }
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+        }
+
+        lastCycleRecipients = players.size();
+        lastCycleSent = sent;
+        lastCycleBuilt = built;
+        lastCycleNanos = System.nanoTime() - start;
+    }
+
+    private String getRankingText(Player player, int position, int rows) {
+        if (position == -1) {
+            return LangUtil.getInstance().get(player, LangPaths.Leaderboards.NOT_ON_LEADERBOARD);
+        } else if (position < 50) {
+            return LangUtil.getInstance().get(player, LangPaths.Leaderboards.ACTIONBAR_POSITION, String.valueOf(position));
+        } else {
+            String topPercentage = df.format(position * 1.0 / rows);
+            return LangUtil.getInstance().get(player, LangPaths.Leaderboards.ACTIONBAR_PERCENTAGE, topPercentage);
+        }
+    }
+
+    private BaseComponent[] buildMessage(String title, String ranking, int position, int score) {
+        ComponentBuilder builder = new ComponentBuilder("");
+        builder.append(new ComponentBuilder("  " + title).color(ChatColor.GOLD).bold(true).create());
+        builder.append(new ComponentBuilder(" ➜ ").color(ChatColor.DARK_GRAY).bold(true).create());
+
+        if (position == -1) {
+            builder.append(new ComponentBuilder(ranking).color(ChatColor.RED).bold(false).create());
+        } else if (position < 50) {
+            builder.append(new ComponentBuilder(ranking).color(ChatColor.GREEN).bold(false).create());
+        } else {
+            builder.append(new ComponentBuilder(ranking).bold(false).create());
+        }
+
+        if (score != -1) {
+            builder.append(TextComponent.fromLegacyText("§8 (§b" + score + " points§8)"));
+        }
+
+        return builder.bold(false).create();
+    }
+
+    /**
+     * @return time the last cycle took in nanoseconds
+     */
+    public long getLastCycleNanos() {
+        return lastCycleNanos;
+    }
+
+    /**
+     * @return amount of players near the leaderboard in the last cycle
+     */
+    public int getLastCycleRecipients() {
+        return lastCycleRecipients;
+    }
+
+    /**
+     * @return amount of action bar messages sent in the last cycle
+     */
+    public int getLastCycleSent() {
+        return lastCycleSent;
+    }
+
+    /**
+     * @return amount of action bar messages which had to be built in the last cycle
+     */
+    public int getLastCycleBuilt() {
+        return lastCycleBuilt;
+    }
+
+    private static class SentMessage {
+        private final String key;
+        private int cycles = 0;
+
+        private SentMessage(String key) {
+            this.key = key;
+        }
+    }
+}
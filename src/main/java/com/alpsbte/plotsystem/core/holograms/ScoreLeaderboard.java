@@ -28,26 +28,17 @@ import com.alpsbte.alpslib.hologram.HolographicPagedDisplay;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.Payout;
-import com.alpsbte.plotsystem.core.system.tutorial.AbstractTutorial;
 import com.alpsbte.plotsystem.utils.io.ConfigPaths;
 import com.alpsbte.plotsystem.utils.io.ConfigUtil;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
-import com.alpsbte.plotsystem.utils.io.LangUtil;
 import me.filoghost.holographicdisplays.api.hologram.Hologram;
-import net.md_5.bungee.api.ChatColor;
-import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.BaseComponent;
-import net.md_5.bungee.api.chat.ComponentBuilder;
-import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.sql.SQLException;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -56,22 +47,15 @@ import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 public class ScoreLeaderboard extends HolographicPagedDisplay implements LeaderboardConfiguration {
-    private final DecimalFormat df = new DecimalFormat("#.##");
+    private final ScoreActionBarBroadcaster actionBarBroadcaster;
     private LeaderboardTimeframe sortByLeaderboard = LeaderboardTimeframe.DAILY;
 
     protected ScoreLeaderboard() {
         super("score-leaderboard", null, false, PlotSystem.getPlugin());
         setPosition(LeaderboardManager.getPosition(this));
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Player player : showToPlayers()) {
-                    if (AbstractTutorial.getActiveTutorial(player.getUniqueId()) != null) return;
-                    player.spigot().sendMessage(ChatMessageType.ACTION_BAR, rankingString(player));
-                }
-            }
-        }.runTaskTimerAsynchronously(PlotSystem.getPlugin(), 0L, 20L);
+        actionBarBroadcaster = new ScoreActionBarBroadcaster(this);
+        actionBarBroadcaster.runTaskTimerAsynchronously(PlotSystem.getPlugin(), 0L, ScoreActionBarBroadcaster.INTERVAL_TICKS);
     }
 
     @Override
@@ -128,64 +112,7 @@ public class ScoreLeaderboard extends HolographicPagedDisplay implements Leaderb
         return new ArrayList<>();
     }
 
-    private BaseComponent[] rankingString(Player player) {
-        int position;
-        int rows;
-        int myScore;
-        try {
-            position = Builder.getBuilderScorePosition(player.getUniqueId(), sortByLeaderboard);
-            rows = Builder.getBuildersInSort(sortByLeaderboard);
-            myScore = Builder.getBuilderScore(player.getUniqueId(), sortByLeaderboard);
-        } catch (SQLException e) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", e);
-            return TextComponent.fromLegacyText("§cSQL Exception");
-        }
-
-        ComponentBuilder builder = new ComponentBuilder("");
-        builder.append(
-                new ComponentBuilder("  " + LangUtil.getInstance().get(player, sortByLeaderboard.langPath))
-                        .color(ChatColor.GOLD)
-                        .bold(true)
-                        .create()
-        );
-
-        builder.append(
-                new ComponentBuilder(" ➜ ")
-                        .color(ChatColor.DARK_GRAY)
-                        .bold(true)
-                        .create()
-        );
-
-        if (position == -1) {
-            builder.append(
-                    new ComponentBuilder(LangUtil.getInstance().get(player, LangPaths.Leaderboards.NOT_ON_LEADERBOARD))
-                            .color(ChatColor.RED)
-                            .bold(false)
-                            .create()
-            );
-        } else if (position < 50) {
-            builder.append(
-                    new ComponentBuilder(
-                            LangUtil.getInstance().get(player, LangPaths.Leaderboards.ACTIONBAR_POSITION, String.valueOf(position))
-                    ).color(ChatColor.GREEN).bold(false).create()
-            );
-        } else {
-            String topPercentage = df.format(position * 1.0 / rows);
-            builder.append(
-                    new ComponentBuilder(
-                            LangUtil.getInstance().get(player, LangPaths.Leaderboards.ACTIONBAR_PERCENTAGE, topPercentage)
-                    ).bold(false).create()
-            );
-        }
-
-        if (myScore != -1) {
-            builder.append(TextComponent.fromLegacyText("§8 (§b" + myScore + " points§8)"));
-        }
-
-        return builder.bold(false).create();
-    }
-
-    private List<Player> showToPlayers() {
+    List<Player> showToPlayers() {
         FileConfiguration config = PlotSystem.getPlugin().getConfig();
         boolean actionBarEnabled = config.getBoolean(ConfigPaths.DISPLAY_OPTIONS_ACTION_BAR_ENABLE, true);
         int actionBarRadius = config.getInt(ConfigPaths.DISPLAY_OPTIONS_ACTION_BAR_RADIUS, 30);
@@ -202,6 +129,14 @@ public class ScoreLeaderboard extends HolographicPagedDisplay implements Leaderb
         return players;
     }
 
+    public LeaderboardTimeframe getSortByLeaderboard() {
+        return sortByLeaderboard;
+    }
+
+    public ScoreActionBarBroadcaster getActionBarBroadcaster() {
+        return actionBarBroadcaster;
+    }
+
     @Override
     public List<String> getPages() {
         if (ConfigUtil.getInstance() == null) return new ArrayList<>();
@@ -24,13 +24,15 @@
 
 package com.alpsbte.plotsystem.core.menus;
 
-import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.ipvp.canvas.Menu;
 import org.ipvp.canvas.mask.Mask;
 import org.ipvp.canvas.type.ChestMenu;
 
+import java.util.logging.Level;
+
 public abstract class AbstractMenu {
     private final Menu menu;
     private final Player menuPlayer;
@@ -81,9 +83,12 @@ public abstract class AbstractMenu {
      */
     protected void reloadMenuAsync() {
         setPreviewItems();
-        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+        DatabaseConnection.async(() -> {
             setMenuItemsAsync();
             setItemClickEventsAsync();
+        }).exceptionally(ex -> {
+            Bukkit.getLogger().log(Level.SEVERE, "An error occurred while loading menu items!", ex);
+            return null;
         });
     }
 
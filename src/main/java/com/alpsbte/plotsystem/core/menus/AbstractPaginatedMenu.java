@@ -24,10 +24,11 @@
 
 package com.alpsbte.plotsystem.core.menus;
 
-import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import java.util.List;
+import java.util.logging.Level;
 
 public abstract class AbstractPaginatedMenu extends AbstractMenu {
     private List<?> source;
@@ -127,10 +128,13 @@ public abstract class AbstractPaginatedMenu extends AbstractMenu {
         getMenu().clear();
         super.reloadMenuAsync();
 
-        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+        DatabaseConnection.async(() -> {
             List<?> sources = getItemSources(reloadSources);
             setPaginatedMenuItemsAsync(sources);
             setPaginatedItemClickEventsAsync(sources);
+        }).exceptionally(ex -> {
+            Bukkit.getLogger().log(Level.SEVERE, "An error occurred while loading menu items!", ex);
+            return null;
         });
     }
 
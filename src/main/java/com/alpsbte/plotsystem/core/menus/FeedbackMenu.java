@@ -41,7 +41,6 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.ipvp.canvas.mask.BinaryMask;
 import org.ipvp.canvas.mask.Mask;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.logging.Level;
 
@@ -64,11 +63,9 @@ public class FeedbackMenu extends AbstractMenu {
     @Override
     protected void setMenuItemsAsync() {
         // Get review id from plot
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT review_id FROM plotsystem_plots WHERE id = ?")
-                .setValue(plot.getID()).executeQuery()) {
-
-            if (rs.next()) this.review = new Review(rs.getInt(1));
-            DatabaseConnection.closeResultSet(rs);
+        try {
+            this.review = DatabaseConnection.createStatement("SELECT review_id FROM plotsystem_plots WHERE id = ?")
+                    .setValue(plot.getID()).queryOne(rs -> new Review(rs.getInt(1)));
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
         }
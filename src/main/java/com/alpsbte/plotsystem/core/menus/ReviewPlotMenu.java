@@ -39,6 +39,7 @@ import com.alpsbte.plotsystem.utils.items.CustomHeads;
 import com.sk89q.worldedit.WorldEditException;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.Review;
+import com.alpsbte.plotsystem.core.system.ScoreRanking;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.utils.items.MenuItems;
 import com.alpsbte.plotsystem.utils.Utils;
@@ -56,7 +57,6 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 public class ReviewPlotMenu extends AbstractMenu {
@@ -248,7 +248,8 @@ public class ReviewPlotMenu extends AbstractMenu {
         });
 
         // Set click event for submit item
-        getMenu().getSlot(48).setClickHandler((clickPlayer, clickInformation) -> CompletableFuture.runAsync(() -> {
+        // Runs on the Bukkit async scheduler, as saving the schematic writes the world and uploads it via FTP
+        getMenu().getSlot(48).setClickHandler((clickPlayer, clickInformation) -> Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
             try {
                 StringBuilder score = new StringBuilder();
 
@@ -296,6 +297,7 @@ public class ReviewPlotMenu extends AbstractMenu {
                 double totalRatingWithMultiplier = totalRating * Plot.getMultiplierByDifficulty(plot.getDifficulty());
                 totalRating = (int) Math.floor(totalRatingWithMultiplier);
                 plot.setTotalScore(totalRating);
+                ScoreRanking.refreshPlot(plot.getID());
 
                 Component reviewerConfirmationMessage;
                 //clickPlayer.closeInventory(); crashes debugging process
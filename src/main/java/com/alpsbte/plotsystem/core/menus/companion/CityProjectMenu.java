@@ -33,6 +33,7 @@ import com.alpsbte.plotsystem.core.system.CityProject;
 import com.alpsbte.plotsystem.core.system.Country;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.core.system.plot.generator.DefaultPlotGenerator;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicPrefetcher;
 import com.alpsbte.plotsystem.utils.Utils;
 import com.alpsbte.plotsystem.utils.enums.PlotDifficulty;
 import com.alpsbte.plotsystem.utils.enums.Status;
@@ -63,6 +64,13 @@ public class CityProjectMenu extends AbstractPaginatedMenu {
         super(6, 4, country.getName() + " → " + LangUtil.getInstance().get(player, LangPaths.MenuTitle.COMPANION_SELECT_CITY), player);
         this.country = country;
         this.selectedPlotDifficulty = selectedPlotDifficulty;
+
+        // The player will most likely claim one of these plots next
+        Builder builder = Builder.byUUID(player.getUniqueId());
+        for (CityProject city : CityProject.getCityProjects(country, true)) {
+            if (selectedPlotDifficulty != null) SchematicPrefetcher.prefetch(city.getID(), selectedPlotDifficulty);
+            else SchematicPrefetcher.prefetch(city.getID(), builder);
+        }
     }
 
     @Override
@@ -205,7 +213,15 @@ public class CityProjectMenu extends AbstractPaginatedMenu {
                         return;
                     }
 
-                    new DefaultPlotGenerator(cityID, plotDifficultyForCity, builder);
+                    // The last plot might have been claimed in the meantime
+                    Plot plot = SchematicPrefetcher.pickPlot(cityID, plotDifficultyForCity);
+                    if (plot == null) {
+                        clickPlayer.sendMessage(Utils.ChatUtils.getAlertFormat(LangUtil.getInstance().get(clickPlayer, LangPaths.Message.Error.NO_PLOTS_LEFT)));
+                        clickPlayer.playSound(clickPlayer.getLocation(), Utils.SoundUtils.ERROR_SOUND, 1, 1);
+                        return;
+                    }
+
+                    new DefaultPlotGenerator(plot, builder);
                 } catch (SQLException | ExecutionException | InterruptedException ex) {
                     Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
                     clickPlayer.sendMessage(Utils.ChatUtils.getAlertFormat(LangUtil.getInstance().get(clickPlayer, LangPaths.Message.Error.ERROR_OCCURRED)));
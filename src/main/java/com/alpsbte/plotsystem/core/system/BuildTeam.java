@@ -27,7 +27,6 @@ package com.alpsbte.plotsystem.core.system;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import org.bukkit.Bukkit;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,12 +40,8 @@ public class BuildTeam {
     private BuildTeam(int ID) throws SQLException {
         this.ID = ID;
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT name FROM plotsystem_buildteams WHERE id = ?")
-                .setValue(ID).executeQuery()) {
-
-            if (rs.next()) this.name = rs.getString(1);
-            DatabaseConnection.closeResultSet(rs);
-        }
+        this.name = DatabaseConnection.createStatement("SELECT name FROM plotsystem_buildteams WHERE id = ?")
+                .setValue(ID).queryOne(rs -> rs.getString(1));
     }
 
     public int getID() {
@@ -58,50 +53,44 @@ public class BuildTeam {
     }
 
     public List<Country> getCountries() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT country_id FROM plotsystem_buildteam_has_countries WHERE buildteam_id = ?")
-                .setValue(ID).executeQuery()) {
+        List<Integer> countryIDs = DatabaseConnection.createStatement("SELECT country_id FROM plotsystem_buildteam_has_countries WHERE buildteam_id = ?")
+                .setValue(ID).query(rs -> rs.getInt(1));
 
-            List<Country> countries = new ArrayList<>();
-            while (rs.next()) countries.add(new Country(rs.getInt(1)));
-            DatabaseConnection.closeResultSet(rs);
-            return countries;
-        }
+        List<Country> countries = new ArrayList<>();
+        for (int countryID : countryIDs) countries.add(Country.byID(countryID));
+        return countries;
     }
 
     public List<Builder> getReviewers() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT builder_uuid FROM plotsystem_builder_is_reviewer WHERE buildteam_id = ?")
-                .setValue(ID).executeQuery()) {
+        List<String> uuids = DatabaseConnection.createStatement("SELECT builder_uuid FROM plotsystem_builder_is_reviewer WHERE buildteam_id = ?")
+                .setValue(ID).query(rs -> rs.getString(1));
 
-            List<Builder> builders = new ArrayList<>();
-            while (rs.next()) builders.add(Builder.byUUID(UUID.fromString(rs.getString(1))));
-            DatabaseConnection.closeResultSet(rs);
-            return builders;
-        }
+        List<Builder> builders = new ArrayList<>();
+        for (String uuid : uuids) builders.add(Builder.byUUID(UUID.fromString(uuid)));
+        return builders;
     }
 
     public static List<BuildTeam> getBuildTeamsByReviewer(UUID reviewerUUID) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT buildteam_id FROM plotsystem_builder_is_reviewer WHERE builder_uuid = ?")
-                .setValue(reviewerUUID.toString()).executeQuery()) {
-
-            List<BuildTeam> buildTeams = new ArrayList<>();
-            while (rs.next()) buildTeams.add(new BuildTeam(rs.getInt(1)));
-            DatabaseConnection.closeResultSet(rs);
-            return buildTeams;
-        }
+        return toBuildTeams(DatabaseConnection.createStatement("SELECT buildteam_id FROM plotsystem_builder_is_reviewer WHERE builder_uuid = ?")
+                .setValue(reviewerUUID.toString()).query(rs -> rs.getInt(1)));
     }
 
     public static List<BuildTeam> getBuildTeams() {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_buildteams").executeQuery()) {
-            List<BuildTeam> buildTeams = new ArrayList<>();
-            while (rs.next()) buildTeams.add(new BuildTeam(rs.getInt(1)));
-            DatabaseConnection.closeResultSet(rs);
-            return buildTeams;
+        try {
+            return toBuildTeams(DatabaseConnection.createStatement("SELECT id FROM plotsystem_buildteams").query(rs -> rs.getInt(1)));
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
         }
         return new ArrayList<>();
     }
 
+    private static List<BuildTeam> toBuildTeams(List<Integer> ids) throws SQLException {
+        // Each build team loads its name, so they are created after the connection of the id query is released
+        List<BuildTeam> buildTeams = new ArrayList<>();
+        for (int id : ids) buildTeams.add(new BuildTeam(id));
+        return buildTeams;
+    }
+
     public static void addBuildTeam(String name) throws SQLException {
         int id = DatabaseConnection.getTableID("plotsystem_buildteams");
         DatabaseConnection.createStatement("INSERT INTO plotsystem_buildteams (id, name) VALUES (?, ?)")
@@ -42,15 +42,16 @@ import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Builder {
 
     public static final HashMap<UUID, Builder> builders = new HashMap<>();
+    private static final int RANKING_FETCH_SIZE = 100;
 
     private final UUID uuid;
     public PlotType plotType;
@@ -81,81 +82,42 @@ public class Builder {
     public boolean isOnline() { return Bukkit.getPlayer(uuid) != null; }
 
     public String getName() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT name FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
+        String name = DatabaseConnection.createStatement("SELECT name FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> rs.getString(1));
+        if (name != null) return name;
 
-            if (rs.next()) {
-                String s = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return s;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-
-            return getPlayer() != null ? getPlayer().getName() : "";
-        }
+        return getPlayer() != null ? getPlayer().getName() : "";
     }
 
     public int getScore() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT score FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
-
-            if (rs.next()) {
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return i;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return 0;
-        }
+        Integer value = DatabaseConnection.createStatement("SELECT score FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> rs.getInt(1));
+        return value != null ? value : 0;
     }
 
     public int getCompletedBuilds() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT completed_plots FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
-
-            if (rs.next()) {
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return i;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return 0;
-        }
+        Integer value = DatabaseConnection.createStatement("SELECT completed_plots FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> rs.getInt(1));
+        return value != null ? value : 0;
     }
 
     public Slot getFreeSlot() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT first_slot, second_slot, third_slot FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
-
-            if (rs.next()) {
-                for (int i = 1; i <= 3; i++) {
-                    if (rs.getString(i) == null) {
-                        DatabaseConnection.closeResultSet(rs);
-                        return Slot.values()[i - 1];
+        return DatabaseConnection.createStatement("SELECT first_slot, second_slot, third_slot FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> {
+                    for (int i = 1; i <= 3; i++) {
+                        if (rs.getString(i) == null) return Slot.values()[i - 1];
                     }
-                }
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+                    return null;
+                });
     }
 
     public Plot getPlot(Slot slot) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT " + slot.name().toLowerCase() + " FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
-
-            int plotID = -1;
-            if (rs.next()) plotID = rs.getInt(1);
-
-            boolean boo = rs.wasNull();
-            DatabaseConnection.closeResultSet(rs);
-
-            return boo ? null : new Plot(plotID);
-        }
+        Integer plotID = DatabaseConnection.createStatement("SELECT " + slot.name().toLowerCase() + " FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> {
+                    int id = rs.getInt(1);
+                    return rs.wasNull() ? null : id;
+                });
+        return plotID != null ? new Plot(plotID) : null;
     }
 
     public ItemStack getPlotMenuItem(Plot plot, int slotIndex, Player langPlayer) throws SQLException {
@@ -183,8 +145,8 @@ public class Builder {
     }
 
     public void addScore(int score) throws SQLException {
-        DatabaseConnection.createStatement("UPDATE plotsystem_builders SET score = ? WHERE uuid = ?")
-                .setValue(getScore() + score).setValue(getUUID().toString())
+        DatabaseConnection.createStatement("UPDATE plotsystem_builders SET score = score + ? WHERE uuid = ?")
+                .setValue(score).setValue(getUUID().toString())
                 .executeUpdate();
 
         Bukkit.getScheduler().runTask(PlotSystem.getPlugin(), () -> LeaderboardManager.getLeaderboards().stream()
@@ -192,8 +154,8 @@ public class Builder {
     }
 
     public void addCompletedBuild(int amount) throws SQLException {
-        DatabaseConnection.createStatement("UPDATE plotsystem_builders SET completed_plots = ? WHERE uuid = ?")
-                .setValue(getCompletedBuilds() + amount).setValue(getUUID().toString())
+        DatabaseConnection.createStatement("UPDATE plotsystem_builders SET completed_plots = completed_plots + ? WHERE uuid = ?")
+                .setValue(amount).setValue(getUUID().toString())
                 .executeUpdate();
 
         Bukkit.getScheduler().runTask(PlotSystem.getPlugin(), () -> LeaderboardManager.getLeaderboards().stream()
@@ -215,18 +177,9 @@ public class Builder {
     }
 
     public static Builder getBuilderByName(String name) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT uuid FROM plotsystem_builders WHERE name = ?")
-                .setValue(name).executeQuery()) {
-
-            if (rs.next()) {
-                String s = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return Builder.byUUID(UUID.fromString(s));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        String uuid = DatabaseConnection.createStatement("SELECT uuid FROM plotsystem_builders WHERE name = ?")
+                .setValue(name).queryOne(rs -> rs.getString(1));
+        return uuid != null ? Builder.byUUID(UUID.fromString(uuid)) : null;
     }
 
     private static String getBuildersByScoreQuery(ScoreLeaderboard.LeaderboardTimeframe sortBy, int limit) {
@@ -263,55 +216,36 @@ public class Builder {
     }
 
     public static int getBuilderScore(UUID uuid, ScoreLeaderboard.LeaderboardTimeframe sortBy) throws SQLException {
+        if (ScoreRanking.isLoaded()) return ScoreRanking.getScore(uuid, sortBy);
         String query = getBuildersByScoreQuery(sortBy, 0);
 
-        try(ResultSet rs = DatabaseConnection.createStatement(query).executeQuery()) {
-            boolean found = false;
-            int score = 0;
-            while(rs.next() && !found) {
-                if(rs.getString(3).equals(uuid.toString())) {
-                    found = true;
-                    score = rs.getInt(4);
-                }
-            }
-
-            if(!found) score = -1;
-
-            DatabaseConnection.closeResultSet(rs);
-            return score;
+        // Stop reading the ranking as soon as the builder was found
+        try (Stream<DatabaseEntry<String, Integer>> scores = DatabaseConnection.createStatement(query)
+                .stream(RANKING_FETCH_SIZE, rs -> new DatabaseEntry<>(rs.getString(3), rs.getInt(4)))) {
+            return scores.filter(score -> score.getKey().equals(uuid.toString()))
+                    .findFirst().map(DatabaseEntry::getValue).orElse(-1);
         }
     }
 
     public static int getBuilderScorePosition(UUID uuid, ScoreLeaderboard.LeaderboardTimeframe sortBy) throws SQLException {
+        if (ScoreRanking.isLoaded()) return ScoreRanking.getPosition(uuid, sortBy);
         String query = getBuildersByScoreQuery(sortBy, 0);
 
-        try(ResultSet rs = DatabaseConnection.createStatement(query).executeQuery()) {
-            boolean found = false;
-            int position = 0;
-            while(rs.next() && !found) {
-                position++;
-                if(rs.getString(3).equals(uuid.toString())) {
-                    found = true;
-                }
+        try (Stream<String> uuids = DatabaseConnection.createStatement(query).stream(RANKING_FETCH_SIZE, rs -> rs.getString(3))) {
+            int position = 1;
+            for (Iterator<String> it = uuids.iterator(); it.hasNext(); position++) {
+                if (it.next().equals(uuid.toString())) return position;
             }
-
-            if(!found) position = -1;
-
-            DatabaseConnection.closeResultSet(rs);
-            return position;
         }
+        return -1;
     }
 
     public static int getBuildersInSort(ScoreLeaderboard.LeaderboardTimeframe sortBy) throws SQLException {
+        if (ScoreRanking.isLoaded()) return ScoreRanking.getSize(sortBy);
         String query = "SELECT COUNT(*) FROM (" + getBuildersByScoreQuery(sortBy, 0) + ") results";
 
-        try(ResultSet rs = DatabaseConnection.createStatement(query).executeQuery()) {
-            rs.next();
-            int position = rs.getInt(1);
-
-            DatabaseConnection.closeResultSet(rs);
-            return position;
-        }
+        Integer count = DatabaseConnection.createStatement(query).queryOne(rs -> rs.getInt(1));
+        return count != null ? count : 0;
     }
 
     public static class DatabaseEntry<K, V> {
@@ -333,32 +267,15 @@ public class Builder {
     }
 
     public static List<DatabaseEntry<String, Integer>> getBuildersByScore(ScoreLeaderboard.LeaderboardTimeframe sortBy) throws SQLException {
+        if (ScoreRanking.isLoaded()) return ScoreRanking.getTop(sortBy, 10);
         String query = getBuildersByScoreQuery(sortBy, 10);
 
-        try(ResultSet rs = DatabaseConnection.createStatement(query).executeQuery()) {
-            ArrayList<DatabaseEntry<String, Integer>> lines = new ArrayList<>();
-
-            while(rs.next()) {
-                lines.add(new DatabaseEntry<>(rs.getString(2), rs.getInt(4)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return lines;
-        }
+        return DatabaseConnection.createStatement(query).query(rs -> new DatabaseEntry<>(rs.getString(2), rs.getInt(4)));
     }
 
     public static List<DatabaseEntry<String, Integer>> getBuildersByCompletedBuilds(int limit) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT name, completed_plots FROM plotsystem_builders ORDER BY completed_plots DESC LIMIT ?")
-                .setValue(limit).executeQuery()) {
-
-            ArrayList<DatabaseEntry<String, Integer>> results = new ArrayList<>();
-            while (rs.next()) {
-                results.add(new DatabaseEntry<>(rs.getString(1), rs.getInt(2)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return results;
-        }
+        return DatabaseConnection.createStatement("SELECT name, completed_plots FROM plotsystem_builders ORDER BY completed_plots DESC LIMIT ?")
+                .setValue(limit).query(rs -> new DatabaseEntry<>(rs.getString(1), rs.getInt(2)));
     }
 
     public Slot getSlot(Plot plot) throws SQLException {
@@ -375,17 +292,14 @@ public class Builder {
         if(plotType != null)
             return plotType;
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT setting_plot_type FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
+        try {
+            Integer id = DatabaseConnection.createStatement("SELECT setting_plot_type FROM plotsystem_builders WHERE uuid = ?")
+                    .setValue(getUUID().toString()).queryOne(rs -> rs.getInt(1));
 
-            if (rs.next()) {
-                int id = rs.getInt(1);
+            if (id != null) {
                 this.plotType = PlotType.byId(id);
-                DatabaseConnection.closeResultSet(rs);
-
                 return plotType;
             }
-            DatabaseConnection.closeResultSet(rs);
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE,"An error occurred while getting language setting from database", ex);
         }
@@ -414,14 +328,9 @@ public class Builder {
     }
 
     public boolean isReviewer() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT COUNT(builder_uuid) FROM plotsystem_builder_is_reviewer WHERE builder_uuid = ?")
-                .setValue(getUUID().toString()).executeQuery()) {
-
-            int count = 0;
-            if (rs.next()) count = rs.getInt(1);
-            DatabaseConnection.closeResultSet(rs);
-            return count > 0;
-        }
+        Integer count = DatabaseConnection.createStatement("SELECT COUNT(builder_uuid) FROM plotsystem_builder_is_reviewer WHERE builder_uuid = ?")
+                .setValue(getUUID().toString()).queryOne(rs -> rs.getInt(1));
+        return count != null && count > 0;
     }
 
     public static class Reviewer {
@@ -443,7 +352,7 @@ public class Builder {
 
             return countries.stream().map(c -> {
                 try {
-                    return new Country(c);
+                    return Country.byID(c);
                 } catch (SQLException ex) { Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex); }
                 return null;
             }).collect(Collectors.toList());
@@ -47,27 +47,26 @@ import java.util.logging.Level;
 public class CityProject {
 
     private final int ID;
-    private int countryID;
-
-    private String name;
-    private String description;
-    private boolean visible;
-
-    public CityProject(int ID) throws SQLException {
-        this.ID = ID;
-
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT country_id, name, description, visible FROM plotsystem_city_projects WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                this.countryID = rs.getInt(1);
-                this.name = rs.getString(2);
-                this.description = rs.getString(3);
-                this.visible = rs.getInt(4) == 1;
-            }
+    private final int countryID;
+
+    private final String name;
+    private final String description;
+    private final boolean visible;
+
+    CityProject(ResultSet rs) throws SQLException {
+        this.ID = rs.getInt(1);
+        this.countryID = rs.getInt(2);
+        this.name = rs.getString(3);
+        this.description = rs.getString(4);
+        this.visible = rs.getInt(5) == 1;
+    }
 
-            DatabaseConnection.closeResultSet(rs);
-        }
+    /**
+     * @param ID city project id
+     * @return cached city project or null if it does not exist
+     */
+    public static CityProject byID(int ID) throws SQLException {
+        return ReferenceDataCache.get().cityProjects.get(ID);
     }
 
     public int getID() {
@@ -75,7 +74,7 @@ public class CityProject {
     }
 
     public Country getCountry() throws SQLException {
-        return new Country(countryID);
+        return Country.byID(countryID);
     }
 
     public String getName() {
@@ -124,26 +123,14 @@ public class CityProject {
 
     public static List<CityProject> getCityProjects(Country country, boolean onlyVisible) {
         // if country is not null, only get country's city projects, otherwise load all
-        DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement("SELECT id FROM plotsystem_city_projects " + (country == null ? "" : "WHERE country_id = ?") + " ORDER BY country_id");
-        if (country != null) {
-            statement.setValue(country.getID());
-        }
-
-        try (ResultSet rs = statement.executeQuery()) {
-            List<CityProject> cityProjects = new ArrayList<>();
-            while (rs.next()) {
-                CityProject city = new CityProject(rs.getInt(1));
-                if (city.isVisible() || !onlyVisible) {
-                    cityProjects.add(city);
-                }
+        List<CityProject> cityProjects = new ArrayList<>();
+        for (CityProject city : ReferenceDataCache.getOrEmpty().cityProjects.values()) {
+            if (country != null && city.countryID != country.getID()) continue;
+            if (city.isVisible() || !onlyVisible) {
+                cityProjects.add(city);
             }
-
-            DatabaseConnection.closeResultSet(rs);
-            return cityProjects;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
         }
-        return new ArrayList<>();
+        return cityProjects;
     }
 
     private int getOpenPlotsForPlayer(int plotID, PlotDifficulty plotDifficulty) throws SQLException {
@@ -162,28 +149,33 @@ public class CityProject {
                 .setValue(country.getID())
                 .setValue("")
                 .setValue(true).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void removeCityProject(int id) throws SQLException {
         DatabaseConnection.createStatement("DELETE FROM plotsystem_city_projects WHERE id = ?")
                 .setValue(id).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setCityProjectName(int id, String newName) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_city_projects SET name = ? WHERE id = ?")
                 .setValue(newName)
                 .setValue(id).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setCityProjectDescription(int id, String description) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_city_projects SET description = ? WHERE id = ?")
                 .setValue(description)
                 .setValue(id).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setCityProjectVisibility(int id, boolean isEnabled) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_city_projects SET visible = ? WHERE id = ?")
                 .setValue(isEnabled ? 1 : 0)
                 .setValue(id).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 }
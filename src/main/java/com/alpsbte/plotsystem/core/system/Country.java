@@ -27,40 +27,37 @@ package com.alpsbte.plotsystem.core.system;
 import com.alpsbte.alpslib.utils.head.AlpsHeadUtils;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.utils.enums.Continent;
-import org.bukkit.Bukkit;
 import org.bukkit.inventory.ItemStack;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
 
 public class Country {
 
     private final int ID;
-    private int serverID;
+    private final int serverID;
 
-    private String name;
-    private String headID;
+    private final String name;
+    private final String headID;
 
-    private String continent;
+    private final String continent;
 
-    public Country(int ID) throws SQLException {
-        this.ID = ID;
-
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT server_id, name, head_id, continent FROM plotsystem_countries WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                this.serverID = rs.getInt(1);
-                this.name = rs.getString(2);
-                this.headID = rs.getString(3);
-                this.continent = rs.getString(4);
-            }
+    Country(ResultSet rs) throws SQLException {
+        this.ID = rs.getInt(1);
+        this.serverID = rs.getInt(2);
+        this.name = rs.getString(3);
+        this.headID = rs.getString(4);
+        this.continent = rs.getString(5);
+    }
 
-            DatabaseConnection.closeResultSet(rs);
-        }
+    /**
+     * @param ID country id
+     * @return cached country or null if it does not exist
+     */
+    public static Country byID(int ID) throws SQLException {
+        return ReferenceDataCache.get().countries.get(ID);
     }
 
     public int getID() {
@@ -68,7 +65,7 @@ public class Country {
     }
 
     public Server getServer() throws SQLException {
-        return new Server(serverID);
+        return Server.byID(serverID);
     }
 
     public String getName() {
@@ -87,18 +84,7 @@ public class Country {
      * @return CityProjects inside this country
      */
     public List<CityProject> getCityProjects() {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_city_projects WHERE country_id = ?").setValue(getID()).executeQuery()) {
-            List<CityProject> cityProjects = new ArrayList<>();
-            while (rs.next()) {
-                cityProjects.add(new CityProject(rs.getInt(1)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return cityProjects;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-        }
-        return new ArrayList<>();
+        return CityProject.getCityProjects(this, false);
     }
 
     public Continent getContinent() {
@@ -106,33 +92,15 @@ public class Country {
     }
 
     public static List<Country> getCountries() {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_countries ORDER BY server_id").executeQuery()) {
-            List<Country> countries = new ArrayList<>();
-            while (rs.next()) {
-                countries.add(new Country(rs.getInt(1)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return countries;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-        }
-        return new ArrayList<>();
+        return new ArrayList<>(ReferenceDataCache.getOrEmpty().countries.values());
     }
 
     public static List<Country> getCountries(Continent continent) {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_countries WHERE continent = ? ORDER BY server_id").setValue(continent.databaseEnum).executeQuery()) {
-            List<Country> countries = new ArrayList<>();
-            while (rs.next()) {
-                countries.add(new Country(rs.getInt(1)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return countries;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+        List<Country> countries = new ArrayList<>();
+        for (Country country : ReferenceDataCache.getOrEmpty().countries.values()) {
+            if (continent.databaseEnum.equals(country.continent)) countries.add(country);
         }
-        return new ArrayList<>();
+        return countries;
     }
 
     public static void addCountry(int serverID, String name, Continent continent) throws SQLException {
@@ -140,16 +108,19 @@ public class Country {
                 .setValue(DatabaseConnection.getTableID("plotsystem_countries"))
                 .setValue(name)
                 .setValue(serverID).setValue(continent.databaseEnum).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void removeCountry(int countryID) throws SQLException {
         DatabaseConnection.createStatement("DELETE FROM plotsystem_countries WHERE id = ?")
                 .setValue(countryID).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setHeadID(int countryID, int headID) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_countries SET head_id = ? WHERE id = ?")
                 .setValue(headID)
                 .setValue(countryID).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 }
\ No newline at end of file
@@ -26,35 +26,40 @@ package com.alpsbte.plotsystem.core.system;
 
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.utils.enums.PlotDifficulty;
-import org.bukkit.Bukkit;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
 
 public class Difficulty {
     private final int ID;
 
-    private PlotDifficulty difficulty;
-    private double multiplier;
-    private int scoreRequirement;
+    private final PlotDifficulty difficulty;
+    private final double multiplier;
+    private final int scoreRequirement;
 
-    public Difficulty(int ID) throws SQLException {
-        this.ID = ID;
-
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT name, multiplier, score_requirment FROM plotsystem_difficulties WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
+    Difficulty(ResultSet rs) throws SQLException {
+        this.ID = rs.getInt(1);
+        this.difficulty = PlotDifficulty.valueOf(rs.getString(2));
+        this.multiplier = rs.getDouble(3);
+        this.scoreRequirement = rs.getInt(4);
+    }
 
-            if (rs.next()) {
-                this.difficulty = PlotDifficulty.valueOf(rs.getString(1));
-                this.multiplier = rs.getDouble(2);
-                this.scoreRequirement = rs.getInt(3);
-            }
+    /**
+     * @param ID difficulty id
+     * @return cached difficulty or null if it does not exist
+     */
+    public static Difficulty byID(int ID) throws SQLException {
+        return ReferenceDataCache.get().difficulties.get(ID);
+    }
 
-            DatabaseConnection.closeResultSet(rs);
-        }
+    /**
+     * @param difficulty plot difficulty
+     * @return cached difficulty or null if it does not exist
+     */
+    public static Difficulty byDifficulty(PlotDifficulty difficulty) throws SQLException {
+        return ReferenceDataCache.get().difficultiesByType.get(difficulty);
     }
 
     public int getID() {
@@ -74,28 +79,18 @@ public class Difficulty {
     }
 
     public static List<Difficulty> getDifficulties() {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_difficulties").executeQuery()) {
-            List<Difficulty> difficulties = new ArrayList<>();
-            while (rs.next()) {
-                difficulties.add(new Difficulty(rs.getInt(1)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-
-            return difficulties;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-        }
-        return new ArrayList<>();
+        return new ArrayList<>(ReferenceDataCache.getOrEmpty().difficulties.values());
     }
 
     public static void setMultiplier(int difficultyID, double multiplier) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_difficulties SET multiplier = ? WHERE id = ?")
                 .setValue(multiplier).setValue(difficultyID).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setScoreRequirement(int difficultyID, int scoreRequirement) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_difficulties SET score_requirment = ? WHERE id = ?")
                 .setValue(scoreRequirement).setValue(difficultyID).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 }
@@ -27,7 +27,6 @@ package com.alpsbte.plotsystem.core.system;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.holograms.ScoreLeaderboard;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class Payout {
@@ -51,17 +50,9 @@ public class Payout {
             throw new IllegalArgumentException("Illegal position " + position);
         }
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id, timeframe, position, payout_amount FROM plotsystem_payouts WHERE timeframe = ? AND position = ?")
-                .setValue(timeframe.name()).setValue(position).executeQuery()) {
-            Payout instance = null;
-
-            if (rs.next()) {
-                instance = new Payout(rs.getInt(1), ScoreLeaderboard.LeaderboardTimeframe.valueOf(rs.getString(2)), rs.getInt(3), rs.getString(4));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return instance;
-        }
+        return DatabaseConnection.createStatement("SELECT id, timeframe, position, payout_amount FROM plotsystem_payouts WHERE timeframe = ? AND position = ?")
+                .setValue(timeframe.name()).setValue(position)
+                .queryOne(rs -> new Payout(rs.getInt(1), ScoreLeaderboard.LeaderboardTimeframe.valueOf(rs.getString(2)), rs.getInt(3), rs.getString(4)));
     }
 
     public int getId() {
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system;
+
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.utils.enums.PlotDifficulty;
+import org.bukkit.Bukkit;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * In-memory copy of the reference tables (ftp configurations, servers, countries, city projects and difficulties).
+ * <p>
+ * These tables only change through the setup commands, so they are loaded once and kept as immutable objects.
+ * Every method that changes one of the tables invalidates the cache, it is reloaded with the next lookup.
+ */
+public final class ReferenceDataCache {
+    private static volatile Snapshot snapshot;
+
+    private ReferenceDataCache() {}
+
+    /**
+     * Loads all reference tables from the database
+     */
+    public static void load() throws SQLException {
+        snapshot = Snapshot.load();
+    }
+
+    /**
+     * Discards the cached tables, they will be reloaded with the next lookup
+     */
+    public static void invalidate() {
+        snapshot = null;
+    }
+
+    static Snapshot get() throws SQLException {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (ReferenceDataCache.class) {
+                current = snapshot;
+                if (current == null) {
+                    current = Snapshot.load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Same as {@link #get()} but logs errors instead of throwing them, for lookups which can't handle SQL exceptions
+     */
+    static Snapshot getOrEmpty() {
+        try {
+            return get();
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+            return Snapshot.EMPTY;
+        }
+    }
+
+    static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        final Map<Integer, FTPConfiguration> ftpConfigurations;
+        final Map<Integer, Server> servers;
+        final Map<Integer, Country> countries;
+        final Map<Integer, CityProject> cityProjects;
+        final Map<Integer, Difficulty> difficulties;
+        final Map<PlotDifficulty, Difficulty> difficultiesByType;
+
+        private Snapshot(List<FTPConfiguration> ftpConfigurations, List<Server> servers, List<Country> countries,
+                         List<CityProject> cityProjects, List<Difficulty> difficulties) {
+            this.ftpConfigurations = toMap(ftpConfigurations, FTPConfiguration::getID);
+            this.servers = toMap(servers, Server::getID);
+            this.countries = toMap(countries, Country::getID);
+            this.cityProjects = toMap(cityProjects, CityProject::getID);
+            this.difficulties = toMap(difficulties, Difficulty::getID);
+
+            Map<PlotDifficulty, Difficulty> byType = new EnumMap<>(PlotDifficulty.class);
+            for (Difficulty difficulty : difficulties) {
+                if (difficulty.getDifficulty() != null) byType.put(difficulty.getDifficulty(), difficulty);
+            }
+            this.difficultiesByType = Collections.unmodifiableMap(byType);
+        }
+
+        private static Snapshot load() throws SQLException {
+            return new Snapshot(
+                    DatabaseConnection.createStatement("SELECT id, schematics_path, address, port, isSFTP, username, password FROM plotsystem_ftp_configurations ORDER BY id")
+                            .query(FTPConfiguration::new),
+                    DatabaseConnection.createStatement("SELECT id, ftp_configuration_id, name FROM plotsystem_servers ORDER BY id")
+                            .query(Server::new),
+                    DatabaseConnection.createStatement("SELECT id, server_id, name, head_id, continent FROM plotsystem_countries ORDER BY server_id, id")
+                            .query(Country::new),
+                    DatabaseConnection.createStatement("SELECT id, country_id, name, description, visible FROM plotsystem_city_projects ORDER BY country_id, id")
+                            .query(CityProject::new),
+                    DatabaseConnection.createStatement("SELECT id, name, multiplier, score_requirment FROM plotsystem_difficulties ORDER BY id")
+                            .query(Difficulty::new));
+        }
+
+        private static <T> Map<Integer, T> toMap(List<T> values, Function<T, Integer> id) {
+            Map<Integer, T> map = new LinkedHashMap<>();
+            for (T value : values) map.put(id.apply(value), value);
+            return Collections.unmodifiableMap(map);
+        }
+    }
+}
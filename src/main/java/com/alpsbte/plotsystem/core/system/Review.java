@@ -27,6 +27,7 @@ package com.alpsbte.plotsystem.core.system;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 import com.alpsbte.plotsystem.utils.enums.Category;
 import com.alpsbte.plotsystem.utils.enums.Status;
 import com.alpsbte.plotsystem.utils.io.FTPManager;
@@ -36,7 +37,6 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.sql.Date;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -71,92 +71,50 @@ public class Review {
     }
 
     public int getPlotID() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE review_id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return i;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return 0;
-        }
+        Integer plotID = DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE review_id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getInt(1));
+        return plotID != null ? plotID : 0;
     }
 
     public Builder getReviewer() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT reviewer_uuid FROM plotsystem_reviews WHERE id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                String s = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return Builder.byUUID(UUID.fromString(s));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        String uuid = DatabaseConnection.createStatement("SELECT reviewer_uuid FROM plotsystem_reviews WHERE id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getString(1));
+        return uuid != null ? Builder.byUUID(UUID.fromString(uuid)) : null;
     }
 
     public int getRating(Category category) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT rating FROM plotsystem_reviews WHERE id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                String[] scoreAsString = rs.getString("rating").split(",");
-                DatabaseConnection.closeResultSet(rs);
-
-                switch (category) {
-                    case ACCURACY:
-                        return Integer.parseInt(scoreAsString[0]);
-                    case BLOCKPALETTE:
-                        return Integer.parseInt(scoreAsString[1]);
-                    case DETAILING:
-                        return Integer.parseInt(scoreAsString[2]);
-                    case TECHNIQUE:
-                        return Integer.parseInt(scoreAsString[3]);
-                    case ALL:
-                        return Integer.parseInt(scoreAsString[0]) + Integer.parseInt(scoreAsString[1]) + Integer.parseInt(scoreAsString[2]) + Integer.parseInt(scoreAsString[3]);
-                    default:
-                        return 0;
-                }
+        String rating = DatabaseConnection.createStatement("SELECT rating FROM plotsystem_reviews WHERE id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getString("rating"));
+
+        if (rating != null) {
+            String[] scoreAsString = rating.split(",");
+
+            switch (category) {
+                case ACCURACY:
+                    return Integer.parseInt(scoreAsString[0]);
+                case BLOCKPALETTE:
+                    return Integer.parseInt(scoreAsString[1]);
+                case DETAILING:
+                    return Integer.parseInt(scoreAsString[2]);
+                case TECHNIQUE:
+                    return Integer.parseInt(scoreAsString[3]);
+                case ALL:
+                    return Integer.parseInt(scoreAsString[0]) + Integer.parseInt(scoreAsString[1]) + Integer.parseInt(scoreAsString[2]) + Integer.parseInt(scoreAsString[3]);
+                default:
+                    return 0;
             }
-
-            DatabaseConnection.closeResultSet(rs);
-            return 0;
         }
+        return 0;
     }
 
     public String getFeedback() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT feedback FROM plotsystem_reviews WHERE id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                String s = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return s;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        return DatabaseConnection.createStatement("SELECT feedback FROM plotsystem_reviews WHERE id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getString(1));
     }
 
     public Date getReviewDate() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT review_date FROM plotsystem_reviews WHERE id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                Date d = rs.getDate(1);
-                DatabaseConnection.closeResultSet(rs);
-                return d;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        return DatabaseConnection.createStatement("SELECT review_date FROM plotsystem_reviews WHERE id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getDate(1));
     }
 
     public void setReviewer(UUID reviewer) throws SQLException {
@@ -201,62 +159,60 @@ public class Review {
     }
 
     public boolean isFeedbackSent() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT sent FROM plotsystem_reviews WHERE id = ?")
-                .setValue(this.reviewID).executeQuery()) {
-
-            if (rs.next()) {
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return i != 0;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return false;
-        }
+        Boolean sent = DatabaseConnection.createStatement("SELECT sent FROM plotsystem_reviews WHERE id = ?")
+                .setValue(this.reviewID).queryOne(rs -> rs.getInt(1) != 0);
+        return sent != null && sent;
     }
 
     public static void undoReview(Review review) {
-        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+        DatabaseConnection.async(() -> {
             try {
                 Plot plot = new Plot(review.getPlotID());
 
-                for (Builder member : plot.getPlotMembers()) {
-                    member.addScore(-plot.getSharedScore());
-                    member.addCompletedBuild(-1);
+                DatabaseConnection.runInTransaction(() -> {
+                    for (Builder member : plot.getPlotMembers()) {
+                        member.addScore(-plot.getSharedScore());
+                        member.addCompletedBuild(-1);
 
-                    if (member.getFreeSlot() != null) {
-                        member.setPlot(plot.getID(), member.getFreeSlot());
+                        if (member.getFreeSlot() != null) {
+                            member.setPlot(plot.getID(), member.getFreeSlot());
+                        }
                     }
-                }
 
-                plot.getPlotOwner().addScore(-plot.getSharedScore());
-                plot.getPlotOwner().addCompletedBuild(-1);
-                plot.setTotalScore(-1);
-                plot.setStatus(Status.unreviewed);
-                plot.setPasted(false);
+                    plot.getPlotOwner().addScore(-plot.getSharedScore());
+                    plot.getPlotOwner().addCompletedBuild(-1);
+                    plot.setTotalScore(-1);
+                    plot.setStatus(Status.unreviewed);
+                    plot.setPasted(false);
 
-                if (plot.getPlotOwner().getFreeSlot() != null) {
-                    plot.getPlotOwner().setPlot(plot.getID(), plot.getPlotOwner().getFreeSlot());
-                }
+                    if (plot.getPlotOwner().getFreeSlot() != null) {
+                        plot.getPlotOwner().setPlot(plot.getID(), plot.getPlotOwner().getFreeSlot());
+                    }
+                });
 
                 int cityId = plot.getCity().getID();
                 Server plotServer = plot.getCity().getCountry().getServer();
                 boolean hasFTPConfiguration = plotServer.getFTPConfiguration() != null;
                 Bukkit.getScheduler().runTask(PlotSystem.getPlugin(), () -> {
+                    PlotWorldManager.acquire(plot.getWorld().getWorldName());
                     plot.getWorld().loadWorld();
 
                     try {
                         Files.deleteIfExists(plot.getCompletedSchematic().toPath());
 
                         if (hasFTPConfiguration) {
-                            FTPManager.deleteSchematic(FTPManager.getFTPUrl(plotServer, cityId), plot.getID() + ".schem");
-                            FTPManager.deleteSchematic(FTPManager.getFTPUrl(plotServer, cityId), plot.getID() + ".schematic");
+                            String ftpURL = FTPManager.getFTPUrl(plotServer, cityId);
+                            FTPManager.batch()
+                                    .delete(ftpURL, plot.getID() + ".schem")
+                                    .delete(ftpURL, plot.getID() + ".schematic")
+                                    .execute();
                         }
                     } catch (IOException | SQLException | URISyntaxException ex) {
                         Bukkit.getLogger().log(Level.SEVERE, "An error occurred while undoing review!", ex);
                     }
 
-                    plot.getWorld().unloadWorld(true);
+                    PlotWorldManager.release(plot.getWorld().getWorldName());
+                    PlotWorldManager.unloadWhenIdle(plot.getWorld());
                 });
 
                 DatabaseConnection.createStatement("UPDATE plotsystem_plots SET review_id = DEFAULT(review_id) WHERE id = ?")
@@ -264,6 +220,8 @@ public class Review {
 
                 DatabaseConnection.createStatement("DELETE FROM plotsystem_reviews WHERE id = ?")
                         .setValue(review.reviewID).executeUpdate();
+
+                ScoreRanking.refreshPlot(plot.getID());
             } catch (SQLException ex) {
                 Bukkit.getLogger().log(Level.SEVERE, "An error occurred while undoing review!", ex);
             }
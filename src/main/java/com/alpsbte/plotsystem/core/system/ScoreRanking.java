@@ -0,0 +1,429 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system;
+
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.holograms.ScoreLeaderboard.LeaderboardTimeframe;
+import org.bukkit.Bukkit;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * In-memory ranking of builder scores for every {@link LeaderboardTimeframe}.
+ * <p>
+ * The reviewed plots are loaded once and the ranking is updated incrementally by
+ * calling {@link #refreshPlot(int)} whenever the score or review of a plot changes.
+ * Plots whose review date left the timeframe window are expired lazily on the next lookup.
+ * All lookups run in O(log n) without touching the database. Refreshes requested while the rankings are loaded
+ * are replayed once loading has finished.
+ */
+public final class ScoreRanking {
+    private static final String CONTRIBUTION_QUERY = "SELECT plots.id, plots.owner_uuid, builders.name, plots.score, reviews.review_date FROM plotsystem_plots AS plots " +
+            "INNER JOIN plotsystem_reviews AS reviews ON plots.review_id = reviews.id " +
+            "INNER JOIN plotsystem_builders AS builders ON builders.uuid = plots.owner_uuid";
+
+    private static final Map<Integer, Contribution> contributions = new HashMap<>();
+    private static final Map<LeaderboardTimeframe, Ranking> rankings = new EnumMap<>(LeaderboardTimeframe.class);
+    private static boolean loaded = false;
+    private static boolean loading = false;
+    // Incremented on every load, refreshes which started before a load are outdated by it
+    private static int generation = 0;
+    private static final Set<Integer> pendingRefreshes = new HashSet<>();
+
+    private ScoreRanking() {}
+
+    /**
+     * Loads all reviewed plots from the database and rebuilds the rankings
+     */
+    public static void load() throws SQLException {
+        synchronized (ScoreRanking.class) {
+            loading = true;
+            generation++;
+        }
+
+        List<Integer> refreshes;
+        try {
+            List<Contribution> loadedContributions = DatabaseConnection.createStatement(CONTRIBUTION_QUERY).query(Contribution::new);
+
+            synchronized (ScoreRanking.class) {
+                contributions.clear();
+                rankings.clear();
+                for (LeaderboardTimeframe timeframe : LeaderboardTimeframe.values()) rankings.put(timeframe, new Ranking(timeframe));
+
+                long now = System.currentTimeMillis();
+                for (Contribution contribution : loadedContributions) add(contribution, now);
+                loaded = true;
+            }
+        } finally {
+            synchronized (ScoreRanking.class) {
+                loading = false;
+                refreshes = new ArrayList<>(pendingRefreshes);
+                pendingRefreshes.clear();
+            }
+        }
+
+        // The plots might have changed after they were queried
+        for (int plotID : refreshes) refreshPlot(plotID);
+    }
+
+    /**
+     * Reloads the score contribution of a single plot on the database executor.
+     * Has to be called after the score, owner or review of a plot was changed.
+     * @param plotID plot id
+     */
+    public static void refreshPlot(int plotID) {
+        int startGeneration;
+        synchronized (ScoreRanking.class) {
+            if (loading) {
+                pendingRefreshes.add(plotID);
+                return;
+            }
+            if (!loaded) return;
+            startGeneration = generation;
+        }
+
+        DatabaseConnection.async(() -> DatabaseConnection.createStatement(CONTRIBUTION_QUERY + " WHERE plots.id = ?")
+                .setValue(plotID).queryOne(Contribution::new)).whenComplete((contribution, ex) -> {
+            if (ex != null) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                return;
+            }
+
+            synchronized (ScoreRanking.class) {
+                // A load queried the plot in the meantime or is about to, its result is not older than this one
+                if (loading) {
+                    pendingRefreshes.add(plotID);
+                    return;
+                }
+                if (generation != startGeneration) return;
+
+                Contribution previous = contributions.remove(plotID);
+                if (previous != null) rankings.values().forEach(r -> r.remove(previous));
+                if (contribution != null) add(contribution, System.currentTimeMillis());
+            }
+        });
+    }
+
+    public static synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return score of the builder in the given timeframe or -1 if the builder is not ranked
+     */
+    public static synchronized int getScore(UUID uuid, LeaderboardTimeframe timeframe) {
+        Entry entry = getRanking(timeframe).entries.get(uuid);
+        return entry != null ? entry.score : -1;
+    }
+
+    /**
+     * @return position (starting at 1) of the builder in the given timeframe or -1 if the builder is not ranked
+     */
+    public static synchronized int getPosition(UUID uuid, LeaderboardTimeframe timeframe) {
+        Ranking ranking = getRanking(timeframe);
+        Entry entry = ranking.entries.get(uuid);
+        return entry != null ? ranking.tree.rank(entry) + 1 : -1;
+    }
+
+    /**
+     * @return amount of ranked builders in the given timeframe
+     */
+    public static synchronized int getSize(LeaderboardTimeframe timeframe) {
+        return getRanking(timeframe).entries.size();
+    }
+
+    /**
+     * @return the names and scores of the best builders in the given timeframe
+     */
+    public static synchronized List<Builder.DatabaseEntry<String, Integer>> getTop(LeaderboardTimeframe timeframe, int limit) {
+        Ranking ranking = getRanking(timeframe);
+        List<Builder.DatabaseEntry<String, Integer>> top = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, ranking.entries.size()); i++) {
+            Entry entry = ranking.tree.select(i);
+            top.add(new Builder.DatabaseEntry<>(entry.name, entry.score));
+        }
+        return top;
+    }
+
+    private static Ranking getRanking(LeaderboardTimeframe timeframe) {
+        Ranking ranking = rankings.get(timeframe);
+        ranking.expire(System.currentTimeMillis());
+        return ranking;
+    }
+
+    private static void add(Contribution contribution, long now) {
+        contributions.put(contribution.plotID, contribution);
+        for (Ranking ranking : rankings.values()) {
+            if (ranking.isInWindow(contribution, now)) ranking.add(contribution);
+        }
+    }
+
+    private static final class Contribution {
+        private final int plotID;
+        private final UUID owner;
+        private final String name;
+        private final int score;
+        private final long reviewDate;
+
+        private Contribution(java.sql.ResultSet rs) throws SQLException {
+            this.plotID = rs.getInt(1);
+            this.owner = UUID.fromString(rs.getString(2));
+            this.name = rs.getString(3);
+            this.score = rs.getInt(4);
+            Timestamp date = rs.getTimestamp(5);
+            this.reviewDate = date != null ? date.getTime() : 0;
+        }
+    }
+
+    private static final class Entry {
+        private final UUID uuid;
+        private final String name;
+        private final int score;
+
+        private Entry(UUID uuid, String name, int score) {
+            this.uuid = uuid;
+            this.name = name;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Ranking of a single timeframe. Entries are sorted by score (descending) and name, like the leaderboard query.
+     */
+    private static final class Ranking {
+        private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(e -> -e.score)
+                .thenComparing(e -> e.name, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(e -> e.uuid);
+        private static final Comparator<Contribution> BY_DATE = Comparator.<Contribution>comparingLong(c -> c.reviewDate)
+                .thenComparingInt(c -> c.plotID);
+
+        private final LeaderboardTimeframe timeframe;
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        // Builders stay ranked as long as at least one of their plots is in the window
+        private final Map<UUID, Integer> plotCounts = new HashMap<>();
+        private final TreeSet<Contribution> byDate = new TreeSet<>(BY_DATE);
+        private final OrderStatisticTree<Entry> tree = new OrderStatisticTree<>(ORDER);
+
+        private Ranking(LeaderboardTimeframe timeframe) {
+            this.timeframe = timeframe;
+        }
+
+        private boolean isInWindow(Contribution contribution, long now) {
+            if (timeframe == LeaderboardTimeframe.LIFETIME) return true;
+            // Reviews dated slightly in the future because of clock skew between servers are counted as well
+            return contribution.reviewDate >= getMinimumDate(now);
+        }
+
+        private long getMinimumDate(long now) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(now);
+            switch (timeframe) {
+                case DAILY:
+                    calendar.add(Calendar.DAY_OF_MONTH, -1);
+                    break;
+                case WEEKLY:
+                    calendar.add(Calendar.WEEK_OF_YEAR, -1);
+                    break;
+                case MONTHLY:
+                    calendar.add(Calendar.MONTH, -1);
+                    break;
+                case YEARLY:
+                    calendar.add(Calendar.YEAR, -1);
+                    break;
+                default:
+                    return Long.MIN_VALUE;
+            }
+            return calendar.getTimeInMillis();
+        }
+
+        private void add(Contribution contribution) {
+            byDate.add(contribution);
+            changeScore(contribution.owner, contribution.name, contribution.score, 1);
+        }
+
+        private void remove(Contribution contribution) {
+            if (byDate.remove(contribution)) changeScore(contribution.owner, contribution.name, -contribution.score, -1);
+        }
+
+        private void expire(long now) {
+            if (timeframe == LeaderboardTimeframe.LIFETIME) return;
+            long minimumDate = getMinimumDate(now);
+            while (!byDate.isEmpty() && byDate.first().reviewDate < minimumDate) {
+                Contribution contribution = byDate.pollFirst();
+                changeScore(contribution.owner, contribution.name, -contribution.score, -1);
+            }
+        }
+
+        private void changeScore(UUID uuid, String name, int delta, int plotDelta) {
+            Entry previous = entries.remove(uuid);
+            if (previous != null) tree.remove(previous);
+
+            int plots = plotCounts.getOrDefault(uuid, 0) + plotDelta;
+            if (plots <= 0) {
+                plotCounts.remove(uuid);
+                return;
+            }
+            plotCounts.put(uuid, plots);
+
+            Entry entry = new Entry(uuid, name, (previous != null ? previous.score : 0) + delta);
+            entries.put(uuid, entry);
+            tree.add(entry);
+        }
+    }
+
+    /**
+     * Randomized balanced search tree (treap) which keeps track of subtree sizes
+     * to look up the rank of an element and the element at a rank in O(log n).
+     */
+    private static final class OrderStatisticTree<T> {
+        private final Comparator<T> comparator;
+        private final Random random = new Random();
+        private Node<T> root;
+
+        private OrderStatisticTree(Comparator<T> comparator) {
+            this.comparator = comparator;
+        }
+
+        private void add(T value) {
+            root = insert(root, new Node<>(value, random.nextInt()));
+        }
+
+        private void remove(T value) {
+            root = delete(root, value);
+        }
+
+        /**
+         * @return amount of elements ordered before the given element
+         */
+        private int rank(T value) {
+            int rank = 0;
+            Node<T> node = root;
+            while (node != null) {
+                int cmp = comparator.compare(value, node.value);
+                if (cmp <= 0) {
+                    if (cmp == 0) return rank + size(node.left);
+                    node = node.left;
+                } else {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return rank;
+        }
+
+        /**
+         * @return element at the given index (starting at 0)
+         */
+        private T select(int index) {
+            Node<T> node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else return node.value;
+            }
+            throw new IndexOutOfBoundsException();
+        }
+
+        private Node<T> insert(Node<T> node, Node<T> newNode) {
+            if (node == null) return newNode;
+            if (comparator.compare(newNode.value, node.value) < 0) {
+                node.left = insert(node.left, newNode);
+                if (node.left.priority > node.priority) node = rotateRight(node);
+            } else {
+                node.right = insert(node.right, newNode);
+                if (node.right.priority > node.priority) node = rotateLeft(node);
+            }
+            node.update();
+            return node;
+        }
+
+        private Node<T> delete(Node<T> node, T value) {
+            if (node == null) return null;
+            int cmp = comparator.compare(value, node.value);
+            if (cmp < 0) {
+                node.left = delete(node.left, value);
+            } else if (cmp > 0) {
+                node.right = delete(node.right, value);
+            } else {
+                if (node.left == null) return node.right;
+                if (node.right == null) return node.left;
+                if (node.left.priority > node.right.priority) {
+                    node = rotateRight(node);
+                    node.right = delete(node.right, value);
+                } else {
+                    node = rotateLeft(node);
+                    node.left = delete(node.left, value);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private Node<T> rotateRight(Node<T> node) {
+            Node<T> left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.update();
+            left.update();
+            return left;
+        }
+
+        private Node<T> rotateLeft(Node<T> node) {
+            Node<T> right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.update();
+            right.update();
+            return right;
+        }
+
+        private static int size(Node<?> node) {
+            return node != null ? node.size : 0;
+        }
+
+        private static final class Node<T> {
+            private final T value;
+            private final int priority;
+            private Node<T> left, right;
+            private int size = 1;
+
+            private Node(T value, int priority) {
+                this.value = value;
+                this.priority = priority;
+            }
+
+            private void update() {
+                size = 1 + size(left) + size(right);
+            }
+        }
+    }
+}
@@ -25,35 +25,33 @@
 package com.alpsbte.plotsystem.core.system;
 
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
-import org.bukkit.Bukkit;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
 
 public class Server {
     private final int ID;
-    private int ftpConfigurationID;
+    private final int ftpConfigurationID;
 
-    private String name;
+    private final String name;
 
-    public Server(int ID) throws SQLException {
-        this.ID = ID;
+    Server(ResultSet rs) throws SQLException {
+        this.ID = rs.getInt(1);
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT ftp_configuration_id, name FROM plotsystem_servers WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
+        int ftpConfigurationID = rs.getInt(2);
+        this.ftpConfigurationID = rs.wasNull() ? -1 : ftpConfigurationID;
 
-            if (rs.next()) {
-                this.ftpConfigurationID = rs.getInt(1);
-                if (rs.wasNull()) this.ftpConfigurationID = -1;
-
-                this.name = rs.getString(2);
-            }
+        this.name = rs.getString(3);
+    }
 
-            DatabaseConnection.closeResultSet(rs);
-        }
+    /**
+     * @param ID server id
+     * @return cached server or null if it does not exist
+     */
+    public static Server byID(int ID) throws SQLException {
+        return ReferenceDataCache.get().servers.get(ID);
     }
 
     public int getID() {
@@ -65,23 +63,11 @@ public class Server {
     }
 
     public FTPConfiguration getFTPConfiguration() throws SQLException {
-        return ftpConfigurationID != -1 ? new FTPConfiguration(ftpConfigurationID) : null;
+        return ftpConfigurationID != -1 ? FTPConfiguration.byID(ftpConfigurationID) : null;
     }
 
     public static List<Server> getServers() {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_servers").executeQuery()) {
-            List<Server> servers = new ArrayList<>();
-            while (rs.next()) {
-                servers.add(new Server(rs.getInt(1)));
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-
-            return servers;
-        } catch (SQLException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-        }
-        return new ArrayList<>();
+        return new ArrayList<>(ReferenceDataCache.getOrEmpty().servers.values());
     }
 
     public static Server addServer(String name) throws SQLException {
@@ -89,12 +75,14 @@ public class Server {
         DatabaseConnection.createStatement("INSERT INTO plotsystem_servers (id, name) VALUES (?, ?)")
                 .setValue(id)
                 .setValue(name).executeUpdate();
-        return new Server(id);
+        ReferenceDataCache.invalidate();
+        return byID(id);
     }
 
     public static void removeServer(int serverID) throws SQLException {
         DatabaseConnection.createStatement("DELETE FROM plotsystem_servers WHERE id = ?")
                 .setValue(serverID).executeUpdate();
+        ReferenceDataCache.invalidate();
     }
 
     public static void setFTP(int serverID, int ftpID) throws SQLException {
@@ -106,5 +94,6 @@ public class Server {
             DatabaseConnection.createStatement("UPDATE plotsystem_servers SET ftp_configuration_id = DEFAULT WHERE id = ?")
                     .setValue(serverID).executeUpdate();
         }
+        ReferenceDataCache.invalidate();
     }
 }
@@ -25,17 +25,17 @@
 package com.alpsbte.plotsystem.core.system.plot;
 
 import com.alpsbte.plotsystem.core.system.Builder;
+import com.alpsbte.plotsystem.core.system.plot.utils.Outline;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotGeometry;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotPermissions;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotType;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicCache;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
 import com.alpsbte.plotsystem.core.system.plot.world.OnePlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
-import com.alpsbte.plotsystem.utils.Utils;
 import com.alpsbte.plotsystem.utils.conversion.CoordinateConversion;
 import com.alpsbte.plotsystem.utils.conversion.projection.OutOfProjectionBoundsException;
 import com.alpsbte.plotsystem.utils.enums.Status;
-import com.fastasyncworldedit.core.FaweAPI;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.Vector3;
@@ -49,11 +49,16 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public abstract class AbstractPlot {
     public static final double PLOT_VERSION = 3;
 
+    // Time at which the outlines schematic of a plot changed, used to drop the geometry cached by live plot instances
+    private static final Map<Integer, Long> geometryInvalidations = new ConcurrentHashMap<>();
+
 
     protected final int ID;
     protected Builder plotOwner;
@@ -63,12 +68,37 @@ public abstract class AbstractPlot {
     protected double plotVersion = -1;
 
     protected List<BlockVector2> outline;
-    protected List<BlockVector2> blockOutline;
+    protected Outline packedOutline;
+    protected PlotGeometry geometry;
+    private long geometryLoadedAt = System.nanoTime();
 
     public AbstractPlot(int id) {
         this.ID = id;
     }
 
+    /**
+     * Drops the cached outline and geometry of all instances of the plot, has to be called after its outlines schematic changed
+     * @param plotID plot id
+     */
+    public static void invalidateGeometry(int plotID) {
+        geometryInvalidations.put(plotID, System.nanoTime());
+    }
+
+    /**
+     * Drops the cached outline and geometry if the outlines schematic changed since they were loaded
+     * @return true if the cached values were dropped
+     */
+    protected boolean checkGeometry() {
+        Long invalidatedAt = geometryInvalidations.get(ID);
+        if (invalidatedAt == null || invalidatedAt - geometryLoadedAt < 0) return false;
+
+        outline = null;
+        packedOutline = null;
+        geometry = null;
+        geometryLoadedAt = System.nanoTime();
+        return true;
+    }
+
     /**
      * @return plot id
      */
@@ -132,6 +162,25 @@ public abstract class AbstractPlot {
 
 
 
+    /**
+     * Returns the origin, region and center of the plot outlines schematic
+     * @return plot geometry or null if the schematic could not be loaded
+     * @throws IOException fails to load schematic file
+     */
+    public PlotGeometry getGeometry() throws IOException {
+        checkGeometry();
+        if (geometry != null)
+            return geometry;
+
+        // On the main thread the schematic might still be downloading
+        File outlinesSchematic = getOutlinesSchematic();
+        if (outlinesSchematic == null || !outlinesSchematic.exists()) return null;
+
+        SchematicCache.Metadata schematic = SchematicCache.getMetadata(outlinesSchematic);
+        if (schematic != null) geometry = PlotGeometry.of(schematic);
+        return geometry;
+    }
+
     /**
      * Returns geographic coordinates in numeric format
      * @return WG84 EPSG:4979 coordinates as double array {lon,lat} in degrees
@@ -156,16 +205,16 @@ public abstract class AbstractPlot {
      * @throws IOException fails to load schematic file
      */
     public BlockVector3 getCoordinates() throws IOException {
-        Clipboard clipboard = FaweAPI.load(getOutlinesSchematic());
-        if (clipboard != null) return clipboard.getOrigin();
+        PlotGeometry geometry = getGeometry();
+        if (geometry != null) return geometry.getOrigin();
         return null;
     }
 
     public BlockVector3 getCenter() {
         try {
-            Clipboard clipboard = FaweAPI.load(getOutlinesSchematic());
-            if (clipboard != null) {
-                Vector3 clipboardCenter = clipboard.getRegion().getCenter();
+            PlotGeometry geometry = getGeometry();
+            if (geometry != null) {
+                Vector3 clipboardCenter = geometry.getCenter();
                 return BlockVector3.at(clipboardCenter.getX(), this.getWorld().getPlotHeightCentered(), clipboardCenter.getZ());
             }
         } catch (IOException | SQLException ex) {
@@ -211,29 +260,20 @@ public abstract class AbstractPlot {
         return locations;
     }
 
+    /**
+     * @return the outline polygon with its rasterized edges in packed arrays
+     */
+    public final Outline getPackedOutline() throws SQLException, IOException {
+        checkGeometry();
+        if (this.packedOutline == null)
+            this.packedOutline = Outline.of(getOutline());
+        return this.packedOutline;
+    }
+
     /**
      * @return the outline of the polygon with one point per Block
      */
     public final List<BlockVector2> getBlockOutline() throws SQLException, IOException {
-        if(this.blockOutline != null)
-            return this.blockOutline;
-
-        List<BlockVector2> points = new ArrayList<>();
-        List<BlockVector2> outline = getOutline();
-
-        for(int i = 0; i < outline.size() - 1; i++){
-            BlockVector2 b1 = outline.get(i);
-            BlockVector2 b2 = outline.get(i + 1);
-            int distance = (int) b1.distance(b2);
-
-            points.addAll(Utils.getLineBetweenPoints(b1, b2, distance));
-        }
-
-        BlockVector2 first = outline.get(0);
-        BlockVector2 last = outline.get(outline.size() - 1);
-        points.addAll(Utils.getLineBetweenPoints(last, first, (int) first.distance(last)));
-
-        this.blockOutline = points;
-        return points;
+        return getPackedOutline().getBlocks();
     }
 }
@@ -28,10 +28,15 @@ import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.system.CityProject;
+import com.alpsbte.plotsystem.core.system.Difficulty;
 import com.alpsbte.plotsystem.core.system.Country;
 import com.alpsbte.plotsystem.core.system.Review;
+import com.alpsbte.plotsystem.core.system.Server;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotGeometry;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotIndex;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotType;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicPrefetcher;
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.CityPlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.OnePlotWorld;
@@ -48,61 +53,73 @@ import org.jetbrains.annotations.NotNull;
 import java.io.*;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class Plot extends AbstractPlot {
     private CityProject city;
     private CityPlotWorld cityPlotWorld;
+    private PlotRecord record;
+    private List<Builder> plotMembers;
 
     public Plot(int id) {
         super(id);
     }
 
-    public CityProject getCity() throws SQLException {
-        if(this.city != null)
-            return this.city;
+    /**
+     * Creates a plot from an already loaded database row
+     * @param record snapshot of the plot row
+     */
+    public Plot(@NotNull PlotRecord record) {
+        super(record.getID());
+        this.record = record;
+    }
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT city_project_id FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
+    /**
+     * Returns the snapshot of the plot row and loads all columns with a single query if necessary
+     * @return plot row snapshot or null if the plot does not exist
+     * @throws SQLException SQL database exception
+     */
+    private PlotRecord getRecord() throws SQLException {
+        if (record != null)
+            return record;
 
-            if (rs.next()){
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                CityProject cityProject = new CityProject(i);
+        record = DatabaseConnection.createStatement("SELECT * FROM plotsystem_plots WHERE id = ?")
+                .setValue(this.ID).queryOne(PlotRecord::new);
+        return record;
+    }
 
-                this.city = cityProject;
+    /**
+     * Discards the loaded plot row, so the next getter call reads the current values from the database
+     */
+    public void invalidateRecord() {
+        record = null;
+        plotMembers = null;
+    }
 
-                return cityProject;
-            }
+    public CityProject getCity() throws SQLException {
+        if(this.city != null)
+            return this.city;
 
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        PlotRecord record = getRecord();
+        if (record == null) return null;
+
+        this.city = CityProject.byID(record.getCityProjectID());
+        return this.city;
     }
 
     public PlotDifficulty getDifficulty() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT difficulty_id FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()){
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return PlotDifficulty.values()[i - 1];
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        PlotRecord record = getRecord();
+        return record != null ? PlotDifficulty.values()[record.getDifficultyID() - 1] : null;
     }
 
     @Override
@@ -110,21 +127,10 @@ public class Plot extends AbstractPlot {
         if(plotOwner != null)
             return plotOwner;
 
-        if(getStatus() != Status.unclaimed) {
-            try (ResultSet rs = DatabaseConnection.createStatement("SELECT owner_uuid FROM plotsystem_plots WHERE id = ?")
-                    .setValue(this.ID).executeQuery()) {
-
-                if (rs.next()){
-                    String s = rs.getString(1);
-                    DatabaseConnection.closeResultSet(rs);
-
-                    plotOwner = Builder.byUUID(UUID.fromString(s));
-
-                    return plotOwner;
-                }
-
-                DatabaseConnection.closeResultSet(rs);
-            }
+        PlotRecord record = getRecord();
+        if (record != null && record.getStatus() != Status.unclaimed && record.getOwnerUUID() != null) {
+            plotOwner = Builder.byUUID(UUID.fromString(record.getOwnerUUID()));
+            return plotOwner;
         }
         return null;
     }
@@ -139,41 +145,40 @@ public class Plot extends AbstractPlot {
         }
 
         plotOwner = null;
+        record = null;
     }
 
     public List<Builder> getPlotMembers() throws SQLException {
-        List<Builder> builders = new ArrayList<>();
-
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT member_uuids FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if(rs.next()) {
-                String members = rs.getString(1);
-                if(!rs.wasNull()) {
-                    String[] uuidMembers = members.split(",");
-
-                    for (String uuid : uuidMembers) {
-                        builders.add(Builder.byUUID(UUID.fromString(uuid)));
-                    }
-                }
-            }
-
-            DatabaseConnection.closeResultSet(rs);
+        if (plotMembers == null) {
+            plotMembers = DatabaseConnection.createStatement("SELECT builder_uuid FROM plotsystem_plot_members WHERE plot_id = ? ORDER BY id")
+                    .setValue(this.ID).query(rs -> Builder.byUUID(UUID.fromString(rs.getString(1))));
         }
-        return builders;
+        return new ArrayList<>(plotMembers);
     }
 
     public void setPlotMembers(@NotNull List<Builder> plotMembers) throws SQLException {
-        // Convert plot member list to string
-        String plotMemberAsString = plotMembers.stream().map(member -> member.getUUID().toString()).collect(Collectors.joining(","));
-
-        if(!plotMembers.isEmpty()) {
-            DatabaseConnection.createStatement("UPDATE plotsystem_plots SET member_uuids = ? WHERE id = ?")
-                    .setValue(plotMemberAsString).setValue(this.ID).executeUpdate();
-        } else {
-            DatabaseConnection.createStatement("UPDATE plotsystem_plots SET member_uuids = DEFAULT(member_uuids) WHERE id = ?")
+        DatabaseConnection.runInTransaction(() -> {
+            DatabaseConnection.createStatement("DELETE FROM plotsystem_plot_members WHERE plot_id = ?")
                     .setValue(this.ID).executeUpdate();
-        }
+
+            for (Builder member : plotMembers) {
+                DatabaseConnection.createStatement("INSERT INTO plotsystem_plot_members (plot_id, builder_uuid) VALUES (?, ?)")
+                        .setValue(this.ID).setValue(member.getUUID().toString()).executeUpdate();
+            }
+            updateLegacyPlotMembers(this.ID);
+        });
+        this.plotMembers = null;
+    }
+
+    /**
+     * Writes the members of the plot into the legacy member_uuids column, which is kept for older plugin versions
+     * and external readers. Has to be called in the same transaction which changed plotsystem_plot_members.
+     * @param plotID plot id
+     */
+    public static void updateLegacyPlotMembers(int plotID) throws SQLException {
+        DatabaseConnection.createStatement("UPDATE plotsystem_plots SET member_uuids = " +
+                        "(SELECT GROUP_CONCAT(builder_uuid ORDER BY id SEPARATOR ',') FROM plotsystem_plot_members WHERE plot_id = ?) WHERE id = ?")
+                .setValue(plotID).setValue(plotID).executeUpdate();
     }
 
     @SuppressWarnings("unchecked")
@@ -193,89 +198,94 @@ public class Plot extends AbstractPlot {
 
     @Override
     public List<BlockVector2> getOutline() throws SQLException, IOException {
+        if (checkGeometry()) invalidateRecord();
         if(outline != null)
             return this.outline;
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT outline FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            List<BlockVector2> pointVectors = new ArrayList<>();
-            if (rs.next()) {
-                String points = rs.getString(1);
-                pointVectors = getOutlinePoints((rs.wasNull() || points.isEmpty() || getVersion() <= 2) ? null : points);
-            }
+        PlotRecord record = getRecord();
+        if (record == null) return new ArrayList<>();
 
-            DatabaseConnection.closeResultSet(rs);
-            return pointVectors;
-        }
+        String points = record.getOutline();
+        return getOutlinePoints((points == null || points.isEmpty() || getVersion() <= 2) ? null : points);
     }
 
+    /**
+     * Returns the stored plot geometry, computes and stores it from the outlines schematic if it is missing
+     * @return plot geometry or null if it could not be computed
+     * @throws IOException fails to load schematic file
+     */
     @Override
-    public Date getLastActivity() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT last_activity FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
+    public PlotGeometry getGeometry() throws IOException {
+        // The stored geometry has been reset as well
+        if (checkGeometry()) invalidateRecord();
+        if (geometry != null)
+            return geometry;
 
-            if (rs.next()) {
-                Date d = rs.getDate(1);
-                DatabaseConnection.closeResultSet(rs);
-                return d;
+        try {
+            PlotRecord record = getRecord();
+            if (record != null) geometry = PlotGeometry.unpack(record.getGeometry());
+            if (geometry != null) return geometry;
+
+            PlotGeometry computed = super.getGeometry();
+            if (computed != null && record != null) {
+                DatabaseConnection.createStatement("UPDATE plotsystem_plots SET geometry = ? WHERE id = ?")
+                        .setValue(computed.pack()).setValue(this.ID).queueUpdate("plotsystem_plots.geometry#" + this.ID);
             }
+            return computed;
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+        }
+        return super.getGeometry();
+    }
 
-            DatabaseConnection.closeResultSet(rs);
+    @Override
+    public Date getLastActivity() throws SQLException {
+        // The last activity might not be flushed yet
+        Object queued = DatabaseConnection.getQueuedValue(getLastActivityQueueKey(), 0);
+        if (queued instanceof Date) return (Date) queued;
 
-            return null;
-        }
+        PlotRecord record = getRecord();
+        return record != null ? record.getLastActivity() : null;
     }
 
     @Override
     public void setLastActivity(boolean setNull) throws SQLException {
+        String queueKey = getLastActivityQueueKey();
         if(setNull) {
+            // Waits for a running flush, so a queued date can not overwrite the reset
+            DatabaseConnection.cancelQueuedUpdate(queueKey);
             DatabaseConnection.createStatement("UPDATE plotsystem_plots SET last_activity = DEFAULT(last_activity) WHERE id = ?")
                     .setValue(this.ID).executeUpdate();
+            record = null;
         } else {
+            // Last activity is not critical, so it is written with the next write-behind flush.
+            // getLastActivity() reads the queued date until then.
             DatabaseConnection.createStatement("UPDATE plotsystem_plots SET last_activity = ? WHERE id = ?")
-                    .setValue(java.sql.Date.valueOf(LocalDate.now())).setValue(this.ID).executeUpdate();
+                    .setValue(java.sql.Date.valueOf(LocalDate.now())).setValue(this.ID).queueUpdate(queueKey);
         }
     }
 
+    private String getLastActivityQueueKey() {
+        return "plotsystem_plots.last_activity#" + this.ID;
+    }
+
     @Override
     public Status getStatus() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT status FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                String s = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return Status.valueOf(s);
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        PlotRecord record = getRecord();
+        return record != null ? record.getStatus() : null;
     }
 
     @Override
     public void setStatus(@NotNull Status status) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_plots SET status = ? WHERE id = ?")
                 .setValue(status.name()).setValue(this.ID).executeUpdate();
+        record = null;
+        DatabaseConnection.afterCommit(() -> PlotIndex.setStatus(this, status));
     }
 
     public int getTotalScore() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT score FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if(rs.next()) {
-                int score = rs.getInt(1);
-                if(!rs.wasNull()) {
-                    DatabaseConnection.closeResultSet(rs);
-                    return score;
-                }
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-
-            return -1;
-        }
+        PlotRecord record = getRecord();
+        return record != null ? record.getScore() : -1;
     }
 
     public void setTotalScore(int score) throws SQLException {
@@ -286,6 +296,7 @@ public class Plot extends AbstractPlot {
             DatabaseConnection.createStatement("UPDATE plotsystem_plots SET score = ? WHERE id = ?")
                     .setValue(score).setValue(this.ID).executeUpdate();
         }
+        record = null;
     }
 
     public int getSharedScore() throws SQLException {
@@ -300,48 +311,32 @@ public class Plot extends AbstractPlot {
     public PlotType getPlotType() throws SQLException {
         if (plotType != null) return plotType;
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT type FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                int typeId = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
+        PlotRecord record = getRecord();
+        if (record == null) return null;
 
-                plotType = PlotType.byId(typeId);
-                return plotType;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return null;
-        }
+        plotType = PlotType.byId(record.getType());
+        return plotType;
     }
 
     public void setPlotType(PlotType type) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_plots SET type = ? WHERE id = ?")
                 .setValue(type.ordinal()).setValue(this.ID).executeUpdate();
         plotType = type;
+        record = null;
+        DatabaseConnection.afterCommit(() -> PlotIndex.setPlotType(this, type));
     }
 
     @Override
     public double getVersion() {
         if (plotVersion != -1) return plotVersion;
 
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT version FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                double version = rs.getDouble(1);
-                if (!rs.wasNull()) {
-                    plotVersion = version;
-                } else {
-                    plotVersion = 2; // Plot version was implemented since v3, so we assume that the plot is v2.
-                }
-
-                DatabaseConnection.closeResultSet(rs);
+        try {
+            PlotRecord record = getRecord();
+            if (record != null) {
+                // Plot version was implemented since v3, so we assume that the plot is v2.
+                plotVersion = record.getVersion() != -1 ? record.getVersion() : 2;
                 return plotVersion;
             }
-
-            DatabaseConnection.closeResultSet(rs);
         } catch (SQLException ex) { Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex); }
         return PLOT_VERSION;
     }
@@ -356,36 +351,94 @@ public class Plot extends AbstractPlot {
         return getSchematicFile(getID() + "-env");
     }
 
+    /**
+     * Returns the outlines schematic and downloads it on the schematic executor if it is not available locally
+     * @return future which completes with the outlines schematic file
+     */
+    public CompletableFuture<File> getOutlinesSchematicAsync() {
+        return getSchematicFileAsync(String.valueOf(getID()));
+    }
+
+    /**
+     * Returns the environment schematic and downloads it on the schematic executor if it is not available locally
+     * @return future which completes with the environment schematic file
+     */
+    public CompletableFuture<File> getEnvironmentSchematicAsync() {
+        return getSchematicFileAsync(getID() + "-env");
+    }
+
+    /**
+     * Returns the schematic file. Missing files are downloaded on the schematic executor and this method waits for the download,
+     * callers on the main thread which do not need the file right away should use {@link #getOutlinesSchematicAsync()} instead.
+     * @param fileName schematic name without extension
+     * @return schematic file
+     */
     @Override
     protected File getSchematicFile(String fileName){
         try {
-            return CompletableFuture.supplyAsync(() -> {
-                try {
-                    File file = Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(getCity().getCountry().getServer().getID()), String.valueOf(getCity().getID()), fileName + ".schem").toFile();
+            return getSchematicFileAsync(fileName).join();
+        } catch (CompletionException | CancellationException ex) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not download schematic " + fileName + "!", ex);
+        }
+        return null;
+    }
 
-                    if (!file.exists()) {
-                        // if .schem doesn't exist, it looks for old .schematic format for backwards compatibility
-                        file = Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(getCity().getCountry().getServer().getID()), String.valueOf(getCity().getID()), fileName + ".schematic").toFile();
-                    }
+    private CompletableFuture<File> getSchematicFileAsync(String fileName) {
+        try {
+            File file = getLocalSchematicFile(fileName);
+            if (file.exists() || getCity().getCountry().getServer().getFTPConfiguration() == null) return CompletableFuture.completedFuture(file);
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+            CompletableFuture<File> failed = new CompletableFuture<>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+        return SchematicPrefetcher.download(this, fileName);
+    }
+
+    /**
+     * Downloads the schematic from the FTP server of the plot, blocking the calling thread.
+     * Only used by {@link SchematicPrefetcher}, use {@link #getOutlinesSchematicAsync()} instead.
+     * @param fileName schematic name without extension
+     * @return downloaded schematic file
+     * @throws SQLException SQL database exception
+     * @throws URISyntaxException invalid FTP url
+     */
+    public File downloadSchematic(String fileName) throws SQLException, URISyntaxException {
+        File file = getLocalSchematicFile(fileName);
+        if (file.exists()) return file;
+
+        Server server = getCity().getCountry().getServer();
+        if (server.getFTPConfiguration() != null) {
+            if (!FTPManager.downloadSchematic(FTPManager.getFTPUrl(server, getCity().getID()), file)) {
+                file = Paths.get(file.getParent(), fileName + ".schem").toFile();
+                FTPManager.downloadSchematic(FTPManager.getFTPUrl(server, getCity().getID()), file);
+            }
+        }
+        return file;
+    }
 
-                    if (!file.exists()) {
-                        if (getCity().getCountry().getServer().getFTPConfiguration() != null) {
-                            if (!FTPManager.downloadSchematic(FTPManager.getFTPUrl(getCity().getCountry().getServer(), getCity().getID()), file)) {
-                                file = Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(getCity().getCountry().getServer().getID()), String.valueOf(getCity().getID()), fileName + ".schem").toFile();
-                                FTPManager.downloadSchematic(FTPManager.getFTPUrl(getCity().getCountry().getServer(), getCity().getID()), file);
-                            }
-                        }
-                    }
+    /**
+     * Returns the local schematic file without downloading it
+     * @param fileName schematic name without extension
+     * @return .schem file if it exists, otherwise the old .schematic file which might not exist either
+     */
+    private File getLocalSchematicFile(String fileName) throws SQLException {
+        String serverID = String.valueOf(getCity().getCountry().getServer().getID());
+        File file = Paths.get(PlotUtils.getDefaultSchematicPath(), serverID, String.valueOf(getCity().getID()), fileName + ".schem").toFile();
 
-                    return file;
-                } catch (SQLException | URISyntaxException ex) {
-                    Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-                }
-                return null;
-            }).get();
-        } catch (InterruptedException | ExecutionException ex) {
-            return null;
+        if (!file.exists()) {
+            // if .schem doesn't exist, it looks for old .schematic format for backwards compatibility
+            file = Paths.get(PlotUtils.getDefaultSchematicPath(), serverID, String.valueOf(getCity().getID()), fileName + ".schematic").toFile();
         }
+        return file;
+    }
+
+    /**
+     * @return true if the outlines schematic is available locally and does not have to be downloaded
+     */
+    public boolean hasLocalOutlinesSchematic() throws SQLException {
+        return getLocalSchematicFile(String.valueOf(getID())).exists();
     }
 
     public File getCompletedSchematic() {
@@ -404,19 +457,11 @@ public class Plot extends AbstractPlot {
 
     @Deprecated
     public BlockVector3 getMinecraftCoordinates() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT mc_coordinates FROM plotsystem_plots WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                String[] mcLocation = rs.getString(1).split(",");
-                DatabaseConnection.closeResultSet(rs);
-                return BlockVector3.at(Double.parseDouble(mcLocation[0]), Double.parseDouble(mcLocation[1]), Double.parseDouble(mcLocation[2]));
-            }
+        PlotRecord record = getRecord();
+        if (record == null) return null;
 
-            DatabaseConnection.closeResultSet(rs);
-
-            return null;
-        }
+        String[] mcLocation = record.getMcCoordinates().split(",");
+        return BlockVector3.at(Double.parseDouble(mcLocation[0]), Double.parseDouble(mcLocation[1]), Double.parseDouble(mcLocation[2]));
     }
 
     public BlockVector3 getCenter() {
@@ -431,38 +476,20 @@ public class Plot extends AbstractPlot {
     }
 
     public Slot getSlot() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT first_slot, second_slot, third_slot FROM plotsystem_builders WHERE uuid = ?")
-                .setValue(this.getPlotOwner().getUUID().toString()).executeQuery()) {
-
-            if(rs.next()) {
-                for(int i = 1; i <= 3; i++) {
-                    int slot = rs.getInt(i);
-                    if(!rs.wasNull() && slot == getID()) {
-                        DatabaseConnection.closeResultSet(rs);
-                        return Slot.values()[i - 1];
+        return DatabaseConnection.createStatement("SELECT first_slot, second_slot, third_slot FROM plotsystem_builders WHERE uuid = ?")
+                .setValue(this.getPlotOwner().getUUID().toString()).queryOne(rs -> {
+                    for(int i = 1; i <= 3; i++) {
+                        int slot = rs.getInt(i);
+                        if(!rs.wasNull() && slot == getID()) return Slot.values()[i - 1];
                     }
-                }
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-
-            return null;
-        }
+                    return null;
+                });
     }
 
     public Review getReview() throws SQLException {
         if(getStatus() == Status.completed || isRejected()) {
-            try (ResultSet rs = DatabaseConnection.createStatement("SELECT review_id FROM plotsystem_plots WHERE id = ?")
-                    .setValue(this.ID).executeQuery()) {
-
-                if (rs.next()) {
-                    int i = rs.getInt(1);
-                    DatabaseConnection.closeResultSet(rs);
-                    return new Review(i);
-                }
-
-                DatabaseConnection.closeResultSet(rs);
-            }
+            PlotRecord record = getRecord();
+            if (record != null) return new Review(record.getReviewID());
         }
         return null;
     }
@@ -470,6 +497,7 @@ public class Plot extends AbstractPlot {
     public void setPasted(boolean pasted) throws SQLException {
         DatabaseConnection.createStatement("UPDATE plotsystem_plots SET pasted = ? WHERE id = ?")
                 .setValue(pasted).setValue(this.ID).executeUpdate();
+        record = null;
     }
 
     public void addPlotMember(Builder member) throws SQLException {
@@ -477,8 +505,12 @@ public class Plot extends AbstractPlot {
         if (members.size() < 3 && members.stream().noneMatch(m -> m.getUUID().equals(member.getUUID()))) {
             Slot slot = member.getFreeSlot();
             if (slot != null) {
-                members.add(member);
-                setPlotMembers(members);
+                DatabaseConnection.runInTransaction(() -> {
+                    DatabaseConnection.createStatement("INSERT IGNORE INTO plotsystem_plot_members (plot_id, builder_uuid) VALUES (?, ?)")
+                            .setValue(this.ID).setValue(member.getUUID().toString()).executeUpdate();
+                    updateLegacyPlotMembers(this.ID);
+                });
+                plotMembers = null;
 
                 member.setPlot(this.ID, slot);
                 getPermissions().addBuilderPerms(member.getUUID());
@@ -489,14 +521,19 @@ public class Plot extends AbstractPlot {
     public void removePlotMember(Builder member) throws SQLException {
         List<Builder> members = getPlotMembers();
         if (!members.isEmpty() && members.stream().anyMatch(m -> m.getUUID().equals(member.getUUID()))) {
-            members.remove(members.stream().filter(m -> m.getUUID().equals(member.getUUID())).findFirst().orElse(null));
-            setPlotMembers(members);
+            DatabaseConnection.runInTransaction(() -> {
+                DatabaseConnection.createStatement("DELETE FROM plotsystem_plot_members WHERE plot_id = ? AND builder_uuid = ?")
+                        .setValue(this.ID).setValue(member.getUUID().toString()).executeUpdate();
+                updateLegacyPlotMembers(this.ID);
+            });
+            plotMembers = null;
 
             Slot slot = member.getSlot(this);
             if (slot != null) {
                 member.removePlot(slot);
             }
             if (getWorld().isWorldGenerated()) getPermissions().removeBuilderPerms(member.getUUID());
+            PlotUtils.Cache.invalidate(member.getUUID());
         }
     }
 
@@ -512,22 +549,28 @@ public class Plot extends AbstractPlot {
 
 
     public static List<Plot> getPlots() throws SQLException {
-        return listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots").executeQuery());
+        return listPlots(DatabaseConnection.createStatement("SELECT * FROM plotsystem_plots"));
     }
 
     public static List<Plot> getPlots(Status... statuses) throws SQLException {
-        ResultSet rs = DatabaseConnection.createStatement(getStatusQuery("", statuses)).executeQuery();
-        return listPlots(rs);
+        return listPlots(DatabaseConnection.createStatement(getStatusQuery("", statuses)));
     }
 
     public static List<Plot> getPlots(Builder builder) throws SQLException {
-        List<Plot> plots = listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE owner_uuid = '" + builder.getUUID() + "' ORDER BY CAST(status AS CHAR)").executeQuery());
-        plots.addAll(listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE INSTR(member_uuids, '" + builder.getUUID() + "') > 0 ORDER BY CAST(status AS CHAR)").executeQuery()));
+        List<Plot> plots = listPlots(DatabaseConnection.createStatement("SELECT * FROM plotsystem_plots WHERE owner_uuid = ? ORDER BY CAST(status AS CHAR)")
+                .setValue(builder.getUUID().toString()));
+        plots.addAll(listPlots(DatabaseConnection.createStatement("SELECT plots.* FROM plotsystem_plots AS plots " +
+                        "INNER JOIN plotsystem_plot_members AS members ON members.plot_id = plots.id " +
+                        "WHERE members.builder_uuid = ? ORDER BY CAST(plots.status AS CHAR)")
+                .setValue(builder.getUUID().toString())));
         return plots;
     }
 
     public static List<Plot> getPlots(Builder builder, Status... statuses) throws SQLException {
-        List<Plot> plots = listPlots(DatabaseConnection.createStatement(getStatusQuery(" AND owner_uuid = '" + builder.getUUID().toString() + "'", statuses)).executeQuery());
+        DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement("SELECT * FROM plotsystem_plots " +
+                "WHERE status IN (" + getStatusPlaceholders(statuses) + ") AND owner_uuid = ?");
+        for (Status status : statuses) statement.setValue(status.name());
+        List<Plot> plots = listPlots(statement.setValue(builder.getUUID().toString()));
         plots.addAll(getPlotsAsMember(builder, statuses));
         return plots;
     }
@@ -538,17 +581,17 @@ public class Plot extends AbstractPlot {
         return getPlots(cities, status);
     }
 
-    // Temporary fix to receive plots of builder as member
-    private static List<Plot> getPlotsAsMember(Builder builder, Status... status) throws SQLException {
-        List<Plot> plots = new ArrayList<>();
-        for (Status stat : status) {
-            plots.addAll(listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE status = '" + stat.name() + "' AND INSTR(member_uuids, '" + builder.getUUID() + "') > 0 ORDER BY CAST(status AS CHAR)").executeQuery()));
-        }
-        return plots;
+    private static List<Plot> getPlotsAsMember(Builder builder, Status... statuses) throws SQLException {
+        DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement("SELECT plots.* FROM plotsystem_plots AS plots " +
+                "INNER JOIN plotsystem_plot_members AS members ON members.plot_id = plots.id " +
+                "WHERE members.builder_uuid = ? AND plots.status IN (" + getStatusPlaceholders(statuses) + ") ORDER BY CAST(plots.status AS CHAR)");
+        statement.setValue(builder.getUUID().toString());
+        for (Status status : statuses) statement.setValue(status.name());
+        return listPlots(statement);
     }
 
     public static List<Plot> getPlots(int cityID, Status... statuses) throws SQLException {
-        return listPlots(DatabaseConnection.createStatement(getStatusQuery(" AND city_project_id = '" + cityID + "'", statuses)).executeQuery());
+        return listPlots(DatabaseConnection.createStatement(getStatusQuery(" AND city_project_id = '" + cityID + "'", statuses)));
     }
 
     public static List<Plot> getPlots(List<CityProject> cities, Status... statuses) throws SQLException {
@@ -562,19 +605,18 @@ public class Plot extends AbstractPlot {
             query.append((i != cities.size() - 1) ? " OR city_project_id = " : ")");
         }
 
-        return listPlots(DatabaseConnection.createStatement(getStatusQuery(query.toString(), statuses)).executeQuery());
+        return listPlots(DatabaseConnection.createStatement(getStatusQuery(query.toString(), statuses)));
     }
 
     public static List<Plot> getPlots(int cityID, PlotDifficulty plotDifficulty, Status status) throws SQLException {
-        return listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots WHERE city_project_id = ? AND difficulty_id = ? AND status = ?")
+        return listPlots(DatabaseConnection.createStatement("SELECT * FROM plotsystem_plots WHERE city_project_id = ? AND difficulty_id = ? AND status = ?")
                 .setValue(cityID)
                 .setValue(plotDifficulty.ordinal() + 1)
-                .setValue(status.name())
-                .executeQuery());
+                .setValue(status.name()));
     }
 
     private static String getStatusQuery(String additionalQuery, Status... statuses) {
-        StringBuilder query = new StringBuilder("SELECT id FROM plotsystem_plots WHERE status = ");
+        StringBuilder query = new StringBuilder("SELECT * FROM plotsystem_plots WHERE status = ");
 
         for (int i = 0; i < statuses.length; i++) {
             query.append("'").append(statuses[i].name()).append("'").append(additionalQuery);
@@ -583,44 +625,22 @@ public class Plot extends AbstractPlot {
         return query.toString();
     }
 
-    private static List<Plot> listPlots(ResultSet rs) throws SQLException {
-        List<Plot> plots = new ArrayList<>();
-
-        while (rs.next()) {
-            plots.add(new Plot(rs.getInt(1)));
-        }
+    private static String getStatusPlaceholders(Status... statuses) {
+        return String.join(", ", Collections.nCopies(statuses.length, "?"));
+    }
 
-        DatabaseConnection.closeResultSet(rs);
-        return plots;
+    private static List<Plot> listPlots(DatabaseConnection.StatementBuilder statement) throws SQLException {
+        return statement.query(rs -> new Plot(new PlotRecord(rs)));
     }
 
     public static double getMultiplierByDifficulty(PlotDifficulty plotDifficulty) throws SQLException {
-        ResultSet rs = DatabaseConnection.createStatement("SELECT multiplier FROM plotsystem_difficulties WHERE id = ?")
-                .setValue(plotDifficulty.ordinal() + 1).executeQuery();
-
-        if (rs.next()) {
-            double d = rs.getDouble(1);
-            DatabaseConnection.closeResultSet(rs);
-            return d;
-        }
-
-        DatabaseConnection.closeResultSet(rs);
-        return 1;
+        Difficulty difficulty = Difficulty.byDifficulty(plotDifficulty);
+        return difficulty != null ? difficulty.getMultiplier() : 1;
     }
 
     public static int getScoreRequirementByDifficulty(PlotDifficulty plotDifficulty) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT score_requirment FROM plotsystem_difficulties WHERE id = ?")
-                .setValue(plotDifficulty.ordinal() + 1).executeQuery()) {
-
-            if (rs.next()) {
-                int i = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return i;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-            return 0;
-        }
+        Difficulty difficulty = Difficulty.byDifficulty(plotDifficulty);
+        return difficulty != null ? difficulty.getScoreRequirement() : 0;
     }
 
     public static boolean hasPlotDifficultyScoreRequirement(Builder builder, PlotDifficulty plotDifficulty) throws SQLException {
@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot;
+
+import com.alpsbte.plotsystem.utils.enums.Status;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Date;
+
+/**
+ * Immutable snapshot of a single row of the plotsystem_plots table.
+ * Loaded with one query and shared by all getters of a {@link Plot} until the plot changes it.
+ */
+public class PlotRecord {
+    private final int ID;
+    private final int cityProjectID;
+    private final int difficultyID;
+    private final int reviewID;
+    private final String ownerUUID;
+    private final Status status;
+    private final String mcCoordinates;
+    private final int score;
+    private final Date lastActivity;
+    private final String outline;
+    private final String geometry;
+    private final int type;
+    private final double version;
+
+    /**
+     * Reads the current row of the given result set, which has to contain all columns of plotsystem_plots
+     * @param rs result set positioned on a plot row
+     * @throws SQLException SQL database exception
+     */
+    public PlotRecord(ResultSet rs) throws SQLException {
+        this.ID = rs.getInt("id");
+        this.cityProjectID = rs.getInt("city_project_id");
+        this.difficultyID = rs.getInt("difficulty_id");
+        this.reviewID = rs.getInt("review_id");
+        this.ownerUUID = rs.getString("owner_uuid");
+        this.status = Status.valueOf(rs.getString("status"));
+        this.mcCoordinates = rs.getString("mc_coordinates");
+
+        int score = rs.getInt("score");
+        this.score = rs.wasNull() ? -1 : score;
+
+        this.lastActivity = rs.getDate("last_activity");
+        this.outline = rs.getString("outline");
+        this.geometry = rs.getString("geometry");
+        this.type = rs.getInt("type");
+
+        double version = rs.getDouble("version");
+        this.version = rs.wasNull() ? -1 : version;
+    }
+
+    public int getID() {
+        return ID;
+    }
+
+    public int getCityProjectID() {
+        return cityProjectID;
+    }
+
+    public int getDifficultyID() {
+        return difficultyID;
+    }
+
+    /**
+     * @return review id or 0 if the plot has not been reviewed yet
+     */
+    public int getReviewID() {
+        return reviewID;
+    }
+
+    public String getOwnerUUID() {
+        return ownerUUID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMcCoordinates() {
+        return mcCoordinates;
+    }
+
+    /**
+     * @return total score or -1 if the plot has no score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public Date getLastActivity() {
+        return lastActivity;
+    }
+
+    public String getOutline() {
+        return outline;
+    }
+
+    /**
+     * @return packed plot geometry or null if it was not computed yet
+     * @see com.alpsbte.plotsystem.core.system.plot.utils.PlotGeometry#unpack(String)
+     */
+    public String getGeometry() {
+        return geometry;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * @return plot version or -1 if the plot was created before versions were introduced
+     */
+    public double getVersion() {
+        return version;
+    }
+}
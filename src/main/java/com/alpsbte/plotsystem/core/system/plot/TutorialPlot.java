@@ -44,7 +44,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
 import java.nio.file.Paths;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -63,51 +62,24 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
 
     @Override
     public UUID getPlayerUUID() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT player_uuid FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                String uuid = rs.getString(1);
-                DatabaseConnection.closeResultSet(rs);
-                return UUID.fromString(uuid);
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return null;
+        return DatabaseConnection.createStatement("SELECT player_uuid FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> UUID.fromString(rs.getString(1)));
     }
 
     @Override
     public int getTutorialID() throws SQLException {
         if (tutorialId != -1) return tutorialId;
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT tutorial_id FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                int id = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                tutorialId = id;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
+        Integer id = DatabaseConnection.createStatement("SELECT tutorial_id FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getInt(1));
+        if (id != null) tutorialId = id;
         return tutorialId;
     }
 
     @Override
     public int getStageID() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT stage_id FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                int stage = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return stage;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return -1;
+        Integer stage = DatabaseConnection.createStatement("SELECT stage_id FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getInt(1));
+        return stage != null ? stage : -1;
     }
 
     /**
@@ -123,18 +95,9 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
 
     @Override
     public boolean isCompleted() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT is_completed FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                int isCompleted = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-                return isCompleted == 1;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return false;
+        Boolean isCompleted = DatabaseConnection.createStatement("SELECT is_completed FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getInt(1) == 1);
+        return isCompleted != null && isCompleted;
     }
 
     /**
@@ -148,34 +111,14 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
 
     @Override
     public Date getCreationDate() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT create_date FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                Date d = rs.getDate(1);
-                DatabaseConnection.closeResultSet(rs);
-                return d;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return null;
+        return DatabaseConnection.createStatement("SELECT create_date FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getDate(1));
     }
 
     @Override
     public Date getLastStageCompletionDate() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT last_stage_complete_date FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                Date d = rs.getDate(1);
-                DatabaseConnection.closeResultSet(rs);
-                return d;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return null;
+        return DatabaseConnection.createStatement("SELECT last_stage_complete_date FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getDate(1));
     }
 
     /**
@@ -189,18 +132,8 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
 
     @Override
     public Date getCompletionDate() throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT complete_date FROM plotsystem_plots_tutorial WHERE id = ?")
-                .setValue(this.ID).executeQuery()) {
-
-            if (rs.next()) {
-                Date d = rs.getDate(1);
-                DatabaseConnection.closeResultSet(rs);
-                return d;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return null;
+        return DatabaseConnection.createStatement("SELECT complete_date FROM plotsystem_plots_tutorial WHERE id = ?")
+                .setValue(this.ID).queryOne(rs -> rs.getDate(1));
     }
 
     /**
@@ -337,19 +270,9 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
      * @return the tutorial plot
      */
     public static TutorialPlot getPlot(String UUID, int tutorialId) throws SQLException {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots_tutorial WHERE player_uuid = ? AND tutorial_id = ?")
-                .setValue(UUID).setValue(tutorialId).executeQuery()) {
-
-            if (rs.next()){
-                int id = rs.getInt(1);
-                DatabaseConnection.closeResultSet(rs);
-
-                return new TutorialPlot(id);
-            }
-
-            DatabaseConnection.closeResultSet(rs);
-        }
-        return null;
+        Integer id = DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots_tutorial WHERE player_uuid = ? AND tutorial_id = ?")
+                .setValue(UUID).setValue(tutorialId).queryOne(rs -> rs.getInt(1));
+        return id != null ? new TutorialPlot(id) : null;
     }
 
     /**
@@ -358,8 +281,13 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
      * @return list of tutorials
      */
     public static List<TutorialPlot> getPlots(UUID builderUUID) throws SQLException {
-        return listPlots(DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots_tutorial WHERE player_uuid = ?")
-                .setValue(builderUUID.toString()).executeQuery());
+        List<Integer> ids = DatabaseConnection.createStatement("SELECT id FROM plotsystem_plots_tutorial WHERE player_uuid = ?")
+                .setValue(builderUUID.toString()).query(rs -> rs.getInt(1));
+
+        // The plots are created after the connection is released, as each plot loads its tutorial id
+        List<TutorialPlot> plots = new ArrayList<>();
+        for (int id : ids) plots.add(new TutorialPlot(id));
+        return plots;
     }
 
     public static boolean isPlotCompleted(Player player, int tutorialId) throws SQLException {
@@ -367,15 +295,4 @@ public class TutorialPlot extends AbstractPlot implements TutorialDataModel {
         if (plot == null) return false;
         return plot.isCompleted();
     }
-
-    private static List<TutorialPlot> listPlots(ResultSet rs) throws SQLException {
-        List<TutorialPlot> plots = new ArrayList<>();
-
-        while (rs.next()) {
-            plots.add(new TutorialPlot(rs.getInt(1)));
-        }
-
-        DatabaseConnection.closeResultSet(rs);
-        return plots;
-    }
 }
@@ -25,20 +25,23 @@
 package com.alpsbte.plotsystem.core.system.plot.generator;
 
 import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.plot.AbstractPlot;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotType;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
+import com.alpsbte.plotsystem.core.system.plot.utils.SchematicCache;
 import com.alpsbte.plotsystem.core.system.plot.world.CityPlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.OnePlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.enums.Status;
 import com.alpsbte.plotsystem.utils.io.ConfigPaths;
 import com.alpsbte.plotsystem.utils.io.ConfigUtil;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
-import com.fastasyncworldedit.core.FaweAPI;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.WorldEditException;
@@ -47,9 +50,13 @@ import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.function.mask.BlockTypeMask;
 import com.sk89q.worldedit.function.mask.Mask;
+import com.sk89q.worldedit.function.mask.MaskIntersection;
+import com.sk89q.worldedit.function.mask.MaskUnion;
+import com.sk89q.worldedit.function.mask.Masks;
 import com.sk89q.worldedit.function.mask.RegionMask;
 import com.sk89q.worldedit.function.operation.Operation;
 import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.Vector2;
 import com.sk89q.worldedit.regions.CylinderRegion;
@@ -75,18 +82,32 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+/**
+ * Generates a plot as a pipeline of timed stages: resolve files, load clipboards, ensure world, clear and paste
+ * and protect. Only the world stage and the completion run on the main thread, all other
+ * stages run asynchronously if {@link #isAsync()} is enabled. Otherwise, all stages run on the calling thread.
+ */
 public abstract class AbstractPlotGenerator {
+    private static final long SLOW_MAIN_THREAD_STAGE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
     protected final AbstractPlot plot;
     private final Builder builder;
     protected final PlotWorld world;
     protected final double plotVersion;
     protected final PlotType plotType;
 
+    private final Map<String, Long> stageTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final CompletableFuture<AbstractPlot> future;
+    private File plotSchematic;
+    private File environmentSchematic;
+
     /**
      * Generates a new plot in the plot world
      * @param plot - plot which should be generated
@@ -119,31 +140,152 @@ public abstract class AbstractPlotGenerator {
         this.plotVersion = plot.getVersion();
         this.plotType = plotType;
 
-        if (init()) {
-            Exception exception = null;
-            try {
-                if (plotType.hasOnePlotPerWorld() || !world.isWorldGenerated()) {
-                    new PlotWorldGenerator(world.getWorldName());
-                } else if (!world.isWorldLoaded() && !world.loadWorld()) throw new Exception("Could not load world");
-                generateOutlines(plot.getOutlinesSchematic(), plot.getVersion() >= 3 ? plot.getEnvironmentSchematic() : null);
-                createPlotProtection();
-            } catch (Exception ex) {
-                exception = ex;
-            }
+        this.future = init() ? generate() : CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<AbstractPlot> generate() {
+        // Keep the world loaded while the plot is generated
+        PlotWorldManager.acquire(world.getWorldName());
+
+        CompletableFuture<Void> pipeline = CompletableFuture.completedFuture(null);
+        pipeline = stage(pipeline, "resolve files", false, () -> {
+            plotSchematic = plot.getOutlinesSchematic();
+            environmentSchematic = plotVersion >= 3 ? plot.getEnvironmentSchematic() : null;
+        });
+        pipeline = stage(pipeline, "load clipboards", false, () -> {
+            // Decode schematics and load the plot geometry before the world is touched
+            if (plotSchematic != null) SchematicCache.release(SchematicCache.getClipboard(plotSchematic));
+            if (environmentSchematic != null && environmentSchematic.exists()) SchematicCache.release(SchematicCache.getClipboard(environmentSchematic));
+            plot.getOutline();
+            plot.getGeometry();
+        });
+        pipeline = stage(pipeline, "ensure world", true, () -> {
+            if (plotType.hasOnePlotPerWorld() || !world.isWorldGenerated()) {
+                new PlotWorldGenerator(world.getWorldName());
+            } else if (!world.isWorldLoaded() && !world.loadWorld()) throw new Exception("Could not load world");
+        });
+        pipeline = stage(pipeline, "paste", false, () -> generateOutlines(plotSchematic, environmentSchematic));
+        pipeline = stage(pipeline, "protect", false, this::createPlotProtection);
+
+        return pipeline.handle((result, ex) -> ex)
+                .thenApplyAsync(this::complete, getExecutor(true))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) Bukkit.getLogger().log(Level.WARNING, "Generation of plot " + plot.getID() + " did not complete!", ex);
+                });
+    }
+
+    /**
+     * Runs the completion callbacks and abandons the plot if a stage has failed while it was being claimed
+     * @param stageException exception of the failed stage or null
+     * @return generated plot
+     */
+    private AbstractPlot complete(Throwable stageException) {
+        Throwable exception = stageException instanceof CompletionException && stageException.getCause() != null
+                ? stageException.getCause() : stageException;
+        long start = System.nanoTime();
+        try {
+            this.onComplete(exception != null, false);
+        } catch (Exception ex) {
+            exception = ex;
+        } finally {
+            PlotWorldManager.release(world.getWorldName());
+        }
+        stageTimings.put("complete", System.nanoTime() - start);
+        logSlowStages();
 
+        if (exception != null) {
+            // Regenerating a claimed or completed plot must never reset it
             try {
-                this.onComplete(exception != null, false);
+                if (abandonOnFailure() && plot.getStatus() == Status.unclaimed) PlotUtils.Actions.abandonPlot(plot);
             } catch (SQLException ex) {
-                exception = ex;
+                Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
             }
+            onException(exception);
+            throw new CompletionException(exception);
+        }
+        return plot;
+    }
 
-            if (exception != null) {
-                PlotUtils.Actions.abandonPlot(plot);
-                onException(exception);
+    private CompletableFuture<Void> stage(CompletableFuture<Void> previous, String name, boolean mainThread, Stage stage) {
+        return previous.thenRunAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                stage.run();
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            } finally {
+                stageTimings.put(name, System.nanoTime() - start);
             }
+        }, getExecutor(mainThread));
+    }
+
+    private Executor getExecutor(boolean mainThread) {
+        if (!isAsync()) return Runnable::run;
+        return mainThread ? DatabaseConnection.mainThread() : task -> Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), task);
+    }
+
+    private void logSlowStages() {
+        if (!isAsync()) return;
+        Long ensureWorld = stageTimings.get("ensure world");
+        Long complete = stageTimings.get("complete");
+        if ((ensureWorld != null && ensureWorld > SLOW_MAIN_THREAD_STAGE_NANOS) || (complete != null && complete > SLOW_MAIN_THREAD_STAGE_NANOS)) {
+            Bukkit.getLogger().log(Level.INFO, "Slow main thread stages while generating plot " + plot.getID() + ": " + formatStageTimings());
         }
     }
 
+    /**
+     * @return true if the generation stages should run asynchronously, false to run all stages on the calling thread
+     */
+    protected boolean isAsync() {
+        return false;
+    }
+
+    /**
+     * @return true if the plot should be abandoned when the generation fails, false if the generation only copies the plot
+     */
+    protected boolean abandonOnFailure() {
+        return true;
+    }
+
+    /**
+     * Records the duration of a stage
+     * @param name stage name
+     * @param startNanos start time from {@link System#nanoTime()}
+     */
+    protected void recordStage(String name, long startNanos) {
+        stageTimings.put(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return durations of all finished stages in nanoseconds, in execution order
+     */
+    public Map<String, Long> getStageTimings() {
+        synchronized (stageTimings) {
+            return new LinkedHashMap<>(stageTimings);
+        }
+    }
+
+    private String formatStageTimings() {
+        StringBuilder timings = new StringBuilder();
+        for (Map.Entry<String, Long> stage : getStageTimings().entrySet()) {
+            if (timings.length() > 0) timings.append(", ");
+            timings.append(stage.getKey()).append(" ").append(TimeUnit.NANOSECONDS.toMillis(stage.getValue())).append("ms");
+        }
+        return timings.toString();
+    }
+
+    /**
+     * @return future which completes with the plot once it is generated, or with null if the generation was not started
+     */
+    public CompletableFuture<AbstractPlot> getFuture() {
+        return future;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
 
     /**
      * Executed before plot generation
@@ -158,11 +300,11 @@ public abstract class AbstractPlotGenerator {
      * @param environmentSchematic - environment schematic file
      */
     protected void generateOutlines(@NotNull File plotSchematic, @Nullable File environmentSchematic) throws IOException, WorldEditException, SQLException {
-        Mask airMask = new BlockTypeMask(BukkitAdapter.adapt(world.getBukkitWorld()), BlockTypes.AIR);
-        if(plotVersion >= 3 && plotType.hasEnvironment() && environmentSchematic != null && environmentSchematic.exists()){
-            pasteSchematic(airMask, environmentSchematic, world, false);
-        }
-        pasteSchematic(airMask, plotSchematic, world, true);
+        boolean pasteEnvironment = plotVersion >= 3 && plotType.hasEnvironment() && environmentSchematic != null && environmentSchematic.exists();
+
+        long start = System.nanoTime();
+        pasteOutlines(plotSchematic, pasteEnvironment ? environmentSchematic : null, world);
+        recordStage("clear and paste", start);
     }
 
 
@@ -250,7 +392,7 @@ public abstract class AbstractPlotGenerator {
      */
     protected void onComplete(boolean failed, boolean unloadWorld) throws SQLException {
         // Unload plot world if it is not needed anymore
-        if (unloadWorld) world.unloadWorld(false);
+        if (unloadWorld) PlotWorldManager.unloadWhenIdle(world);
     }
 
 
@@ -260,6 +402,7 @@ public abstract class AbstractPlotGenerator {
      */
     protected void onException(Throwable ex) {
         Bukkit.getLogger().log(Level.SEVERE, "An error occurred while generating plot!", ex);
+        if (!builder.isOnline()) return;
         builder.getPlayer().sendMessage(Utils.ChatUtils.getAlertFormat(LangUtil.getInstance().get(builder.getPlayer(), LangPaths.Message.Error.ERROR_OCCURRED)));
         builder.getPlayer().playSound(builder.getPlayer().getLocation(), Utils.SoundUtils.ERROR_SOUND,1,1);
     }
@@ -282,6 +425,97 @@ public abstract class AbstractPlotGenerator {
 
 
 
+    /**
+     * Clears the plot area and pastes the plot outlines and the environment with a single edit session.
+     * <p>
+     * The plot area is only cleared within the height range of the pasted schematics. The outlines are pasted inside
+     * the plot and on air, the environment only outside the plot and on air. This gives the same result as pasting
+     * the environment, clearing the plot and pasting the outlines one after another.
+     * @param plotSchematic - plot outlines schematic file
+     * @param environmentSchematic - environment schematic file, can be null
+     * @param world - world to paste in
+     */
+    public static void pasteOutlines(File plotSchematic, @Nullable File environmentSchematic, PlotWorld world) throws IOException, WorldEditException, SQLException {
+        if (!world.loadWorld()) return;
+
+        Clipboard outlines = SchematicCache.getClipboard(plotSchematic);
+        if (outlines == null) throw new IOException("Could not load schematic " + plotSchematic.getName());
+        Clipboard environment = null;
+        try {
+            if (environmentSchematic != null) environment = SchematicCache.getClipboard(environmentSchematic);
+            pasteOutlines(outlines, environment, world);
+        } finally {
+            SchematicCache.release(outlines);
+            SchematicCache.release(environment);
+        }
+    }
+
+    private static void pasteOutlines(Clipboard outlines, @Nullable Clipboard environment, PlotWorld world) throws IOException, WorldEditException, SQLException {
+        BlockVector3 plotCenter = world.getPlot().getCenter();
+        BlockVector3 pastePoint = BlockVector3.at(plotCenter.getBlockX(), world.getPlotHeight(), plotCenter.getBlockZ());
+
+        // Only clear the height range the schematics are pasted in
+        int minY = getPasteMinY(outlines, pastePoint);
+        int maxY = getPasteMaxY(outlines, pastePoint);
+        if (environment != null) {
+            minY = Math.min(minY, getPasteMinY(environment, pastePoint));
+            maxY = Math.max(maxY, getPasteMaxY(environment, pastePoint));
+        }
+        minY = Math.max(minY, 0);
+        maxY = Math.min(maxY, PlotWorld.MAX_WORLD_HEIGHT);
+
+        World weWorld = BukkitAdapter.adapt(world.getBukkitWorld());
+        List<BlockVector2> outline = world.getPlot().getOutline();
+        Mask insidePlot = new RegionMask(new Polygonal2DRegion(weWorld, outline, 0, PlotWorld.MAX_WORLD_HEIGHT));
+        Mask air = new BlockTypeMask(weWorld, BlockTypes.AIR);
+
+        try (EditSession editSession = WorldEdit.getInstance().newEditSession(weWorld)) {
+            if (minY <= maxY) {
+                editSession.setBlocks(new Polygonal2DRegion(weWorld, outline, minY, maxY), Objects.requireNonNull(BlockTypes.AIR).getDefaultState());
+            }
+
+            // Masks test the world before this session, the plot area counts as air because it has been cleared above
+            editSession.setMask(new MaskUnion(insidePlot, air));
+            Operations.complete(new ClipboardHolder(outlines)
+                    .createPaste(editSession)
+                    .to(pastePoint)
+                    .ignoreAirBlocks(true)
+                    .build());
+
+            if (environment != null) {
+                editSession.setMask(new MaskIntersection(air, Masks.negate(insidePlot)));
+                Operations.complete(new ClipboardHolder(environment)
+                        .createPaste(editSession)
+                        .to(pastePoint)
+                        .ignoreAirBlocks(true)
+                        .build());
+            }
+        }
+    }
+
+    private static int getPasteMinY(Clipboard clipboard, BlockVector3 pastePoint) {
+        return pastePoint.getBlockY() + clipboard.getMinimumPoint().getBlockY() - clipboard.getOrigin().getBlockY();
+    }
+
+    private static int getPasteMaxY(Clipboard clipboard, BlockVector3 pastePoint) {
+        return pastePoint.getBlockY() + clipboard.getMaximumPoint().getBlockY() - clipboard.getOrigin().getBlockY();
+    }
+
+    /**
+     * Replaces all blocks inside the plot outline with air
+     * @param world - world of the plot
+     */
+    public static void clearPlotArea(PlotWorld world) throws IOException, WorldEditException, SQLException {
+        if (world.loadWorld()) {
+            World weWorld = new BukkitWorld(world.getBukkitWorld());
+            try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world.getBukkitWorld()))) {
+                Polygonal2DRegion polyRegion = new Polygonal2DRegion(weWorld, world.getPlot().getOutline(), 0, PlotWorld.MAX_WORLD_HEIGHT);
+                editSession.setMask(new RegionMask(polyRegion));
+                editSession.setBlocks(polyRegion, Objects.requireNonNull(BlockTypes.AIR).getDefaultState());
+            }
+        }
+    }
+
     /**
      * Pastes the schematic to the plot center in the given world
      * @param pasteMask - sets a mask for the paste operation, can be null
@@ -291,22 +525,19 @@ public abstract class AbstractPlotGenerator {
      */
     public static void pasteSchematic(@Nullable Mask pasteMask, File schematicFile, PlotWorld world, boolean clearArea) throws IOException, WorldEditException, SQLException {
         if (world.loadWorld()) {
-            World weWorld = new BukkitWorld(world.getBukkitWorld());
-            try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world.getBukkitWorld()))) {
-                if (clearArea) {
-                    Polygonal2DRegion polyRegion = new Polygonal2DRegion(weWorld, world.getPlot().getOutline(), 0, PlotWorld.MAX_WORLD_HEIGHT);
-                    editSession.setMask(new RegionMask(polyRegion));
-                    editSession.setBlocks(polyRegion, Objects.requireNonNull(BlockTypes.AIR).getDefaultState());
-                }
-            }
+            if (clearArea) clearPlotArea(world);
             try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world.getBukkitWorld()))) {
                 if(pasteMask != null) editSession.setMask(pasteMask);
-                Clipboard clipboard = FaweAPI.load(schematicFile);
-                Operation clipboardHolder = new ClipboardHolder(clipboard)
-                        .createPaste(editSession)
-                        .to(BlockVector3.at(world.getPlot().getCenter().getBlockX(), world.getPlotHeight(), world.getPlot().getCenter().getBlockZ()))
-                        .build();
-                Operations.complete(clipboardHolder);
+                Clipboard clipboard = SchematicCache.getClipboard(schematicFile);
+                try {
+                    Operation clipboardHolder = new ClipboardHolder(clipboard)
+                            .createPaste(editSession)
+                            .to(BlockVector3.at(world.getPlot().getCenter().getBlockX(), world.getPlotHeight(), world.getPlot().getCenter().getBlockZ()))
+                            .build();
+                    Operations.complete(clipboardHolder);
+                } finally {
+                    SchematicCache.release(clipboard);
+                }
             }
         }
     }
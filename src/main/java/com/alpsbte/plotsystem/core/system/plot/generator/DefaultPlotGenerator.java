@@ -24,6 +24,7 @@
 
 package com.alpsbte.plotsystem.core.system.plot.generator;
 
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.plot.AbstractPlot;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
@@ -31,7 +32,6 @@ import com.alpsbte.plotsystem.core.system.plot.utils.PlotType;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
 import com.alpsbte.plotsystem.utils.Utils;
-import com.alpsbte.plotsystem.utils.enums.PlotDifficulty;
 import com.alpsbte.plotsystem.utils.enums.Status;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
@@ -46,16 +46,14 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class DefaultPlotGenerator extends AbstractPlotGenerator {
     public final static Map<UUID, LocalDateTime> playerPlotGenerationHistory = new HashMap<>();
-
-    public DefaultPlotGenerator(int cityID, PlotDifficulty plotDifficulty, Builder builder) throws SQLException {
-        this(Plot.getPlots(cityID, plotDifficulty, Status.unclaimed).get(new Random().nextInt(Plot.getPlots(cityID, plotDifficulty, Status.unclaimed).size())), builder);
-    }
+    private final static Set<Integer> claimingPlots = ConcurrentHashMap.newKeySet();
 
     public DefaultPlotGenerator(@NotNull AbstractPlot plot, @NotNull Builder builder) throws SQLException {
         super(plot, builder);
@@ -79,6 +77,13 @@ public class DefaultPlotGenerator extends AbstractPlotGenerator {
                     }
                 }
 
+                // Generation runs asynchronously, make sure the same plot is not claimed twice in the meantime
+                if (plot.getStatus() == Status.unclaimed && !claimingPlots.add(plot.getID())) {
+                    getBuilder().getPlayer().sendMessage(Utils.ChatUtils.getAlertFormat(LangUtil.getInstance().get(getBuilder().getPlayer(), LangPaths.Message.Error.PLEASE_WAIT)));
+                    getBuilder().getPlayer().playSound(getBuilder().getPlayer().getLocation(), Utils.SoundUtils.ERROR_SOUND, 1, 1);
+                    return false;
+                }
+
                 DefaultPlotGenerator.playerPlotGenerationHistory.put(getBuilder().getUUID(), LocalDateTime.now());
                 getBuilder().getPlayer().sendMessage(Utils.ChatUtils.getInfoFormat(LangUtil.getInstance().get(getBuilder().getPlayer(), LangPaths.Message.Info.CREATING_PLOT)));
                 getBuilder().getPlayer().playSound(getBuilder().getPlayer().getLocation(), Utils.SoundUtils.CREATE_PLOT_SOUND, 1, 1);
@@ -106,6 +111,17 @@ public class DefaultPlotGenerator extends AbstractPlotGenerator {
                     return true;
                 }
 
+                @Override
+                protected boolean isAsync() {
+                    return true;
+                }
+
+                @Override
+                protected boolean abandonOnFailure() {
+                    // The copy completes independently of the claim, a failure must not abandon the claimed plot
+                    return false;
+                }
+
                 @Override
                 protected void createPlotProtection() {}
 
@@ -122,18 +138,61 @@ public class DefaultPlotGenerator extends AbstractPlotGenerator {
         }
     }
 
+    @Override
+    protected boolean isAsync() {
+        return true;
+    }
+
+    /**
+     * @param plotID plot id
+     * @return true if the plot is currently being claimed by a player
+     */
+    public static boolean isClaiming(int plotID) {
+        return claimingPlots.contains(plotID);
+    }
+
+    /**
+     * Keeps players from claiming the plot, e.g. while it is regenerated
+     * @param plotID plot id
+     * @return false if the plot is already being claimed or reserved
+     */
+    public static boolean reserve(int plotID) {
+        return claimingPlots.add(plotID);
+    }
+
+    /**
+     * Releases a plot which has been reserved with {@link #reserve(int)}
+     * @param plotID plot id
+     */
+    public static void release(int plotID) {
+        claimingPlots.remove(plotID);
+    }
+
     @Override
     protected void onComplete(boolean failed, boolean unloadWorld) throws SQLException {
-        super.onComplete(failed, false);
+        try {
+            super.onComplete(failed, false);
+
+            if (!failed) {
+                // The builder may have left while the plot was generated, the plot is abandoned again in that case
+                if (!getBuilder().isOnline())
+                    throw new IllegalStateException("Builder " + getBuilder().getUUID() + " left while plot " + plot.getID() + " was generated");
+
+                DatabaseConnection.runInTransaction(() -> {
+                    getBuilder().setPlot(plot.getID(), getBuilder().getFreeSlot());
+                    plot.setStatus(Status.unfinished);
+                    ((Plot) plot).setPlotType(plotType);
+                    ((Plot) plot).setPlotOwner(getBuilder().getUUID().toString());
+                });
+            }
+        } finally {
+            claimingPlots.remove(plot.getID());
+        }
 
         if (!failed) {
-            getBuilder().setPlot(plot.getID(), getBuilder().getFreeSlot());
-            plot.setStatus(Status.unfinished);
-            ((Plot) plot).setPlotType(plotType);
-            ((Plot) plot).setPlotOwner(getBuilder().getPlayer().getUniqueId().toString());
-            PlotUtils.Cache.clearCache(getBuilder().getUUID());
+            PlotUtils.Cache.invalidate(getBuilder().getUUID());
 
-            plot.getWorld().teleportPlayer(getBuilder().getPlayer());
+            if (getBuilder().isOnline()) plot.getWorld().teleportPlayer(getBuilder().getPlayer());
             LangUtil.getInstance().broadcast(LangPaths.Message.Info.CREATED_NEW_PLOT, plot.getPlotOwner().getName());
         }
     }
@@ -25,6 +25,8 @@
 package com.alpsbte.plotsystem.core.system.plot.generator;
 
 import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldPool;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
@@ -62,12 +64,24 @@ public class PlotWorldGenerator {
     }
 
     protected void generateWorld() {
-        worldCreator = new WorldCreator(worldName);
+        // Use a pre-generated world for plots in their own world, so the world only has to be loaded
+        if (PlotWorld.isOnePlotWorld(worldName)) PlotWorldPool.claim(worldName);
+
+        worldCreator = createWorldCreator(worldName);
+        worldCreator.createWorld();
+    }
+
+    /**
+     * @param worldName - name of the world
+     * @return world creator for an empty plot world
+     */
+    public static WorldCreator createWorldCreator(String worldName) {
+        WorldCreator worldCreator = new WorldCreator(worldName);
         worldCreator.environment(environment);
         worldCreator.type(worldType);
         worldCreator.generator(new EmptyChunkGenerator());
         worldCreator.generatorSettings(generatorSettings);
-        worldCreator.createWorld();
+        return worldCreator;
     }
 
     protected void createMultiverseWorld() throws Exception {
@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.sk89q.worldedit.math.BlockVector2;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable plot outline polygon, stored in packed primitive arrays.
+ * <p>
+ * The vertices are stored as {@code x0, z0, x1, z1, ...}. The edges of the polygon, including the closing edge, are rasterized
+ * with Bresenham's line algorithm into sorted and distinct block cells, each packed into a long with {@link #pack(int, int)}.
+ */
+public final class Outline {
+    private final int[] vertices;
+    private final long[] cells;
+    private final int minX, minZ, maxX, maxZ;
+
+    private Outline(int[] vertices) {
+        this.vertices = vertices;
+
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < vertices.length; i += 2) {
+            minX = Math.min(minX, vertices[i]);
+            maxX = Math.max(maxX, vertices[i]);
+            minZ = Math.min(minZ, vertices[i + 1]);
+            maxZ = Math.max(maxZ, vertices[i + 1]);
+        }
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+        this.cells = rasterize(vertices);
+    }
+
+    /**
+     * @param points polygon vertices in order, the polygon is closed automatically
+     * @return outline of the polygon
+     */
+    public static Outline of(@NotNull List<BlockVector2> points) {
+        if (points.isEmpty()) throw new IllegalArgumentException("An outline needs at least one point");
+
+        int[] vertices = new int[points.size() * 2];
+        for (int i = 0; i < points.size(); i++) {
+            vertices[i * 2] = points.get(i).getBlockX();
+            vertices[i * 2 + 1] = points.get(i).getBlockZ();
+        }
+        return new Outline(vertices);
+    }
+
+    private static long[] rasterize(int[] vertices) {
+        int vertexCount = vertices.length / 2;
+
+        // Each edge has at most max(|dx|, |dz|) + 1 cells
+        int capacity = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            int j = (i + 1) % vertexCount;
+            capacity += Math.max(Math.abs(vertices[j * 2] - vertices[i * 2]), Math.abs(vertices[j * 2 + 1] - vertices[i * 2 + 1])) + 1;
+        }
+
+        long[] cells = new long[capacity];
+        int size = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            int j = (i + 1) % vertexCount;
+            int x = vertices[i * 2], z = vertices[i * 2 + 1];
+            int x1 = vertices[j * 2], z1 = vertices[j * 2 + 1];
+
+            int dx = Math.abs(x1 - x), dz = -Math.abs(z1 - z);
+            int stepX = x < x1 ? 1 : -1, stepZ = z < z1 ? 1 : -1;
+            int error = dx + dz;
+            while (true) {
+                cells[size++] = pack(x, z);
+                if (x == x1 && z == z1) break;
+                int error2 = 2 * error;
+                if (error2 >= dz) {
+                    error += dz;
+                    x += stepX;
+                }
+                if (error2 <= dx) {
+                    error += dx;
+                    z += stepZ;
+                }
+            }
+        }
+
+        // Sort and remove the duplicates, e.g. the corners which are shared by two edges
+        Arrays.sort(cells, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || cells[i] != cells[distinct - 1]) cells[distinct++] = cells[i];
+        }
+        return Arrays.copyOf(cells, distinct);
+    }
+
+    /**
+     * Checks if the block is inside the polygon or on its outline
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return true if the block is inside or on the outline
+     */
+    public boolean contains(int x, int z) {
+        if (!boundingBoxContains(x, z)) return false;
+        if (isOnOutline(x, z)) return true;
+
+        // Even-odd rule with a ray from the block center in positive x direction
+        double px = x + 0.5, pz = z + 0.5;
+        boolean inside = false;
+        for (int i = 0, j = vertices.length - 2; i < vertices.length; j = i, i += 2) {
+            int xi = vertices[i], zi = vertices[i + 1];
+            int xj = vertices[j], zj = vertices[j + 1];
+            if ((zi > pz) != (zj > pz) && px < (double) (xj - xi) * (pz - zi) / (zj - zi) + xi) inside = !inside;
+        }
+        return inside;
+    }
+
+    /**
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return true if the block is one of the rasterized outline cells
+     */
+    public boolean isOnOutline(int x, int z) {
+        return Arrays.binarySearch(cells, pack(x, z)) >= 0;
+    }
+
+    /**
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return true if the block is inside the bounding box of the polygon
+     */
+    public boolean boundingBoxContains(int x, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * @param minX minimum block x coordinate
+     * @param minZ minimum block z coordinate
+     * @param maxX maximum block x coordinate
+     * @param maxZ maximum block z coordinate
+     * @return true if the bounding box of the polygon intersects the given box
+     */
+    public boolean boundingBoxIntersects(int minX, int minZ, int maxX, int maxZ) {
+        return minX <= this.maxX && maxX >= this.minX && minZ <= this.maxZ && maxZ >= this.minZ;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    public int getVertexCount() {
+        return vertices.length / 2;
+    }
+
+    public int getVertexX(int index) {
+        return vertices[index * 2];
+    }
+
+    public int getVertexZ(int index) {
+        return vertices[index * 2 + 1];
+    }
+
+    /**
+     * @return number of rasterized outline cells
+     */
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    /**
+     * @param index cell index
+     * @return packed cell, see {@link #unpackX(long)} and {@link #unpackZ(long)}
+     */
+    public long getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * @return polygon vertices
+     */
+    public List<BlockVector2> getVertices() {
+        List<BlockVector2> points = new ArrayList<>(getVertexCount());
+        for (int i = 0; i < vertices.length; i += 2) points.add(BlockVector2.at(vertices[i], vertices[i + 1]));
+        return points;
+    }
+
+    /**
+     * @return rasterized outline with one point per block
+     */
+    public List<BlockVector2> getBlocks() {
+        List<BlockVector2> points = new ArrayList<>(cells.length);
+        for (long cell : cells) points.add(BlockVector2.at(unpackX(cell), unpackZ(cell)));
+        return points;
+    }
+
+    /**
+     * Packs block coordinates into a long, sorting packed cells orders them by x and then by z
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @return packed cell
+     */
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    public static int unpackZ(long cell) {
+        return (int) cell;
+    }
+}
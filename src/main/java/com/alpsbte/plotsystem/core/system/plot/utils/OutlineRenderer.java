@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.github.fierioziy.particlenativeapi.api.Particles_1_8;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows the outlines of the in-progress plots of a builder with particles.
+ * <p>
+ * The outline points of all plots of a builder are bucketed by chunk into packed arrays per world. The arrays are only
+ * rebuilt if the cached plots of the builder change, so rendering does not query the database. Rendering only visits the
+ * chunks within {@link #RADIUS} blocks of the player and does not allocate apart from the particles themselves.
+ * Rendering is expected to run on a single thread.
+ */
+public final class OutlineRenderer {
+    public static final int RADIUS = 50;
+    private static final int RADIUS_SQUARED = RADIUS * RADIUS;
+
+    private static final Map<UUID, BuilderOutlines> outlines = new ConcurrentHashMap<>();
+    private static final Location playerLocation = new Location(null, 0, 0, 0);
+
+    private OutlineRenderer() {}
+
+    /**
+     * Shows the outlines of the plots near the player
+     * @param player player to show the outlines to
+     * @param plots in-progress plots of the player
+     * @param particles particles of the ParticleNativeAPI or null to use the Bukkit API
+     */
+    public static void render(Player player, List<Plot> plots, @Nullable Particles_1_8 particles) throws SQLException, IOException {
+        BuilderOutlines builderOutlines = outlines.get(player.getUniqueId());
+        if (builderOutlines == null || builderOutlines.plots != plots) {
+            builderOutlines = new BuilderOutlines(plots);
+            outlines.put(player.getUniqueId(), builderOutlines);
+        }
+
+        OutlineGrid grid = builderOutlines.grids.get(player.getWorld().getName());
+        if (grid == null) return;
+
+        player.getLocation(playerLocation);
+        int playerX = playerLocation.getBlockX();
+        int playerZ = playerLocation.getBlockZ();
+        double y = playerLocation.getY() + 1;
+
+        for (int chunkX = (playerX - RADIUS) >> 4; chunkX <= (playerX + RADIUS) >> 4; chunkX++) {
+            for (int chunkZ = (playerZ - RADIUS) >> 4; chunkZ <= (playerZ + RADIUS) >> 4; chunkZ++) {
+                int cell = Arrays.binarySearch(grid.cells, getCellKey(chunkX, chunkZ));
+                if (cell < 0) continue;
+
+                for (int i = grid.cellStart[cell]; i < grid.cellStart[cell + 1]; i++) {
+                    int dx = grid.xs[i] - playerX;
+                    int dz = grid.zs[i] - playerZ;
+                    if (dx * dx + dz * dz >= RADIUS_SQUARED) continue;
+
+                    if (particles == null) {
+                        player.spawnParticle(Particle.FLAME, grid.xs[i], y, grid.zs[i], 1, 0.0, 0.0, 0.0, 0);
+                    } else particles.sendPacket(player, particles.FLAME().packet(true, grid.xs[i], y, grid.zs[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the outlines of the builder, they are rebuilt on the next render
+     * @param builderUUID uuid of the builder
+     */
+    public static void invalidate(UUID builderUUID) {
+        outlines.remove(builderUUID);
+    }
+
+    /**
+     * Removes the outlines of all builders
+     */
+    public static void clear() {
+        outlines.clear();
+    }
+
+    private static long getCellKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 28) | (chunkZ & 0xFFFFFFF);
+    }
+
+    /**
+     * Outlines of all plots of a builder which show outlines, per world name
+     */
+    private static class BuilderOutlines {
+        private final List<Plot> plots;
+        private final Map<String, OutlineGrid> grids = new HashMap<>();
+
+        private BuilderOutlines(List<Plot> plots) throws SQLException, IOException {
+            this.plots = plots;
+
+            Map<String, List<Outline>> worldOutlines = new HashMap<>();
+            for (Plot plot : plots) {
+                if (plot.getVersion() <= 2 || !plot.getPlotOwner().getPlotTypeSetting().hasEnvironment()) continue;
+                worldOutlines.computeIfAbsent(plot.getWorld().getWorldName(), world -> new ArrayList<>()).add(plot.getPackedOutline());
+            }
+            for (Map.Entry<String, List<Outline>> world : worldOutlines.entrySet()) {
+                grids.put(world.getKey(), new OutlineGrid(world.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Outline points sorted by chunk, the points of cell {@code i} are stored from {@code cellStart[i]} to {@code cellStart[i + 1]}
+     */
+    private static class OutlineGrid {
+        private final long[] cells;
+        private final int[] cellStart;
+        private final int[] xs;
+        private final int[] zs;
+
+        private OutlineGrid(List<Outline> outlines) {
+            int count = 0;
+            for (Outline outline : outlines) count += outline.getCellCount();
+
+            // Sort the points by chunk and remove duplicates, e.g. the outline blocks which are shared by two plots
+            long[] keys = new long[count];
+            int index = 0;
+            for (Outline outline : outlines) {
+                for (int i = 0; i < outline.getCellCount(); i++) {
+                    long cell = outline.getCell(i);
+                    keys[index++] = getPointKey(Outline.unpackX(cell), Outline.unpackZ(cell));
+                }
+            }
+            Arrays.sort(keys);
+
+            int size = 0, cellCount = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0 && keys[i] == keys[i - 1]) continue;
+                if (size == 0 || (keys[i] >> 8) != (keys[size - 1] >> 8)) cellCount++;
+                keys[size++] = keys[i];
+            }
+
+            cells = new long[cellCount];
+            cellStart = new int[cellCount + 1];
+            xs = new int[size];
+            zs = new int[size];
+
+            int cell = -1;
+            for (int i = 0; i < size; i++) {
+                int chunkX = (int) (keys[i] >> 36);
+                int chunkZ = (int) ((keys[i] << 28) >> 36);
+                if (i == 0 || (keys[i] >> 8) != (keys[i - 1] >> 8)) {
+                    cells[++cell] = keys[i] >> 8;
+                    cellStart[cell] = i;
+                }
+                xs[i] = (chunkX << 4) | (int) ((keys[i] >> 4) & 15);
+                zs[i] = (chunkZ << 4) | (int) (keys[i] & 15);
+            }
+            cellStart[cellCount] = size;
+        }
+
+        /**
+         * Packs a point, so sorting the keys groups the points by chunk: 28 bits chunk x, 28 bits chunk z, 4 bits x and 4 bits z in the chunk.
+         * Shifting the key right by 8 bits gives the cell key of the chunk.
+         */
+        private static long getPointKey(int x, int z) {
+            return (getCellKey(x >> 4, z >> 4) << 8) | ((x & 15) << 4) | (z & 15);
+        }
+    }
+}
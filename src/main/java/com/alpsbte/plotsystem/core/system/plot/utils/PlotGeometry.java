@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Geometry of a plot derived from its outlines schematic (origin, bounding region and center).
+ * <p>
+ * It is computed once and stored packed in the geometry column of plotsystem_plots,
+ * so the plot position can be calculated without loading the schematic again.
+ */
+public final class PlotGeometry {
+    private static final int PACKED_VALUES = 12;
+
+    private final BlockVector3 origin;
+    private final BlockVector3 minimumPoint;
+    private final BlockVector3 maximumPoint;
+    private final Vector3 center;
+
+    public PlotGeometry(BlockVector3 origin, BlockVector3 minimumPoint, BlockVector3 maximumPoint, Vector3 center) {
+        this.origin = origin;
+        this.minimumPoint = minimumPoint;
+        this.maximumPoint = maximumPoint;
+        this.center = center;
+    }
+
+    public static PlotGeometry of(@NotNull SchematicCache.Metadata schematic) {
+        return new PlotGeometry(schematic.getOrigin(), schematic.getMinimumPoint(), schematic.getMaximumPoint(), schematic.getCenter());
+    }
+
+    /**
+     * Parses geometry written by {@link #pack()}
+     * @param packed packed geometry
+     * @return plot geometry or null if the value is empty or malformed
+     */
+    public static @Nullable PlotGeometry unpack(@Nullable String packed) {
+        if (packed == null || packed.isEmpty()) return null;
+
+        String[] values = packed.split(",");
+        if (values.length != PACKED_VALUES) return null;
+        try {
+            return new PlotGeometry(
+                    BlockVector3.at(Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2])),
+                    BlockVector3.at(Integer.parseInt(values[3]), Integer.parseInt(values[4]), Integer.parseInt(values[5])),
+                    BlockVector3.at(Integer.parseInt(values[6]), Integer.parseInt(values[7]), Integer.parseInt(values[8])),
+                    Vector3.at(Double.parseDouble(values[9]), Double.parseDouble(values[10]), Double.parseDouble(values[11])));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @return geometry as comma separated values: origin, minimum point, maximum point and center
+     */
+    public String pack() {
+        return origin.getBlockX() + "," + origin.getBlockY() + "," + origin.getBlockZ() + "," +
+                minimumPoint.getBlockX() + "," + minimumPoint.getBlockY() + "," + minimumPoint.getBlockZ() + "," +
+                maximumPoint.getBlockX() + "," + maximumPoint.getBlockY() + "," + maximumPoint.getBlockZ() + "," +
+                center.getX() + "," + center.getY() + "," + center.getZ();
+    }
+
+    /**
+     * @return schematic origin, which equals the in-game coordinates on the Terra121 world
+     */
+    public BlockVector3 getOrigin() {
+        return origin;
+    }
+
+    public BlockVector3 getMinimumPoint() {
+        return minimumPoint;
+    }
+
+    public BlockVector3 getMaximumPoint() {
+        return maximumPoint;
+    }
+
+    public Vector3 getCenter() {
+        return center;
+    }
+
+    public int getWidth() {
+        return maximumPoint.getBlockX() - minimumPoint.getBlockX() + 1;
+    }
+
+    public int getLength() {
+        return maximumPoint.getBlockZ() - minimumPoint.getBlockZ() + 1;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * In-memory spatial index of the plots in each city plot world.
+ * <p>
+ * The plot bounding boxes are bucketed into a grid of 64x64 block cells, so the plot at a position is found by testing
+ * only the outlines of the few plots overlapping that cell instead of loading every plot of the city.
+ * The index of a city is built on first use and kept up to date when a plot is claimed, abandoned or changes its status.
+ * Plots created by other servers are picked up by rebuilding the index of a city after ten minutes. Rebuilds run
+ * asynchronously, only one per city at a time, and lookups keep using the previous index until the rebuild is done.
+ * <p>
+ * The index is built from the stored outline and geometry columns only. Plots without stored geometry are left out
+ * and their geometry is computed from the schematics in the background, the city is indexed again afterwards.
+ */
+public final class PlotIndex {
+    private static final int CELL_SHIFT = 6;
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final Map<Integer, CityIndex> cities = new ConcurrentHashMap<>();
+    private static final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private static final Map<Integer, CompletableFuture<CityIndex>> rebuilds = new ConcurrentHashMap<>();
+    // Time at which the index of a city was last marked as outdated
+    private static final Map<Integer, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private static final Set<Integer> backfilling = ConcurrentHashMap.newKeySet();
+
+    private PlotIndex() {}
+
+    /**
+     * Returns the city inspiration mode plot at the given position. If the position is not inside any such plot with
+     * one of the statuses, the closest city inspiration mode plot is returned.
+     * @param cityID city project ID of the city plot world
+     * @param x block x coordinate
+     * @param z block z coordinate
+     * @param statuses allowed plot statuses, all statuses if null
+     * @return plot at or closest to the position, or null if the city has no plot with one of the statuses or its index
+     * is still being built while called from the main thread
+     * @throws SQLException SQL database exception
+     */
+    public static @Nullable Plot getPlot(int cityID, int x, int z, @Nullable Status... statuses) throws SQLException {
+        CityIndex index = getIndex(cityID);
+        if (index == null) return null;
+
+        Entry[] candidates = index.cells.get(Outline.pack(x >> CELL_SHIFT, z >> CELL_SHIFT));
+        if (candidates != null) {
+            for (Entry entry : candidates)
+                if (entry.type == PlotType.CITY_INSPIRATION_MODE && entry.matches(statuses) && entry.outline.contains(x, z)) return new Plot(entry.id);
+        }
+
+        // Find the plot in the city world that is closest to the position
+        Entry chosen = null;
+        int matches = 0;
+        double distance = Double.MAX_VALUE;
+        for (Entry entry : index.entries) {
+            if (!entry.matches(statuses)) continue;
+            if (matches++ == 0) chosen = entry;
+            if (entry.type != PlotType.CITY_INSPIRATION_MODE) continue;
+
+            double dx = entry.centerX - x, dz = entry.centerZ - z;
+            if (dx * dx + dz * dz < distance) {
+                distance = dx * dx + dz * dz;
+                chosen = entry;
+            }
+        }
+        return chosen != null ? new Plot(chosen.id) : null;
+    }
+
+    /**
+     * Updates the status of an indexed plot. If the plot is unknown, the index of its city is rebuilt on next use.
+     * @param plot plot
+     * @param status new status
+     */
+    public static void setStatus(@NotNull Plot plot, @NotNull Status status) {
+        Entry entry = entries.get(plot.getID());
+        if (entry != null) entry.status = status;
+        else invalidate(plot);
+    }
+
+    /**
+     * Updates the plot type of an indexed plot. If the plot is unknown, the index of its city is rebuilt on next use.
+     * @param plot plot
+     * @param type new plot type
+     */
+    public static void setPlotType(@NotNull Plot plot, @NotNull PlotType type) {
+        Entry entry = entries.get(plot.getID());
+        if (entry != null) entry.type = type;
+        else invalidate(plot);
+    }
+
+    /**
+     * Removes a deleted plot from the index
+     * @param plotID plot ID
+     */
+    public static void remove(int plotID) {
+        Entry entry = entries.remove(plotID);
+        if (entry != null) {
+            entry.removed = true;
+            invalidatedAt.put(entry.cityID, System.nanoTime());
+        }
+    }
+
+    private static void invalidate(Plot plot) {
+        try {
+            if (plot.getCity() != null) invalidatedAt.put(plot.getCity().getID(), System.nanoTime());
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+        }
+    }
+
+    private static @Nullable CityIndex getIndex(int cityID) throws SQLException {
+        CityIndex index = cities.get(cityID);
+        if (index != null) {
+            Long invalidated = invalidatedAt.get(cityID);
+            if (System.nanoTime() - index.builtAt >= MAX_AGE_NANOS || (invalidated != null && invalidated - index.builtAt >= 0)) rebuild(cityID);
+            return index;
+        }
+
+        // Nothing to serve yet, only wait for the first build off the main thread
+        if (Bukkit.isPrimaryThread()) {
+            rebuild(cityID);
+            return null;
+        }
+        try {
+            return rebuild(cityID).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof SQLException) throw (SQLException) ex.getCause();
+            throw ex;
+        }
+    }
+
+    private static CompletableFuture<CityIndex> rebuild(int cityID) {
+        CompletableFuture<CityIndex> rebuild = new CompletableFuture<>();
+        CompletableFuture<CityIndex> running = rebuilds.putIfAbsent(cityID, rebuild);
+        if (running != null) return running;
+
+        long startedAt = System.nanoTime();
+        DatabaseConnection.async(() -> build(cityID, startedAt)).whenComplete((index, ex) -> {
+            if (index != null) cities.put(cityID, index);
+            else Bukkit.getLogger().log(Level.SEVERE, "Failed to index plots of city project " + cityID + "!", ex);
+            rebuilds.remove(cityID, rebuild);
+
+            if (ex != null) rebuild.completeExceptionally(ex);
+            else rebuild.complete(index);
+        });
+        return rebuild;
+    }
+
+    private static CityIndex build(int cityID, long startedAt) throws SQLException {
+        List<Entry> cityEntries = new ArrayList<>();
+        Map<Long, List<Entry>> cellLists = new HashMap<>();
+        List<Integer> missingGeometry = new ArrayList<>();
+
+        List<Row> rows = DatabaseConnection.createStatement("SELECT id, status, type, version, outline, geometry FROM plotsystem_plots WHERE city_project_id = ?")
+                .setValue(cityID).query(Row::new);
+        for (Row row : rows) {
+            // Geometry computed by a backfill might not be flushed yet
+            String packedGeometry = row.geometry;
+            if (packedGeometry == null) {
+                Object queued = DatabaseConnection.getQueuedValue("plotsystem_plots.geometry#" + row.id, 0);
+                if (queued instanceof String) packedGeometry = (String) queued;
+            }
+
+            PlotGeometry geometry = PlotGeometry.unpack(packedGeometry);
+            if (geometry == null) {
+                missingGeometry.add(row.id);
+                continue;
+            }
+
+            Outline outline;
+            try {
+                outline = Outline.of(row.getOutlinePoints(geometry));
+            } catch (IllegalArgumentException ex) {
+                Bukkit.getLogger().log(Level.SEVERE, "Failed to index plot with the ID " + row.id + "!", ex);
+                continue;
+            }
+
+            Entry entry = new Entry(row.id, cityID, outline, geometry.getCenter().getX(), geometry.getCenter().getZ(), row.status, row.type);
+            cityEntries.add(entry);
+            entries.put(entry.id, entry);
+
+            for (int cx = outline.getMinX() >> CELL_SHIFT; cx <= outline.getMaxX() >> CELL_SHIFT; cx++)
+                for (int cz = outline.getMinZ() >> CELL_SHIFT; cz <= outline.getMaxZ() >> CELL_SHIFT; cz++)
+                    cellLists.computeIfAbsent(Outline.pack(cx, cz), k -> new ArrayList<>(2)).add(entry);
+        }
+
+        Map<Long, Entry[]> cells = new HashMap<>(cellLists.size() * 2);
+        cellLists.forEach((cell, list) -> cells.put(cell, list.toArray(new Entry[0])));
+        if (!missingGeometry.isEmpty()) backfill(cityID, missingGeometry);
+        return new CityIndex(cityEntries.toArray(new Entry[0]), cells, startedAt);
+    }
+
+    /**
+     * Computes the missing geometry of the given plots from their schematics and indexes the city again afterwards
+     */
+    private static void backfill(int cityID, List<Integer> plotIDs) {
+        if (!backfilling.add(cityID)) return;
+
+        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+            int computed = 0;
+            try {
+                for (int plotID : plotIDs) {
+                    try {
+                        // Stores the geometry, plots whose schematic is not available yet are tried again on the next rebuild
+                        if (new Plot(plotID).getGeometry() != null) computed++;
+                    } catch (IOException ex) {
+                        Bukkit.getLogger().log(Level.SEVERE, "Failed to index plot with the ID " + plotID + "!", ex);
+                    }
+                }
+            } finally {
+                backfilling.remove(cityID);
+                if (computed > 0) invalidatedAt.put(cityID, System.nanoTime());
+            }
+        });
+    }
+
+    private static final class Row {
+        private final int id;
+        private final Status status;
+        private final PlotType type;
+        private final double version;
+        private final String outline;
+        private final String geometry;
+
+        private Row(ResultSet rs) throws SQLException {
+            this.id = rs.getInt("id");
+            this.status = Status.valueOf(rs.getString("status"));
+            this.type = PlotType.byId(rs.getInt("type"));
+            double version = rs.getDouble("version");
+            // Plot version was implemented since v3, so we assume that the plot is v2.
+            this.version = rs.wasNull() ? 2 : version;
+            this.outline = rs.getString("outline");
+            this.geometry = rs.getString("geometry");
+        }
+
+        /**
+         * @return stored outline points, or the corners of the schematic region if the plot has no stored outline
+         */
+        private List<BlockVector2> getOutlinePoints(PlotGeometry geometry) {
+            List<BlockVector2> points = new ArrayList<>();
+            if (outline == null || outline.isEmpty() || version <= 2) {
+                BlockVector3 min = geometry.getMinimumPoint(), max = geometry.getMaximumPoint();
+                points.add(BlockVector2.at(min.getX(), min.getZ()));
+                points.add(BlockVector2.at(max.getX(), min.getZ()));
+                points.add(BlockVector2.at(max.getX(), max.getZ()));
+                points.add(BlockVector2.at(min.getX(), max.getZ()));
+            } else {
+                for (String point : outline.split("\\|")) {
+                    String[] coordinates = point.split(",");
+                    points.add(BlockVector2.at(Double.parseDouble(coordinates[0]), Double.parseDouble(coordinates[1])));
+                }
+            }
+            return points;
+        }
+    }
+
+    private static final class CityIndex {
+        private final Entry[] entries;
+        private final Map<Long, Entry[]> cells;
+        private final long builtAt;
+
+        private CityIndex(Entry[] entries, Map<Long, Entry[]> cells, long builtAt) {
+            this.entries = entries;
+            this.cells = cells;
+            this.builtAt = builtAt;
+        }
+    }
+
+    private static final class Entry {
+        private final int id;
+        private final int cityID;
+        private final Outline outline;
+        private final double centerX, centerZ;
+        private volatile Status status;
+        private volatile PlotType type;
+        private volatile boolean removed;
+
+        private Entry(int id, int cityID, Outline outline, double centerX, double centerZ, Status status, PlotType type) {
+            this.id = id;
+            this.cityID = cityID;
+            this.outline = outline;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.status = status;
+            this.type = type;
+        }
+
+        private boolean matches(@Nullable Status[] statuses) {
+            if (removed) return false;
+            if (statuses == null) return true;
+            for (Status s : statuses) if (s == status) return true;
+            return false;
+        }
+    }
+}
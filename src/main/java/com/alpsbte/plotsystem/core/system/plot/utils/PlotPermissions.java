@@ -25,6 +25,7 @@
 package com.alpsbte.plotsystem.core.system.plot.utils;
 
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 
 import java.util.UUID;
 
@@ -39,14 +40,14 @@ public class PlotPermissions {
     public PlotPermissions addBuilderPerms(UUID builder) {
         if (world.getProtectedRegion() != null) world.getProtectedRegion().getOwners().addPlayer(builder);
         world.getProtectedBuildRegion().getOwners().addPlayer(builder);
-        PlotUtils.Cache.clearCache(builder);
+        PlotUtils.Cache.invalidate(builder);
         return this;
     }
 
     public PlotPermissions removeBuilderPerms(UUID builder) {
         if (world.getProtectedRegion() != null) world.getProtectedRegion().getOwners().removePlayer(builder);
         world.getProtectedBuildRegion().getOwners().removePlayer(builder);
-        PlotUtils.Cache.clearCache(builder);
+        PlotUtils.Cache.invalidate(builder);
         return this;
     }
 
@@ -60,6 +61,6 @@ public class PlotPermissions {
     }
 
     public void save() {
-        world.unloadWorld(false);
+        PlotWorldManager.unloadWhenIdle(world);
     }
 }
@@ -0,0 +1,422 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.core.system.plot.generator.AbstractPlotGenerator;
+import com.alpsbte.plotsystem.core.system.plot.generator.DefaultPlotGenerator;
+import com.alpsbte.plotsystem.core.system.plot.world.CityPlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
+import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Validates or regenerates all plots of a city project and/or status in the background.
+ * <p>
+ * Validating checks the schematic files and the stored geometry of every plot. Regenerating additionally stores the
+ * geometry computed from the current schematics and pastes the outlines of unclaimed plots in city worlds again.
+ * Claimed plots are never overwritten. Up to {@link #MAX_PARALLEL_PLOTS} plots are processed at the same time, and pastes
+ * are limited to the configured number of chunks per tick. The remaining plots are saved to {@link #STATE_FILE_NAME},
+ * so a paused or interrupted job can be resumed.
+ */
+public final class PlotRegeneration {
+    private static final int MAX_PARALLEL_PLOTS = 4;
+    private static final long PROGRESS_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(15);
+    private static final String STATE_FILE_NAME = "regeneration.yml";
+
+    private static PlotRegeneration job;
+
+    private final Mode mode;
+    private final int cityID;
+    private final Status status;
+    private final int chunksPerTick;
+    private final int total;
+
+    // Only accessed on the main thread
+    private final Deque<Integer> remaining;
+    private final Set<Integer> running = new HashSet<>();
+    private final Map<Integer, String> invalidPlots = new LinkedHashMap<>();
+    private int processed;
+    private int regenerated;
+    private double chunkBudget;
+    private long lastProgress;
+    private CommandSender reporter;
+    private BukkitTask task;
+
+    private PlotRegeneration(Mode mode, int cityID, @Nullable Status status, int chunksPerTick, Collection<Integer> plotIDs, int total) {
+        this.mode = mode;
+        this.cityID = cityID;
+        this.status = status;
+        this.chunksPerTick = Math.max(chunksPerTick, 1);
+        this.remaining = new ArrayDeque<>(plotIDs);
+        this.total = total;
+    }
+
+    /**
+     * Starts a new job for all plots of the given city project and status
+     * @param mode validate or regenerate
+     * @param cityID city project id or -1 for all city projects
+     * @param status plot status or null for all statuses
+     * @param chunksPerTick maximum number of chunks which are pasted per tick
+     * @param reporter receives progress messages
+     * @return future which completes with the started job
+     * @throws IllegalStateException if a job is already running
+     */
+    public static CompletableFuture<PlotRegeneration> start(Mode mode, int cityID, @Nullable Status status, int chunksPerTick, CommandSender reporter) {
+        if (job != null && job.isRunning()) throw new IllegalStateException("A plot regeneration is already running");
+
+        return DatabaseConnection.async(() -> {
+            Status[] statuses = status != null ? new Status[] { status } : Status.values();
+            List<Plot> plots = cityID != -1 ? Plot.getPlots(cityID, statuses) : Plot.getPlots(statuses);
+            List<Integer> plotIDs = new ArrayList<>(plots.size());
+            for (Plot plot : plots) plotIDs.add(plot.getID());
+            return plotIDs;
+        }).thenApplyAsync(plotIDs -> {
+            if (job != null && job.isRunning()) throw new IllegalStateException("A plot regeneration is already running");
+            job = new PlotRegeneration(mode, cityID, status, chunksPerTick, plotIDs, plotIDs.size());
+            job.run(reporter);
+            return job;
+        }, DatabaseConnection.mainThread());
+    }
+
+    /**
+     * Resumes the job which has been saved when it was paused or the server was stopped
+     * @param reporter receives progress messages
+     * @return resumed job or null if there is no saved job
+     */
+    public static @Nullable PlotRegeneration resume(CommandSender reporter) {
+        if (job != null && job.isRunning()) return job;
+
+        File stateFile = getStateFile();
+        if (!stateFile.exists()) return null;
+
+        YamlConfiguration state = YamlConfiguration.loadConfiguration(stateFile);
+        job = new PlotRegeneration(Mode.valueOf(state.getString("mode", Mode.VALIDATE.name())), state.getInt("city", -1),
+                state.getString("status") != null ? Status.valueOf(state.getString("status")) : null,
+                state.getInt("chunks-per-tick"), state.getIntegerList("remaining"), state.getInt("total"));
+        job.processed = state.getInt("processed");
+        job.regenerated = state.getInt("regenerated");
+        for (String invalid : state.getStringList("invalid")) {
+            String[] parts = invalid.split(":", 2);
+            job.invalidPlots.put(Integer.parseInt(parts[0]), parts.length > 1 ? parts[1] : "");
+        }
+        job.run(reporter);
+        return job;
+    }
+
+    /**
+     * Saves the running job, so it can be resumed after a restart
+     */
+    public static void shutdown() {
+        if (job != null && job.isRunning()) job.pause();
+    }
+
+    /**
+     * @return current or last job, null if no job has been started since the server start
+     */
+    public static @Nullable PlotRegeneration getJob() {
+        return job;
+    }
+
+    private void run(CommandSender reporter) {
+        this.reporter = reporter;
+        this.lastProgress = System.currentTimeMillis();
+        this.task = Bukkit.getScheduler().runTaskTimer(PlotSystem.getPlugin(), this::tick, 1, 1);
+        report("Started to " + mode.name().toLowerCase(Locale.ROOT) + " " + remaining.size() + " plots.");
+    }
+
+    /**
+     * Stops processing new plots and saves the remaining plots
+     */
+    public void pause() {
+        if (task == null) return;
+        task.cancel();
+        task = null;
+        saveState();
+        report("Paused after " + processed + "/" + total + " plots. Use resume to continue.");
+    }
+
+    private void tick() {
+        chunkBudget = Math.min(chunkBudget + chunksPerTick, chunksPerTick);
+
+        // Pastes are charged after they are started, so a single large plot does not stall the job
+        while (running.size() < MAX_PARALLEL_PLOTS && chunkBudget > 0 && !remaining.isEmpty()) {
+            int plotID = remaining.poll();
+            running.add(plotID);
+            process(plotID);
+        }
+
+        if (remaining.isEmpty() && running.isEmpty()) {
+            task.cancel();
+            task = null;
+            if (!getStateFile().delete() && getStateFile().exists()) Bukkit.getLogger().log(Level.WARNING, "Could not delete " + STATE_FILE_NAME + "!");
+            report("Finished: " + getProgress());
+            reportInvalidPlots();
+        } else if (System.currentTimeMillis() - lastProgress >= PROGRESS_INTERVAL_MILLIS) {
+            lastProgress = System.currentTimeMillis();
+            saveState();
+            report(getProgress());
+        }
+    }
+
+    private void process(int plotID) {
+        // The check reads and possibly downloads schematics, so it does not run on the database executor
+        CompletableFuture<Check> checked = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+            try {
+                checked.complete(check(plotID));
+            } catch (Exception ex) {
+                checked.completeExceptionally(ex);
+            }
+        });
+
+        checked.thenComposeAsync(check -> {
+                    if (check.error != null) invalidPlots.put(plotID, check.error);
+                    return check.pasteWorld != null ? paste(check) : CompletableFuture.completedFuture(null);
+                }, DatabaseConnection.mainThread())
+                .whenCompleteAsync((result, ex) -> {
+                    if (ex != null) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        invalidPlots.put(plotID, cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                        Bukkit.getLogger().log(Level.WARNING, "Could not " + mode.name().toLowerCase(Locale.ROOT) + " plot #" + plotID + "!", cause);
+                    }
+                    running.remove(plotID);
+                    processed++;
+
+                    // The job was paused while this plot was running, it does not have to be processed again after resuming
+                    if (task == null && running.isEmpty()) saveState();
+                }, DatabaseConnection.mainThread());
+    }
+
+    /**
+     * Validates the schematics and the stored geometry of the plot and decides if it has to be pasted again
+     */
+    private Check check(int plotID) throws SQLException, IOException {
+        Plot plot = new Plot(plotID);
+        Check check = new Check(plot);
+
+        File outlines = plot.getOutlinesSchematic();
+        if (outlines == null || !outlines.exists()) {
+            check.error = "Missing outlines schematic";
+            return check;
+        }
+
+        if (mode == Mode.REGENERATE) SchematicCache.invalidate(outlines);
+        SchematicCache.Metadata metadata = SchematicCache.getMetadata(outlines);
+        if (metadata == null) {
+            check.error = "Invalid outlines schematic";
+            return check;
+        }
+
+        if (plot.getVersion() >= 3) {
+            File environment = plot.getEnvironmentSchematic();
+            if (environment != null && environment.exists()) {
+                if (mode == Mode.REGENERATE) SchematicCache.invalidate(environment);
+                if (SchematicCache.getMetadata(environment) == null) check.error = "Invalid environment schematic";
+            }
+        }
+
+        Status plotStatus = plot.getStatus();
+        if (plotStatus == Status.completed) {
+            File completed = plot.getCompletedSchematic();
+            if (completed == null || !completed.exists() || SchematicCache.getMetadata(completed) == null) check.error = "Invalid completed schematic";
+        }
+
+        // Compare the stored geometry with the geometry of the current outlines schematic
+        PlotGeometry geometry = PlotGeometry.of(metadata);
+        PlotGeometry storedGeometry = plot.getGeometry();
+        if (storedGeometry == null || !storedGeometry.pack().equals(geometry.pack())) {
+            if (mode == Mode.REGENERATE) {
+                DatabaseConnection.createStatement("UPDATE plotsystem_plots SET geometry = ? WHERE id = ?")
+                        .setValue(geometry.pack()).setValue(plotID).executeUpdate();
+            } else if (check.error == null) check.error = "Outdated geometry";
+        }
+
+        // Only unclaimed plots can be pasted again without overwriting the work of a builder
+        if (mode == Mode.REGENERATE && plotStatus == Status.unclaimed && check.error == null) {
+            PlotWorld world = plot.getWorld();
+            if (world instanceof CityPlotWorld) {
+                check.pasteWorld = world;
+                check.chunks = (geometry.getWidth() / 16 + 2) * (geometry.getLength() / 16 + 2);
+            }
+        }
+        return check;
+    }
+
+    /**
+     * Clears the plot area and pastes the outlines asynchronously, runs on the main thread
+     */
+    private CompletableFuture<Void> paste(Check check) {
+        PlotWorld world = check.pasteWorld;
+        int plotID = check.plot.getID();
+
+        // Keep players from claiming the plot until the outlines are pasted
+        if (!world.isWorldGenerated() || !DefaultPlotGenerator.reserve(plotID)) return CompletableFuture.completedFuture(null);
+
+        chunkBudget -= check.chunks;
+        PlotWorldManager.acquire(world.getWorldName());
+        if (!world.loadWorld()) {
+            PlotWorldManager.release(world.getWorldName());
+            DefaultPlotGenerator.release(plotID);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+            try {
+                AbstractPlotGenerator.pasteSchematic(null, check.plot.getOutlinesSchematic(), world, true);
+                future.complete(null);
+            } catch (Exception ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future.whenCompleteAsync((result, ex) -> {
+            PlotWorldManager.release(world.getWorldName());
+            PlotWorldManager.unloadWhenIdle(world);
+            DefaultPlotGenerator.release(plotID);
+            if (ex == null) regenerated++;
+        }, DatabaseConnection.mainThread());
+    }
+
+    private void saveState() {
+        YamlConfiguration state = new YamlConfiguration();
+        state.set("mode", mode.name());
+        state.set("city", cityID);
+        state.set("status", status != null ? status.name() : null);
+        state.set("chunks-per-tick", chunksPerTick);
+        state.set("total", total);
+        state.set("processed", processed);
+        state.set("regenerated", regenerated);
+
+        // Plots which are still running are processed again after resuming
+        List<Integer> plotIDs = new ArrayList<>(running);
+        plotIDs.addAll(remaining);
+        state.set("remaining", plotIDs);
+
+        List<String> invalid = new ArrayList<>();
+        for (Map.Entry<Integer, String> entry : invalidPlots.entrySet()) invalid.add(entry.getKey() + ":" + entry.getValue());
+        state.set("invalid", invalid);
+
+        try {
+            state.save(getStateFile());
+        } catch (IOException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "Could not save " + STATE_FILE_NAME + "!", ex);
+        }
+    }
+
+    private void report(String message) {
+        Bukkit.getLogger().log(Level.INFO, "[Plot Regeneration] " + message);
+        if (reporter != null && !(reporter instanceof Player && !((Player) reporter).isOnline()) && reporter != Bukkit.getConsoleSender()) {
+            reporter.sendMessage(Utils.ChatUtils.getInfoFormat(message));
+        }
+    }
+
+    private void reportInvalidPlots() {
+        if (invalidPlots.isEmpty()) return;
+        int shown = 0;
+        for (Map.Entry<Integer, String> entry : invalidPlots.entrySet()) {
+            if (shown++ == 10) {
+                report("... and " + (invalidPlots.size() - 10) + " more, see " + STATE_FILE_NAME + " after pausing or the server log.");
+                break;
+            }
+            report("Plot #" + entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    private static File getStateFile() {
+        return new File(PlotSystem.getPlugin().getDataFolder(), STATE_FILE_NAME);
+    }
+
+    /**
+     * @return summary of the progress
+     */
+    public String getProgress() {
+        return processed + "/" + total + " plots processed, " + regenerated + " regenerated, " + invalidPlots.size() + " invalid, " + running.size() + " running";
+    }
+
+    /**
+     * @return true if the job processes plots or still waits for plots which were running when it was paused
+     */
+    public boolean isRunning() {
+        return task != null || !running.isEmpty();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getRegenerated() {
+        return regenerated;
+    }
+
+    public int getRemaining() {
+        return remaining.size() + running.size();
+    }
+
+    public Map<Integer, String> getInvalidPlots() {
+        return Collections.unmodifiableMap(invalidPlots);
+    }
+
+    public enum Mode {
+        VALIDATE,
+        REGENERATE
+    }
+
+    private static class Check {
+        private final Plot plot;
+        private String error;
+        private PlotWorld pasteWorld;
+        private int chunks;
+
+        private Check(Plot plot) {
+            this.plot = plot;
+        }
+    }
+}
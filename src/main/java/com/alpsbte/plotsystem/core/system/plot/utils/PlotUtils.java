@@ -27,7 +27,7 @@ package com.alpsbte.plotsystem.core.system.plot.utils;
 import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.database.DatabaseConnection;
 import com.alpsbte.plotsystem.core.system.Builder;
-import com.alpsbte.plotsystem.core.system.CityProject;
+import com.alpsbte.plotsystem.core.system.ScoreRanking;
 import com.alpsbte.plotsystem.core.system.Server;
 import com.alpsbte.plotsystem.core.system.plot.AbstractPlot;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
@@ -36,14 +36,15 @@ import com.alpsbte.plotsystem.core.system.plot.generator.AbstractPlotGenerator;
 import com.alpsbte.plotsystem.core.system.plot.world.CityPlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.OnePlotWorld;
 import com.alpsbte.plotsystem.core.system.plot.world.PlotWorld;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 import com.alpsbte.plotsystem.utils.ShortLink;
 import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.enums.Slot;
 import com.alpsbte.plotsystem.utils.enums.Status;
 import com.alpsbte.plotsystem.utils.io.ConfigPaths;
 import com.alpsbte.plotsystem.utils.io.FTPManager;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
-import com.fastasyncworldedit.core.FaweAPI;
 import com.github.fierioziy.particlenativeapi.api.ParticleNativeAPI;
 import com.github.fierioziy.particlenativeapi.api.Particles_1_8;
 import com.github.fierioziy.particlenativeapi.plugin.ParticleNativePlugin;
@@ -72,7 +73,6 @@ import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.chat.hover.content.Text;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
@@ -85,12 +85,13 @@ import java.math.RoundingMode;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static net.md_5.bungee.api.ChatColor.*;
@@ -99,7 +100,7 @@ public final class PlotUtils {
 
     /** Returns the plot that the player is currently standing on or next to.
      *  If he is standing in a single plot world it returns the plot of this world.
-     *  If he is standing in a multi plot world it returns the closest plot of all unfinished plots of this city
+     *  If he is standing in a multi plot world it returns the plot he is standing in or the closest plot of this city
      *
      * @return the current plot of the player
      */
@@ -116,24 +117,8 @@ public final class PlotUtils {
                 return null;
             } else if (CityPlotWorld.isCityPlotWorld(worldName)) {
                 int cityID = Integer.parseInt(worldName.substring(2));
-                List<Plot> plots = Plot.getPlots(cityID, statuses);
-
-                if(plots.isEmpty()) return null;
-                if(plots.size() == 1) return plots.get(0);
-
-                // Find the plot in the city world that is closest to the player
-                Location playerLoc = builder.getPlayer().getLocation().clone();
-                Vector3 playerVector = Vector3.at(playerLoc.getX(), playerLoc.getY(), playerLoc.getZ());
-
-                double distance = 100000000;
-                Plot chosenPlot = plots.get(0);
-                for(Plot plot : plots)
-                    if (plot.getPlotType() == PlotType.CITY_INSPIRATION_MODE && plot.getCenter().withY((int) playerVector.getY()).distance(playerVector.toBlockPoint()) < distance) {
-                        distance = plot.getCenter().distance(playerVector.toBlockPoint());
-                        chosenPlot = plot;
-                    }
-
-                return chosenPlot;
+                Location playerLoc = builder.getPlayer().getLocation();
+                return PlotIndex.getPlot(cityID, playerLoc.getBlockX(), playerLoc.getBlockZ(), statuses);
             }
         }
         return null;
@@ -148,20 +133,20 @@ public final class PlotUtils {
     }
 
     public static CuboidRegion getPlotAsRegion(AbstractPlot plot) throws IOException, SQLException {
-        Clipboard clipboard = FaweAPI.load(plot.getOutlinesSchematic());
-        if (clipboard != null) {
+        PlotGeometry geometry = plot.getGeometry();
+        if (geometry != null) {
             if (plot.getVersion() >= 3) {
                 return new CuboidRegion(
-                        clipboard.getMinimumPoint().withY(plot.getWorld().getPlotHeight()),
-                        clipboard.getMaximumPoint().withY(PlotWorld.MAX_WORLD_HEIGHT));
+                        geometry.getMinimumPoint().withY(plot.getWorld().getPlotHeight()),
+                        geometry.getMaximumPoint().withY(PlotWorld.MAX_WORLD_HEIGHT));
             } else {
                 BlockVector3 plotCenter = plot.getCenter();
 
                 // Calculate min and max points of schematic
-                int regionCenterModX = clipboard.getRegion().getWidth() % 2 == 0 ? 1 : 0;
-                int regionCenterModZ = clipboard.getRegion().getLength() % 2 == 0 ? 1 : 0;
-                int outlinesClipboardCenterX = (int) Math.floor(clipboard.getRegion().getWidth() / 2d);
-                int outlinesClipboardCenterZ = (int) Math.floor(clipboard.getRegion().getLength() / 2d);
+                int regionCenterModX = geometry.getWidth() % 2 == 0 ? 1 : 0;
+                int regionCenterModZ = geometry.getLength() % 2 == 0 ? 1 : 0;
+                int outlinesClipboardCenterX = (int) Math.floor(geometry.getWidth() / 2d);
+                int outlinesClipboardCenterZ = (int) Math.floor(geometry.getLength() / 2d);
 
                 BlockVector3 schematicMinPoint = BlockVector3.at(
                         plotCenter.getX() - (outlinesClipboardCenterX - regionCenterModX),
@@ -191,8 +176,8 @@ public final class PlotUtils {
     }
 
     public static boolean savePlotAsSchematic(Plot plot) throws IOException, SQLException, WorldEditException {
-        Clipboard clipboard = FaweAPI.load(plot.getOutlinesSchematic());
-        if (clipboard != null) {
+        PlotGeometry geometry = plot.getGeometry();
+        if (geometry != null) {
             CuboidRegion cuboidRegion = getPlotAsRegion(plot);
 
             if (cuboidRegion != null) {
@@ -225,9 +210,9 @@ public final class PlotUtils {
                     } else {
                         BlockVector3 terraCenter = plot.getMinecraftCoordinates();
                         plotCenter = BlockVector3.at(
-                                (double) terraCenter.getX() - (double) clipboard.getMinimumPoint().getX() + cuboidRegion.getMinimumPoint().getX(),
-                                (double) terraCenter.getY() - (double) clipboard.getMinimumPoint().getY() + cuboidRegion.getMinimumPoint().getY(),
-                                (double) terraCenter.getZ() - (double) clipboard.getMinimumPoint().getZ() + cuboidRegion.getMinimumPoint().getZ()
+                                (double) terraCenter.getX() - (double) geometry.getMinimumPoint().getX() + cuboidRegion.getMinimumPoint().getX(),
+                                (double) terraCenter.getY() - (double) geometry.getMinimumPoint().getY() + cuboidRegion.getMinimumPoint().getY(),
+                                (double) terraCenter.getZ() - (double) geometry.getMinimumPoint().getZ() + cuboidRegion.getMinimumPoint().getZ()
                         );
                         cb.setOrigin(plotCenter);
                     }
@@ -239,6 +224,7 @@ public final class PlotUtils {
                     try(ClipboardWriter writer = Objects.requireNonNull(ClipboardFormats.findByFile(finishedSchematicFile)).getWriter(new FileOutputStream(finishedSchematicFile, false))) {
                         writer.write(cb);
                     }
+                    SchematicCache.invalidate(finishedSchematicFile);
 
                     // Upload to FTP server
                     if (plot.getCity().getCountry().getServer().getFTPConfiguration() != null) {
@@ -264,18 +250,18 @@ public final class PlotUtils {
     }
 
     public static CompletableFuture<double[]> convertTerraToPlotXZ(AbstractPlot plot, double[] terraCoords) throws IOException, SQLException {
-        // Load plot outlines schematic as clipboard
-        Clipboard clipboard = FaweAPI.load(plot.getOutlinesSchematic());
+        // Load plot outlines schematic geometry
+        PlotGeometry geometry = plot.getGeometry();
 
-        if (clipboard != null) {
+        if (geometry != null) {
             // Calculate min and max points of schematic
             CuboidRegion plotRegion = getPlotAsRegion(plot);
 
             if (plotRegion != null) {
                 // Convert terra schematic coordinates into relative plot schematic coordinates
                 double[] schematicCoords = {
-                        terraCoords[0] - clipboard.getMinimumPoint().getX(),
-                        terraCoords[1] - clipboard.getMinimumPoint().getZ()
+                        terraCoords[0] - geometry.getMinimumPoint().getX(),
+                        terraCoords[1] - geometry.getMinimumPoint().getZ()
                 };
 
                 // Add additional plot sizes to relative plot schematic coordinates
@@ -323,29 +309,15 @@ public final class PlotUtils {
         if (config.getBoolean(ConfigPaths.SYNC_FTP_FILES_ENABLE)) {
             long interval = config.getLong(ConfigPaths.SYNC_FTP_FILES_INTERVAL);
 
-            Bukkit.getScheduler().runTaskTimerAsynchronously(PlotSystem.getPlugin(), () -> CityProject.getCityProjects(false).forEach(c -> {
-                try {
-                    if (c.getCountry().getServer().getFTPConfiguration() != null) {
-                        List<Plot> plots = Plot.getPlots(c.getID(), Status.unclaimed);
-                        plots.forEach(Plot::getOutlinesSchematic);
-                    }
-                } catch (SQLException ex) {
-                    Bukkit.getLogger().log(Level.INFO, "A SQL error occurred!", ex);
-                }
-            }), 0L, 20 * interval);
+            Bukkit.getScheduler().runTaskTimerAsynchronously(PlotSystem.getPlugin(), SchematicSync::syncAll, 0L, 20 * interval);
         }
     }
 
     public static boolean plotExists(int ID) {
-        try (ResultSet rs = DatabaseConnection.createStatement("SELECT COUNT(id) FROM plotsystem_plots WHERE id = ?")
-                .setValue(ID).executeQuery()) {
-
-            if (rs.next() && rs.getInt(1) > 0) {
-                DatabaseConnection.closeResultSet(rs);
-                return true;
-            }
-
-            DatabaseConnection.closeResultSet(rs);
+        try {
+            Integer count = DatabaseConnection.createStatement("SELECT COUNT(id) FROM plotsystem_plots WHERE id = ?")
+                    .setValue(ID).queryOne(rs -> rs.getInt(1));
+            return count != null && count > 0;
         } catch (SQLException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
         }
@@ -408,43 +380,77 @@ public final class PlotUtils {
                             if (regionManager.hasRegion(world.getRegionName())) regionManager.removeRegion(world.getRegionName());
                             if (regionManager.hasRegion(world.getRegionName() + "-1")) regionManager.removeRegion(world.getRegionName() + "-1");
 
-                            AbstractPlotGenerator.pasteSchematic(null, plot.getOutlinesSchematic(), world, true);
+                            CompletableFuture<File> outlines = ((Plot) plot).getOutlinesSchematicAsync();
+                            if (outlines.isDone()) {
+                                AbstractPlotGenerator.pasteSchematic(null, outlines.join(), world, true);
+                            } else {
+                                // Reset the plot once its schematic is downloaded, the world is kept loaded until then
+                                PlotWorldManager.acquire(world.getWorldName());
+                                outlines.whenCompleteAsync((outlinesSchematic, ex) -> {
+                                    try {
+                                        if (ex != null) throw ex;
+                                        if (world.loadWorld()) AbstractPlotGenerator.pasteSchematic(null, outlinesSchematic, world, true);
+                                    } catch (Throwable pasteEx) {
+                                        Bukkit.getLogger().log(Level.SEVERE, "Failed to reset abandoned plot with the ID " + plot.getID() + "!", pasteEx);
+                                    } finally {
+                                        PlotWorldManager.release(world.getWorldName());
+                                        PlotWorldManager.unloadWhenIdle(world);
+                                    }
+                                }, DatabaseConnection.mainThread());
+                            }
                         } else Bukkit.getLogger().log(Level.WARNING, "Region Manager is null!");
 
                         playersToTeleport.forEach(p -> p.teleport(Utils.getSpawnLocation()));
-                        if (plot.getWorld().isWorldLoaded()) plot.getWorld().unloadWorld(false);
+                        if (plot.getWorld().isWorldLoaded()) PlotWorldManager.unloadWhenIdle(plot.getWorld());
                     }
                 }
-            } catch (SQLException | IOException | WorldEditException ex) {
+            } catch (SQLException | IOException | WorldEditException | CompletionException ex) {
                 Bukkit.getLogger().log(Level.SEVERE, "Failed to abandon plot with the ID " + plot.getID() + "!", ex);
                 return false;
             }
 
             try {
-                CompletableFuture.runAsync(() -> {
+                DatabaseConnection.async(() -> {
                     try {
                         if (plot.getPlotType() != PlotType.TUTORIAL) {
                             Plot dPlot = (Plot) plot;
-                            if (dPlot.isReviewed()) {
-                                DatabaseConnection.createStatement("UPDATE plotsystem_plots SET review_id = DEFAULT(review_id) WHERE id = ?")
-                                        .setValue(plot.getID()).executeUpdate();
 
-                                DatabaseConnection.createStatement("DELETE FROM plotsystem_reviews WHERE id = ?")
-                                        .setValue(dPlot.getReview().getReviewID()).executeUpdate();
-                            }
-
-                            for (Builder builder : dPlot.getPlotMembers()) dPlot.removePlotMember(builder);
-
-                            if (plot.getPlotOwner() != null) {
-                                Cache.clearCache(plot.getPlotOwner().getUUID());
-                                plot.getPlotOwner().removePlot(dPlot.getSlot());
-                            }
-
-                            dPlot.setPlotOwner(null);
-                            dPlot.setLastActivity(true);
-                            dPlot.setTotalScore(-1);
-                            dPlot.setStatus(Status.unclaimed);
-                            dPlot.setPlotType(PlotType.LOCAL_INSPIRATION_MODE);
+                            // Read everything before the unit of work, queries inside it do not see its updates
+                            Builder owner = dPlot.getPlotOwner();
+                            Slot ownerSlot = owner != null ? dPlot.getSlot() : null;
+                            Integer reviewID = dPlot.isReviewed() ? dPlot.getReview().getReviewID() : null;
+                            Map<Builder, Slot> members = new LinkedHashMap<>();
+                            for (Builder member : dPlot.getPlotMembers()) members.put(member, member.getSlot(dPlot));
+
+                            DatabaseConnection.runInTransaction(() -> {
+                                if (reviewID != null) {
+                                    DatabaseConnection.createStatement("UPDATE plotsystem_plots SET review_id = DEFAULT(review_id) WHERE id = ?")
+                                            .setValue(plot.getID()).executeUpdate();
+                                    DatabaseConnection.createStatement("DELETE FROM plotsystem_reviews WHERE id = ?")
+                                            .setValue(reviewID).executeUpdate();
+                                }
+
+                                for (Map.Entry<Builder, Slot> member : members.entrySet()) {
+                                    DatabaseConnection.createStatement("DELETE FROM plotsystem_plot_members WHERE plot_id = ? AND builder_uuid = ?")
+                                            .setValue(plot.getID()).setValue(member.getKey().getUUID().toString()).executeUpdate();
+                                    member.getKey().removePlot(member.getValue());
+                                }
+                                if (!members.isEmpty()) Plot.updateLegacyPlotMembers(plot.getID());
+
+                                if (owner != null) owner.removePlot(ownerSlot);
+
+                                dPlot.setPlotOwner(null);
+                                dPlot.setLastActivity(true);
+                                dPlot.setTotalScore(-1);
+                                dPlot.setStatus(Status.unclaimed);
+                                dPlot.setPlotType(PlotType.LOCAL_INSPIRATION_MODE);
+                            });
+
+                            // Side effects only run once the plot is abandoned in the database
+                            dPlot.invalidateRecord();
+                            if (owner != null) Cache.invalidate(owner.getUUID());
+                            for (Builder member : members.keySet()) Cache.invalidate(member.getUUID());
+                            ScoreRanking.refreshPlot(plot.getID());
                         }
                     } catch (SQLException ex) {
                         Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
@@ -460,31 +466,35 @@ public final class PlotUtils {
 
         public static boolean deletePlot(Plot plot) throws SQLException {
             if (abandonPlot(plot)) {
-                try {
-                    CompletableFuture.runAsync(() -> {
-                        try {
-                            Server plotServer = plot.getCity().getCountry().getServer();
-
-                            Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), "finishedSchematics", String.valueOf(plot.getCity().getID()), plot.getID() + ".schematic"));
-                            Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), String.valueOf(plot.getCity().getID()), plot.getID() + ".schematic"));
-                            Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), String.valueOf(plot.getCity().getID()), plot.getID() + "-env.schematic"));
-
-                            if (plotServer.getFTPConfiguration() != null) {
-                                FTPManager.deleteSchematic(FTPManager.getFTPUrl(plotServer, plot.getCity().getID()), plot.getID() + ".schematic");
-                                FTPManager.deleteSchematic(FTPManager.getFTPUrl(plotServer, plot.getCity().getID()).replaceFirst("finishedSchematics/",""), plot.getID() + ".schematic");
-                                FTPManager.deleteSchematic(FTPManager.getFTPUrl(plotServer, plot.getCity().getID()).replaceFirst("finishedSchematics/",""), plot.getID() + "-env.schematic");
-                            }
+                // Files and FTP are handled on the Bukkit async scheduler, only the delete statement runs on the database executor
+                Bukkit.getScheduler().runTaskAsynchronously(PlotSystem.getPlugin(), () -> {
+                    try {
+                        Server plotServer = plot.getCity().getCountry().getServer();
+
+                        Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), "finishedSchematics", String.valueOf(plot.getCity().getID()), plot.getID() + ".schematic"));
+                        Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), String.valueOf(plot.getCity().getID()), plot.getID() + ".schematic"));
+                        Files.deleteIfExists(Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(plotServer.getID()), String.valueOf(plot.getCity().getID()), plot.getID() + "-env.schematic"));
+
+                        if (plotServer.getFTPConfiguration() != null) {
+                            String ftpURL = FTPManager.getFTPUrl(plotServer, plot.getCity().getID());
+                            FTPManager.batch()
+                                    .delete(ftpURL, plot.getID() + ".schematic")
+                                    .delete(ftpURL.replaceFirst("finishedSchematics/",""), plot.getID() + ".schematic")
+                                    .delete(ftpURL.replaceFirst("finishedSchematics/",""), plot.getID() + "-env.schematic")
+                                    .execute();
+                        }
 
+                        DatabaseConnection.async(() -> {
                             DatabaseConnection.createStatement("DELETE FROM plotsystem_plots WHERE id = ?")
                                     .setValue(plot.getID()).executeUpdate();
-                        } catch (IOException | SQLException | URISyntaxException ex) {
-                            Bukkit.getLogger().log(Level.SEVERE, ex.getMessage(), ex);
-                            throw new CompletionException(ex);
-                        }
-                    });
-                } catch (CompletionException ex) {
-                    return false;
-                }
+                            PlotIndex.remove(plot.getID());
+                        }).whenComplete((result, ex) -> {
+                            if (ex != null) Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                        });
+                    } catch (IOException | SQLException | URISyntaxException ex) {
+                        Bukkit.getLogger().log(Level.SEVERE, ex.getMessage(), ex);
+                    }
+                });
                 return true;
             }
             Bukkit.getLogger().log(Level.WARNING, "Failed to delete plot with the ID " + plot.getID() + "!");
@@ -492,37 +502,110 @@ public final class PlotUtils {
         }
     }
 
+    /**
+     * Caches the in-progress plots of every builder.
+     * <p>
+     * Entries expire after {@link #TTL_NANOS} and are invalidated on claim, abandon, submit and member changes.
+     * Expired and invalidated entries are reloaded asynchronously, only one reload per builder runs at a time and
+     * the previous plots are returned until it has finished.
+     */
     public static final class Cache {
-        private static final HashMap<UUID, List<Plot>> cachedInProgressPlots = new HashMap<>();
+        private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private static final Map<UUID, CachedPlots> cachedInProgressPlots = new ConcurrentHashMap<>();
+        private static final Map<UUID, Long> invalidations = new ConcurrentHashMap<>();
+        private static final Set<UUID> reloads = ConcurrentHashMap.newKeySet();
+        // Builders whose cache was cleared while their plots were loading, the loaded plots are discarded
+        private static final Set<UUID> clearedReloads = new HashSet<>();
 
         public static void clearCache(){
-            cachedInProgressPlots.clear();
+            synchronized (Cache.class) {
+                cachedInProgressPlots.clear();
+                invalidations.clear();
+                clearedReloads.addAll(reloads);
+            }
+            OutlineRenderer.clear();
         }
 
+        /**
+         * Removes the cached plots of the builder, e.g. when the builder leaves the server
+         * @param builderUUID uuid of the builder
+         */
         public static void clearCache(UUID builderUUID) {
-            cachedInProgressPlots.remove(builderUUID);
+            synchronized (Cache.class) {
+                cachedInProgressPlots.remove(builderUUID);
+                invalidations.remove(builderUUID);
+                if (reloads.contains(builderUUID)) clearedReloads.add(builderUUID);
+            }
+            OutlineRenderer.invalidate(builderUUID);
+        }
+
+        /**
+         * Reloads the cached plots of the builder asynchronously, has to be called after the in-progress plots of the builder have changed
+         * @param builderUUID uuid of the builder
+         */
+        public static void invalidate(UUID builderUUID) {
+            invalidations.put(builderUUID, System.nanoTime());
+            reload(Builder.byUUID(builderUUID));
         }
 
+        /**
+         * @param builder builder
+         * @return cached in-progress plots of the builder, empty until they have been loaded for the first time
+         */
         public static List<Plot> getCachedInProgressPlots(Builder builder){
-            if(!cachedInProgressPlots.containsKey(builder.getUUID())) {
-                try {
-                    cachedInProgressPlots.put(builder.getUUID(), Plot.getPlots(builder, Status.unfinished));
-                } catch (SQLException ex) {
-                    Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
-                    return new ArrayList<>();
-                }
-            }
+            CachedPlots cachedPlots = cachedInProgressPlots.get(builder.getUUID());
+            if (cachedPlots == null || isExpired(builder.getUUID(), cachedPlots)) reload(builder);
+            return cachedPlots != null ? cachedPlots.plots : Collections.emptyList();
+        }
+
+        /**
+         * @return snapshot of the cached in-progress plots of all builders
+         */
+        public static Map<UUID, List<Plot>> getCachedInProgressPlots() {
+            Map<UUID, List<Plot>> plots = new HashMap<>();
+            for (Map.Entry<UUID, CachedPlots> entry : cachedInProgressPlots.entrySet()) plots.put(entry.getKey(), entry.getValue().plots);
+            return plots;
+        }
 
-            return cachedInProgressPlots.get(builder.getUUID());
+        private static boolean isExpired(UUID builderUUID, CachedPlots cachedPlots) {
+            Long invalidatedAt = invalidations.get(builderUUID);
+            return System.nanoTime() - cachedPlots.loadedAt >= TTL_NANOS || (invalidatedAt != null && invalidatedAt - cachedPlots.loadedAt >= 0);
         }
 
-        public static HashMap<UUID, List<Plot>> getCachedInProgressPlots() {
-            return cachedInProgressPlots;
+        /**
+         * Loads the plots of the builder asynchronously, unless they are already being loaded
+         */
+        private static void reload(Builder builder) {
+            if (!reloads.add(builder.getUUID())) return;
+
+            // Plots which are changed while loading are invalidated after the start time and loaded again on the next access
+            long loadedAt = System.nanoTime();
+            DatabaseConnection.async(() -> Collections.unmodifiableList(Plot.getPlots(builder, Status.unfinished)))
+                    .whenComplete((plots, ex) -> {
+                        synchronized (Cache.class) {
+                            // Do not bring back the plots of a builder who left the server while they were loading
+                            boolean cleared = clearedReloads.remove(builder.getUUID());
+                            if (ex == null) {
+                                if (!cleared) cachedInProgressPlots.put(builder.getUUID(), new CachedPlots(plots, loadedAt));
+                            } else Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                            reloads.remove(builder.getUUID());
+                        }
+                    });
+        }
+
+        private static class CachedPlots {
+            private final List<Plot> plots;
+            private final long loadedAt;
+
+            private CachedPlots(List<Plot> plots, long loadedAt) {
+                this.plots = plots;
+                this.loadedAt = loadedAt;
+            }
         }
     }
 
     public static final class Effects {
-        public static final int CACHE_UPDATE_TICKS = 20*60;
         private static int time;
 
         private static boolean ParticleAPIEnabled = false;
@@ -553,7 +636,6 @@ public final class PlotUtils {
 
         public static void tick(){
             time++;
-            if(time%CACHE_UPDATE_TICKS == 0) Cache.clearCache();
             if(time%10 == 0) showOutlines();
         }
 
@@ -563,31 +645,9 @@ public final class PlotUtils {
                     Builder builder = Builder.byUUID(player.getUniqueId());
 
                     List<Plot> plots = Cache.getCachedInProgressPlots(builder);
-                    BlockVector2 playerPos2D = BlockVector2.at(player.getLocation().getX(), player.getLocation().getZ());
-
                     if(plots.isEmpty()) continue;
 
-                    for(Plot plot : plots){
-                        if(!plot.getWorld().getWorldName().equals(player.getWorld().getName()))
-                            continue;
-
-                        if(!plot.getPlotOwner().getPlotTypeSetting().hasEnvironment() || plot.getVersion() <= 2)
-                            continue;
-
-                        List<BlockVector2> points = plot.getBlockOutline();
-
-                        for(BlockVector2 point : points) if(point.distanceSq(playerPos2D) < 50*50)
-                            if(!ParticleAPIEnabled)
-                                player.spawnParticle(Particle.FLAME, point.getX(), player.getLocation().getY() + 1, point.getZ(), 1, 0.0 ,0.0,0.0, 0);
-                            else{
-                                Location loc = new Location(player.getWorld(), point.getX(), player.getLocation().getY() + 1, point.getZ());
-                                // create a particle packet
-                                Object packet = particles.FLAME().packet(true, loc);
-
-                                // send this packet to player
-                                particles.sendPacket(player, packet);
-                            }
-                    }
+                    OutlineRenderer.render(player, plots, ParticleAPIEnabled ? particles : null);
                 }
             } catch (SQLException | IOException ex) {
                 Bukkit.getLogger().log(Level.INFO, "A SQL error occurred!", ex);
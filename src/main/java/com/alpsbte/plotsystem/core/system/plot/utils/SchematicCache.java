@@ -0,0 +1,304 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.fastasyncworldedit.core.FaweAPI;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.math.Vector3;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Caches decoded plot schematics, so the same NBT file is not parsed multiple times for a single claim or teleport.
+ * <p>
+ * The metadata (origin, region and dimensions) of every loaded schematic is kept up to {@link #MAX_METADATA_ENTRIES}
+ * files. The block data is kept as well, as long as the total volume of all cached clipboards stays below
+ * {@link #MAX_CLIPBOARD_VOLUME} blocks. Both caches evict the least recently used entry first and reload a file as soon
+ * as its modification time or size has changed.
+ * <p>
+ * Cached clipboards are shared between all callers and must not be modified. Every clipboard returned by
+ * {@link #getClipboard(File)} has to be handed back with {@link #release(Clipboard)}. Evicted clipboards are closed
+ * once they are no longer in use.
+ */
+public final class SchematicCache {
+    private static final int MAX_METADATA_ENTRIES = 4096;
+    private static final long MAX_CLIPBOARD_VOLUME = 16_000_000;
+
+    private static final Map<String, Metadata> metadataCache = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, CachedClipboard> clipboardCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<Clipboard, CachedClipboard> clipboardsInUse = new IdentityHashMap<>();
+    private static long cachedVolume = 0;
+
+    private static long hits = 0;
+    private static long misses = 0;
+
+    private SchematicCache() {}
+
+    /**
+     * Returns the metadata of the given schematic, decodes the file only if it is not cached yet or has changed
+     * @param schematicFile schematic file
+     * @return schematic metadata or null if the file could not be read as schematic
+     * @throws IOException if the schematic fails to load
+     */
+    public static @Nullable Metadata getMetadata(File schematicFile) throws IOException {
+        String key = schematicFile.getAbsolutePath();
+        long lastModified = schematicFile.lastModified();
+        long length = schematicFile.length();
+
+        synchronized (SchematicCache.class) {
+            Metadata metadata = metadataCache.get(key);
+            if (metadata != null && metadata.isValid(lastModified, length)) {
+                hits++;
+                return metadata;
+            }
+        }
+
+        Clipboard clipboard = load(schematicFile, key, lastModified, length, false);
+        return clipboard != null ? getCachedMetadata(key) : null;
+    }
+
+    /**
+     * Returns the decoded clipboard of the given schematic, decodes the file only if it is not cached yet or has changed.
+     * The returned clipboard is shared and must not be modified, it has to be handed back with {@link #release(Clipboard)}.
+     * @param schematicFile schematic file
+     * @return clipboard or null if the file could not be read as schematic
+     * @throws IOException if the schematic fails to load
+     */
+    public static @Nullable Clipboard getClipboard(File schematicFile) throws IOException {
+        String key = schematicFile.getAbsolutePath();
+        long lastModified = schematicFile.lastModified();
+        long length = schematicFile.length();
+
+        synchronized (SchematicCache.class) {
+            CachedClipboard cached = clipboardCache.get(key);
+            if (cached != null && cached.metadata.isValid(lastModified, length)) {
+                hits++;
+                cached.references++;
+                clipboardsInUse.put(cached.clipboard, cached);
+                return cached.clipboard;
+            }
+        }
+
+        return load(schematicFile, key, lastModified, length, true);
+    }
+
+    /**
+     * Hands back a clipboard returned by {@link #getClipboard(File)}, closes it if it has been evicted in the meantime
+     * @param clipboard clipboard, does nothing if null
+     */
+    public static synchronized void release(@Nullable Clipboard clipboard) {
+        if (clipboard == null) return;
+        CachedClipboard cached = clipboardsInUse.get(clipboard);
+        if (cached == null || --cached.references > 0) return;
+
+        clipboardsInUse.remove(clipboard);
+        if (cached.evicted) close(cached);
+    }
+
+    /**
+     * Removes the given schematic from the cache, should be called after a schematic file was replaced or deleted
+     * @param schematicFile schematic file
+     */
+    public static synchronized void invalidate(File schematicFile) {
+        String key = schematicFile.getAbsolutePath();
+        metadataCache.remove(key);
+        removeClipboard(key);
+    }
+
+    public static synchronized void clear() {
+        metadataCache.clear();
+        clipboardCache.values().forEach(SchematicCache::evict);
+        clipboardCache.clear();
+        cachedVolume = 0;
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    public static synchronized long getCachedVolume() {
+        return cachedVolume;
+    }
+
+    private static synchronized Metadata getCachedMetadata(String key) {
+        return metadataCache.get(key);
+    }
+
+    /**
+     * @param reference true if the clipboard is returned to a caller, which has to release it
+     */
+    private static Clipboard load(File schematicFile, String key, long lastModified, long length, boolean reference) throws IOException {
+        // Decode outside the lock, a concurrent load of the same file only costs a second decode
+        Clipboard clipboard = FaweAPI.load(schematicFile);
+
+        synchronized (SchematicCache.class) {
+            misses++;
+            if (clipboard == null) {
+                metadataCache.remove(key);
+                removeClipboard(key);
+                return null;
+            }
+
+            Metadata metadata = new Metadata(clipboard, lastModified, length);
+            metadataCache.put(key, metadata);
+            if (metadataCache.size() > MAX_METADATA_ENTRIES) {
+                Iterator<String> eldest = metadataCache.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+
+            removeClipboard(key);
+            CachedClipboard cached = new CachedClipboard(clipboard, metadata);
+            if (reference) {
+                cached.references++;
+                clipboardsInUse.put(clipboard, cached);
+            }
+
+            if (metadata.getVolume() <= MAX_CLIPBOARD_VOLUME) {
+                clipboardCache.put(key, cached);
+                cachedVolume += metadata.getVolume();
+
+                Iterator<CachedClipboard> eldest = clipboardCache.values().iterator();
+                while (cachedVolume > MAX_CLIPBOARD_VOLUME && eldest.hasNext()) {
+                    CachedClipboard evicted = eldest.next();
+                    cachedVolume -= evicted.metadata.getVolume();
+                    eldest.remove();
+                    evict(evicted);
+                }
+            } else evict(cached);
+        }
+        return clipboard;
+    }
+
+    private static void removeClipboard(String key) {
+        CachedClipboard removed = clipboardCache.remove(key);
+        if (removed != null) {
+            cachedVolume -= removed.metadata.getVolume();
+            evict(removed);
+        }
+    }
+
+    /**
+     * Closes a clipboard which left the cache, or lets the last caller using it close it on release
+     */
+    private static void evict(CachedClipboard cached) {
+        cached.evicted = true;
+        if (cached.references == 0) close(cached);
+    }
+
+    private static void close(CachedClipboard cached) {
+        try {
+            cached.clipboard.close();
+        } catch (Exception ex) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not close cached schematic clipboard!", ex);
+        }
+    }
+
+    private static final class CachedClipboard {
+        private final Clipboard clipboard;
+        private final Metadata metadata;
+        // Only accessed while holding the SchematicCache lock
+        private int references;
+        private boolean evicted;
+
+        private CachedClipboard(Clipboard clipboard, Metadata metadata) {
+            this.clipboard = clipboard;
+            this.metadata = metadata;
+        }
+    }
+
+    public static final class Metadata {
+        private final BlockVector3 origin;
+        private final BlockVector3 minimumPoint;
+        private final BlockVector3 maximumPoint;
+        private final Vector3 center;
+        private final int width;
+        private final int height;
+        private final int length;
+
+        private final long lastModified;
+        private final long fileLength;
+
+        private Metadata(Clipboard clipboard, long lastModified, long fileLength) {
+            this.origin = clipboard.getOrigin();
+            this.minimumPoint = clipboard.getMinimumPoint();
+            this.maximumPoint = clipboard.getMaximumPoint();
+            this.center = clipboard.getRegion().getCenter();
+            this.width = clipboard.getRegion().getWidth();
+            this.height = clipboard.getRegion().getHeight();
+            this.length = clipboard.getRegion().getLength();
+            this.lastModified = lastModified;
+            this.fileLength = fileLength;
+        }
+
+        private boolean isValid(long lastModified, long fileLength) {
+            return this.lastModified == lastModified && this.fileLength == fileLength;
+        }
+
+        public BlockVector3 getOrigin() {
+            return origin;
+        }
+
+        public BlockVector3 getMinimumPoint() {
+            return minimumPoint;
+        }
+
+        public BlockVector3 getMaximumPoint() {
+            return maximumPoint;
+        }
+
+        public Vector3 getCenter() {
+            return center;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public long getVolume() {
+            return (long) width * height * length;
+        }
+    }
+}
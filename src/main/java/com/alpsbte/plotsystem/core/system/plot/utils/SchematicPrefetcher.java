@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.alpsbte.plotsystem.core.system.Builder;
+import com.alpsbte.plotsystem.core.system.CityProject;
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.core.system.plot.generator.DefaultPlotGenerator;
+import com.alpsbte.plotsystem.utils.enums.PlotDifficulty;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Downloads the schematics of the plots which are most likely claimed next, so claiming a plot does not wait for the FTP server.
+ * <p>
+ * For every city project and difficulty, up to {@link #PLOTS_PER_DIFFICULTY} unclaimed plots are kept available locally.
+ * New plots are handed out from these prefetched plots first, see {@link #pickPlot(int, PlotDifficulty)}.
+ * All schematic downloads run on the prefetch executor, concurrent requests for the same file share one download.
+ */
+public final class SchematicPrefetcher {
+    private static final int PLOTS_PER_DIFFICULTY = 3;
+    private static final int PREFETCH_THREADS = 2;
+
+    private static final Set<String> pendingPrefetches = ConcurrentHashMap.newKeySet();
+    private static final Map<String, CompletableFuture<File>> downloads = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> prefetchThread = ThreadLocal.withInitial(() -> false);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static ExecutorService executor;
+    private static boolean shutdown;
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong prefetched = new AtomicLong();
+
+    private SchematicPrefetcher() {}
+
+    /**
+     * Picks a random unclaimed plot of the given city project and difficulty, plots with local schematics are preferred
+     * @param cityID city project id
+     * @param difficulty plot difficulty
+     * @return unclaimed plot or null if there is none left
+     * @throws SQLException SQL database exception
+     */
+    public static Plot pickPlot(int cityID, PlotDifficulty difficulty) throws SQLException {
+        List<Plot> plots = Plot.getPlots(cityID, difficulty, Status.unclaimed);
+        if (plots.isEmpty()) return null;
+
+        // Skip plots which are claimed by another player right now, unless there are no others left
+        List<Plot> freePlots = new ArrayList<>(plots);
+        freePlots.removeIf(plot -> DefaultPlotGenerator.isClaiming(plot.getID()));
+        if (!freePlots.isEmpty()) plots = freePlots;
+
+        List<Plot> localPlots = new ArrayList<>();
+        for (Plot plot : plots) {
+            if (plot.hasLocalOutlinesSchematic()) localPlots.add(plot);
+        }
+
+        Plot plot;
+        if (!localPlots.isEmpty()) {
+            hits.incrementAndGet();
+            plot = localPlots.get(ThreadLocalRandom.current().nextInt(localPlots.size()));
+        } else {
+            misses.incrementAndGet();
+            plot = plots.get(ThreadLocalRandom.current().nextInt(plots.size()));
+        }
+
+        // Replace the handed out plot
+        prefetch(cityID, difficulty);
+        return plot;
+    }
+
+    /**
+     * Downloads the schematics of unclaimed plots of all visible city projects in the background
+     */
+    public static void prefetchAll() {
+        for (CityProject city : CityProject.getCityProjects(true)) {
+            for (PlotDifficulty difficulty : PlotDifficulty.values()) prefetch(city.getID(), difficulty);
+        }
+    }
+
+    /**
+     * Downloads the schematics of unclaimed plots of the given city project and difficulty in the background.
+     * Does nothing if a prefetch for them is already queued.
+     * @param cityID city project id
+     * @param difficulty plot difficulty
+     */
+    public static void prefetch(int cityID, PlotDifficulty difficulty) {
+        String key = cityID + ":" + difficulty.name();
+        if (!pendingPrefetches.add(key)) return;
+
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    prefetchNow(cityID, difficulty);
+                } catch (SQLException ex) {
+                    Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                } catch (Exception ex) {
+                    Bukkit.getLogger().log(Level.WARNING, "Could not prefetch schematics of city project " + cityID + "!", ex);
+                } finally {
+                    pendingPrefetches.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pendingPrefetches.remove(key);
+        }
+    }
+
+    /**
+     * Downloads the schematics of unclaimed plots of the given city project in the background,
+     * for the difficulty the builder would get in this city project
+     * @param cityID city project id
+     * @param builder builder who is likely to claim a plot
+     */
+    public static void prefetch(int cityID, Builder builder) {
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    PlotDifficulty difficulty = Plot.getPlotDifficultyForBuilder(cityID, builder).get();
+                    if (difficulty != null) prefetch(cityID, difficulty);
+                } catch (Exception ex) {
+                    Bukkit.getLogger().log(Level.WARNING, "Could not prefetch schematics of city project " + cityID + "!", ex);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {}
+    }
+
+    /**
+     * Downloads a schematic of the plot on the prefetch executor. If the file is already being downloaded, the pending download is returned.
+     * @param plot plot
+     * @param fileName schematic name without extension
+     * @return future which completes with the downloaded file
+     */
+    public static CompletableFuture<File> download(Plot plot, String fileName) {
+        String key = plot.getID() + "/" + fileName;
+        CompletableFuture<File> pending = downloads.get(key);
+        if (pending != null) return pending;
+
+        CompletableFuture<File> future = new CompletableFuture<>();
+        pending = downloads.putIfAbsent(key, future);
+        if (pending != null) return pending;
+
+        Runnable task = () -> {
+            try {
+                future.complete(plot.downloadSchematic(fileName));
+            } catch (Exception ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                downloads.remove(key, future);
+            }
+        };
+
+        // Prefetch threads download inline, waiting for another task of the same executor could deadlock
+        if (prefetchThread.get()) task.run();
+        else {
+            try {
+                getExecutor().execute(task);
+            } catch (RejectedExecutionException ex) {
+                downloads.remove(key, future);
+                future.completeExceptionally(ex);
+            }
+        }
+        return future;
+    }
+
+    private static void prefetchNow(int cityID, PlotDifficulty difficulty) throws SQLException {
+        CityProject city = CityProject.byID(cityID);
+        if (city == null || city.getCountry().getServer().getFTPConfiguration() == null) return;
+
+        List<Plot> missingPlots = new ArrayList<>();
+        int localPlots = 0;
+        for (Plot plot : Plot.getPlots(cityID, difficulty, Status.unclaimed)) {
+            if (plot.hasLocalOutlinesSchematic()) localPlots++;
+            else missingPlots.add(plot);
+        }
+
+        Collections.shuffle(missingPlots);
+        for (int i = 0; i < missingPlots.size() && localPlots < PLOTS_PER_DIFFICULTY; i++) {
+            Plot plot = missingPlots.get(i);
+            plot.getOutlinesSchematic();
+            if (plot.getVersion() >= 3) plot.getEnvironmentSchematic();
+
+            if (plot.hasLocalOutlinesSchematic()) {
+                localPlots++;
+                prefetched.incrementAndGet();
+            }
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (shutdown) throw new RejectedExecutionException("Schematic prefetcher is shut down");
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(PREFETCH_THREADS, r -> {
+                Thread thread = new Thread(() -> {
+                    prefetchThread.set(true);
+                    r.run();
+                }, "PlotSystem-Schematic-Prefetch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    public static synchronized void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        pendingPrefetches.clear();
+
+        // Release threads which still wait for a download
+        for (CompletableFuture<File> download : downloads.values()) download.cancel(false);
+        downloads.clear();
+    }
+
+    /**
+     * @return number of handed out plots whose schematic was already available locally
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of handed out plots whose schematic had to be downloaded while claiming
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of plots whose schematics were downloaded in advance
+     */
+    public static long getPrefetched() {
+        return prefetched.get();
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+package com.alpsbte.plotsystem.core.system.plot.utils;
+
+import com.alpsbte.plotsystem.core.database.DatabaseConnection;
+import com.alpsbte.plotsystem.core.system.CityProject;
+import com.alpsbte.plotsystem.core.system.Server;
+import com.alpsbte.plotsystem.core.system.plot.AbstractPlot;
+import com.alpsbte.plotsystem.core.system.plot.Plot;
+import com.alpsbte.plotsystem.utils.enums.Status;
+import com.alpsbte.plotsystem.utils.io.FTPManager;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.FileType;
+import org.bukkit.Bukkit;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Keeps the local schematics of unclaimed plots in sync with the FTP/SFTP servers.
+ * <p>
+ * The remote folder of every city is listed once per run and compared with a local manifest, which stores
+ * the remote size and modification time as well as the local modification time and SHA-256 hash of every
+ * downloaded file. Only new or changed files are downloaded, with up to {@link #MAX_PARALLEL_DOWNLOADS}
+ * downloads at the same time. The manifest is written after every city, so a restart continues where the
+ * last run stopped.
+ */
+public final class SchematicSync {
+    private static final int MAX_PARALLEL_DOWNLOADS = 4;
+    private static final String MANIFEST_FILE_NAME = ".sync-manifest";
+    private static final String[] SCHEMATIC_SUFFIXES = { ".schem", ".schematic", "-env.schem", "-env.schematic" };
+
+    private static final AtomicBoolean running = new AtomicBoolean(false);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final Set<CompletableFuture<ManifestEntry>> pendingDownloads = ConcurrentHashMap.newKeySet();
+    private static ExecutorService downloadExecutor;
+    private static volatile boolean shutdown;
+
+    private static volatile long lastRunMillis = -1;
+    private static volatile int lastRunDownloaded;
+    private static volatile int lastRunSkipped;
+    private static volatile int lastRunFailed;
+
+    private SchematicSync() {}
+
+    /**
+     * Synchronizes the schematics of all city projects, does nothing if a run is still in progress
+     */
+    public static void syncAll() {
+        if (!running.compareAndSet(false, true)) return;
+
+        long start = System.currentTimeMillis();
+        int downloaded = 0, skipped = 0, failed = 0;
+        try {
+            for (CityProject city : CityProject.getCityProjects(false)) {
+                if (shutdown) break;
+                try {
+                    int[] result = syncCity(city);
+                    downloaded += result[0];
+                    skipped += result[1];
+                    failed += result[2];
+                } catch (SQLException ex) {
+                    Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+                } catch (IOException | URISyntaxException ex) {
+                    Bukkit.getLogger().log(Level.WARNING, "Could not sync schematics of city project " + city.getID() + "!", ex);
+                }
+            }
+        } finally {
+            lastRunMillis = System.currentTimeMillis() - start;
+            lastRunDownloaded = downloaded;
+            lastRunSkipped = skipped;
+            lastRunFailed = failed;
+            running.set(false);
+        }
+
+        if (downloaded > 0 || failed > 0) {
+            Bukkit.getLogger().log(Level.INFO, "Synced plot schematics in " + lastRunMillis + "ms (" +
+                    downloaded + " downloaded, " + skipped + " unchanged, " + failed + " failed).");
+        }
+    }
+
+    /**
+     * Synchronizes the schematics of all unclaimed plots of the given city project
+     * @return number of downloaded, unchanged and failed files
+     */
+    private static int[] syncCity(CityProject city) throws SQLException, IOException, URISyntaxException {
+        Server server = city.getCountry().getServer();
+        if (server.getFTPConfiguration() == null) return new int[3];
+
+        Map<String, Integer> wantedFiles = new HashMap<>();
+        for (Plot plot : Plot.getPlots(city.getID(), Status.unclaimed)) {
+            for (String suffix : SCHEMATIC_SUFFIXES) wantedFiles.put(plot.getID() + suffix, plot.getID());
+        }
+        if (wantedFiles.isEmpty()) return new int[3];
+
+        String ftpURL = FTPManager.getFTPUrl(server, city.getID()).replaceFirst("finishedSchematics/","");
+        Map<String, RemoteFile> remoteFiles = FTPManager.withSession(ftpURL, remote -> listRemoteFiles(remote, wantedFiles.keySet()));
+
+        File localFolder = Paths.get(PlotUtils.getDefaultSchematicPath(), String.valueOf(server.getID()), String.valueOf(city.getID())).toFile();
+        Manifest manifest = Manifest.load(new File(localFolder, MANIFEST_FILE_NAME));
+
+        Map<String, CompletableFuture<ManifestEntry>> downloads = new LinkedHashMap<>();
+        int skipped = 0;
+        for (Map.Entry<String, RemoteFile> remoteFile : remoteFiles.entrySet()) {
+            File localFile = new File(localFolder, remoteFile.getKey());
+            ManifestEntry entry = manifest.entries.get(remoteFile.getKey());
+
+            if (isUpToDate(entry, remoteFile.getValue(), localFile, manifest)) {
+                skipped++;
+                continue;
+            }
+            try {
+                CompletableFuture<ManifestEntry> download = CompletableFuture.supplyAsync(() ->
+                        download(ftpURL, remoteFile.getKey(), remoteFile.getValue(), localFile), getDownloadExecutor());
+                pendingDownloads.add(download);
+                download.whenComplete((entry, ex) -> pendingDownloads.remove(download));
+                downloads.put(remoteFile.getKey(), download);
+            } catch (RejectedExecutionException ex) {
+                // Plugin is disabling, keep the downloads which are already queued
+                break;
+            }
+        }
+
+        int downloaded = 0, failed = 0;
+        for (Map.Entry<String, CompletableFuture<ManifestEntry>> download : downloads.entrySet()) {
+            ManifestEntry entry;
+            try {
+                entry = download.getValue().join();
+            } catch (CancellationException ex) {
+                entry = null;
+            }
+            if (entry == null) {
+                failed++;
+                continue;
+            }
+
+            downloaded++;
+            manifest.entries.put(download.getKey(), entry);
+            if (entry.contentChanged && !download.getKey().contains("-env")) {
+                // Outlines changed upstream, the stored plot geometry has to be computed again
+                int plotID = wantedFiles.get(download.getKey());
+                DatabaseConnection.cancelQueuedUpdate("plotsystem_plots.geometry#" + plotID);
+                DatabaseConnection.createStatement("UPDATE plotsystem_plots SET geometry = DEFAULT(geometry) WHERE id = ?")
+                        .setValue(plotID).executeUpdate();
+                AbstractPlot.invalidateGeometry(plotID);
+                PlotIndex.remove(plotID);
+            }
+        }
+
+        // Forget files which are not synced anymore, e.g. because the plot was claimed
+        manifest.entries.keySet().retainAll(remoteFiles.keySet());
+        if (!downloads.isEmpty() || manifest.changed) manifest.save();
+        return new int[] { downloaded, skipped, failed };
+    }
+
+    private static Map<String, RemoteFile> listRemoteFiles(FileObject remote, Set<String> wantedFiles) throws FileSystemException {
+        Map<String, RemoteFile> remoteFiles = new HashMap<>();
+        if (!remote.exists()) return remoteFiles;
+
+        for (FileObject child : remote.getChildren()) {
+            try {
+                String name = child.getName().getBaseName();
+                if (child.getType() != FileType.FILE || !wantedFiles.contains(name)) continue;
+                remoteFiles.put(name, new RemoteFile(child.getContent().getSize(), child.getContent().getLastModifiedTime()));
+            } finally {
+                child.close();
+            }
+        }
+        return remoteFiles;
+    }
+
+    private static boolean isUpToDate(ManifestEntry entry, RemoteFile remoteFile, File localFile, Manifest manifest) throws IOException {
+        if (entry == null || !localFile.exists()) return false;
+        if (entry.remoteSize != remoteFile.size || entry.remoteLastModified != remoteFile.lastModified) return false;
+        if (localFile.length() != remoteFile.size) return false;
+        if (localFile.lastModified() == entry.localLastModified) return true;
+
+        // Local file was touched, only download it again if the content has changed
+        if (!hash(localFile).equals(entry.hash)) return false;
+        manifest.entries.put(localFile.getName(), new ManifestEntry(entry.remoteSize, entry.remoteLastModified, localFile.lastModified(), entry.hash));
+        manifest.changed = true;
+        return true;
+    }
+
+    private static ManifestEntry download(String ftpURL, String fileName, RemoteFile remoteFile, File localFile) {
+        File tempFile = new File(localFile.getParentFile(), localFile.getName() + ".part");
+        try {
+            Files.createDirectories(localFile.getParentFile().toPath());
+            if (FTPManager.batch().download(ftpURL, fileName, tempFile).execute() == 0) return null;
+
+            // Geometry might have been stored for a local copy which is not in the manifest, compare the content itself
+            String previousHash = localFile.exists() ? hash(localFile) : null;
+            String hash = hash(tempFile);
+            Files.move(tempFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            SchematicCache.invalidate(localFile);
+            return new ManifestEntry(remoteFile.size, remoteFile.lastModified, localFile.lastModified(), hash, !hash.equals(previousHash));
+        } catch (IOException ex) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not download schematic " + fileName + "!", ex);
+            try {
+                Files.deleteIfExists(tempFile.toPath());
+            } catch (IOException ignored) {}
+            return null;
+        }
+    }
+
+    private static String hash(File file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(new BufferedInputStream(new FileInputStream(file)), MessageDigest.getInstance("SHA-256"))) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // read the whole file to update the digest
+            }
+
+            StringBuilder hash = new StringBuilder();
+            for (byte b : in.getMessageDigest().digest()) hash.append(String.format("%02x", b));
+            return hash.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static synchronized ExecutorService getDownloadExecutor() {
+        if (shutdown) throw new RejectedExecutionException("Schematic sync is shut down");
+        if (downloadExecutor == null) {
+            downloadExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_DOWNLOADS, r -> {
+                Thread thread = new Thread(r, "PlotSystem-Schematic-Sync-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return downloadExecutor;
+    }
+
+    public static synchronized void shutdown() {
+        shutdown = true;
+        if (downloadExecutor != null) {
+            downloadExecutor.shutdownNow();
+            downloadExecutor = null;
+        }
+
+        // Queued downloads never run, release the sync which waits for them
+        for (CompletableFuture<ManifestEntry> download : pendingDownloads) download.cancel(false);
+        pendingDownloads.clear();
+    }
+
+    public static boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return duration of the last run in milliseconds or -1 if there was no run yet
+     */
+    public static long getLastRunMillis() {
+        return lastRunMillis;
+    }
+
+    public static int getLastRunDownloaded() {
+        return lastRunDownloaded;
+    }
+
+    public static int getLastRunSkipped() {
+        return lastRunSkipped;
+    }
+
+    public static int getLastRunFailed() {
+        return lastRunFailed;
+    }
+
+    private static class RemoteFile {
+        private final long size;
+        private final long lastModified;
+
+        private RemoteFile(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class ManifestEntry {
+        private final long remoteSize;
+        private final long remoteLastModified;
+        private final long localLastModified;
+        private final String hash;
+        // Whether the download replaced a different or missing local copy, not stored in the manifest
+        private final boolean contentChanged;
+
+        private ManifestEntry(long remoteSize, long remoteLastModified, long localLastModified, String hash) {
+            this(remoteSize, remoteLastModified, localLastModified, hash, false);
+        }
+
+        private ManifestEntry(long remoteSize, long remoteLastModified, long localLastModified, String hash, boolean contentChanged) {
+            this.remoteSize = remoteSize;
+            this.remoteLastModified = remoteLastModified;
+            this.localLastModified = localLastModified;
+            this.hash = hash;
+            this.contentChanged = contentChanged;
+        }
+    }
+
+    /**
+     * Synced files of a city folder, stored as one tab separated line per file:
+     * name, remote size, remote modification time, local modification time and SHA-256 hash
+     */
+    private static class Manifest {
+        private final File file;
+        private final Map<String, ManifestEntry> entries = new HashMap<>();
+        private boolean changed = false;
+
+        private Manifest(File file) {
+            this.file = file;
+        }
+
+        private static Manifest load(File file) throws IOException {
+            Manifest manifest = new Manifest(file);
+            if (!file.exists()) return manifest;
+
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                String[] values = line.split("\t");
+                if (values.length != 5) continue;
+                try {
+                    manifest.entries.put(values[0], new ManifestEntry(Long.parseLong(values[1]), Long.parseLong(values[2]), Long.parseLong(values[3]), values[4]));
+                } catch (NumberFormatException ignored) {
+                    // Broken entries are downloaded again
+                }
+            }
+            return manifest;
+        }
+
+        private void save() throws IOException {
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, ManifestEntry> entry : entries.entrySet()) {
+                ManifestEntry value = entry.getValue();
+                lines.add(entry.getKey() + "\t" + value.remoteSize + "\t" + value.remoteLastModified + "\t" + value.localLastModified + "\t" + value.hash);
+            }
+
+            Files.createDirectories(file.getParentFile().toPath());
+            Path tempFile = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            changed = false;
+        }
+    }
+}
@@ -26,12 +26,11 @@ package com.alpsbte.plotsystem.core.system.plot.world;
 
 import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.core.system.plot.utils.PlotUtils;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotGeometry;
 import com.alpsbte.plotsystem.utils.Utils;
-import com.fastasyncworldedit.core.FaweAPI;
 import com.alpsbte.plotsystem.utils.io.LangPaths;
 import com.alpsbte.plotsystem.utils.io.LangUtil;
 import com.google.common.annotations.Beta;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -99,8 +98,8 @@ public class CityPlotWorld extends PlotWorld {
      */
     @Beta
     public int getWorldHeight() throws IOException {
-        Clipboard clipboard = FaweAPI.load(getPlot().getOutlinesSchematic());
-        int plotHeight = clipboard != null ? clipboard.getMinimumPoint().getBlockY() : MIN_WORLD_HEIGHT;
+        PlotGeometry geometry = getPlot().getGeometry();
+        int plotHeight = geometry != null ? geometry.getMinimumPoint().getBlockY() : MIN_WORLD_HEIGHT;
 
         // Plots created below min world height are not supported
         if (plotHeight < MIN_WORLD_HEIGHT) throw new IOException("Plot height is not supported");
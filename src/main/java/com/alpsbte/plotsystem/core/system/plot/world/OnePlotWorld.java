@@ -73,6 +73,12 @@ public class OnePlotWorld extends PlotWorld {
         return false;
     }
 
+    @Override
+    public boolean deleteWorld() {
+        // Put the world back into the pool instead of deleting it
+        return PlotWorldPool.recycle(this) || super.deleteWorld();
+    }
+
     @Override
     public boolean loadWorld() {
         // Generate plot if it doesn't exist
@@ -90,6 +96,12 @@ public class OnePlotWorld extends PlotWorld {
                             return true;
                         }
 
+                        @Override
+                        protected boolean isAsync() {
+                            // The world has to be available when loadWorld returns
+                            return false;
+                        }
+
                         @Override
                         protected void onComplete(boolean failed, boolean unloadWorld) throws SQLException {
                             getPlot().getPermissions().clearAllPerms();
@@ -109,11 +121,19 @@ public class OnePlotWorld extends PlotWorld {
         } else return super.loadWorld();
     }
 
+    /**
+     * @return true if the world is deleted when it gets unloaded, e.g. because the plot is completed
+     * @throws SQLException SQL database exception
+     */
+    public boolean isDeletedOnUnload() throws SQLException {
+        return getPlot() != null && (getPlot().getStatus() == Status.completed || getPlot().getPlotType() == PlotType.TUTORIAL);
+    }
+
     @Override
     public boolean unloadWorld(boolean movePlayers) {
         if (super.unloadWorld(movePlayers)) {
             try {
-                if (getPlot() != null && (getPlot().getStatus() == Status.completed || getPlot().getPlotType() == PlotType.TUTORIAL)) {
+                if (isDeletedOnUnload()) {
                     deleteWorld();
                     return true;
                 }
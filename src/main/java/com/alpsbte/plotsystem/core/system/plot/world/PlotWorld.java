@@ -29,11 +29,10 @@ import com.alpsbte.plotsystem.core.system.plot.AbstractPlot;
 import com.alpsbte.plotsystem.core.system.plot.Plot;
 import com.alpsbte.plotsystem.core.system.plot.TutorialPlot;
 import com.alpsbte.plotsystem.core.system.plot.generator.AbstractPlotGenerator;
+import com.alpsbte.plotsystem.core.system.plot.utils.PlotGeometry;
 import com.alpsbte.plotsystem.utils.Utils;
-import com.fastasyncworldedit.core.FaweAPI;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.managers.RegionManager;
@@ -81,12 +80,7 @@ public class PlotWorld implements IWorld {
     public boolean deleteWorld() {
         if (isWorldGenerated() && loadWorld()) {
             if (mvCore.getMVWorldManager().deleteWorld(getWorldName(), true, true) && mvCore.saveWorldConfig()) {
-                try {
-                    File multiverseInventoriesConfig = new File(PlotSystem.DependencyManager.getMultiverseInventoriesConfigPath(getWorldName()));
-                    File worldGuardConfig = new File(PlotSystem.DependencyManager.getWorldGuardConfigPath(getWorldName()));
-                    if (multiverseInventoriesConfig.exists()) FileUtils.deleteDirectory(multiverseInventoriesConfig);
-                    if (worldGuardConfig.exists()) FileUtils.deleteDirectory(worldGuardConfig);
-                } catch (IOException ex) {
+                if (!deleteWorldConfigs()) {
                     Bukkit.getLogger().log(Level.WARNING, "Could not delete config files for world " + getWorldName() + "!");
                     return false;
                 }
@@ -96,9 +90,35 @@ public class PlotWorld implements IWorld {
         return false;
     }
 
+    /**
+     * Deletes the Multiverse-Inventories and WorldGuard config files of the world
+     * @return true if the config files have been deleted
+     */
+    protected boolean deleteWorldConfigs() {
+        return deleteWorldConfigs(getWorldName());
+    }
+
+    /**
+     * Deletes the Multiverse-Inventories and WorldGuard config files of the given world
+     * @param worldName name of the world
+     * @return true if the config files have been deleted
+     */
+    static boolean deleteWorldConfigs(String worldName) {
+        try {
+            File multiverseInventoriesConfig = new File(PlotSystem.DependencyManager.getMultiverseInventoriesConfigPath(worldName));
+            File worldGuardConfig = new File(PlotSystem.DependencyManager.getWorldGuardConfigPath(worldName));
+            if (multiverseInventoriesConfig.exists()) FileUtils.deleteDirectory(multiverseInventoriesConfig);
+            if (worldGuardConfig.exists()) FileUtils.deleteDirectory(worldGuardConfig);
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     @Override
     public boolean loadWorld() {
         if(isWorldGenerated()) {
+            PlotWorldManager.touch(getWorldName());
             if (isWorldLoaded()) {
                 return true;
             } else return mvCore.getMVWorldManager().loadWorld(getWorldName()) || isWorldLoaded();
@@ -126,8 +146,9 @@ public class PlotWorld implements IWorld {
 
     @Override
     public boolean teleportPlayer(@NotNull Player player) {
-        if (loadWorld() && plot != null) {
-            player.teleport(getSpawnPoint(plot instanceof TutorialPlot ? null : plot.getCenter()));
+        Location spawnPoint;
+        if (loadWorld() && plot != null && (spawnPoint = getSpawnPoint(plot instanceof TutorialPlot ? null : plot.getCenter())) != null) {
+            player.teleport(spawnPoint);
             return true;
         } else Bukkit.getLogger().log(Level.WARNING, "Could not teleport player " + player.getName() + " to world " + worldName + "!");
         return false;
@@ -158,9 +179,9 @@ public class PlotWorld implements IWorld {
     @Override
     public int getPlotHeightCentered() throws IOException {
         if (plot != null) {
-            Clipboard clipboard = FaweAPI.load(plot.getOutlinesSchematic());
-            if (clipboard != null) {
-                return (int) clipboard.getRegion().getCenter().getY() - clipboard.getMinimumPoint().getBlockY();
+            PlotGeometry geometry = plot.getGeometry();
+            if (geometry != null) {
+                return (int) geometry.getCenter().getY() - geometry.getMinimumPoint().getBlockY();
             }
         }
         return 0;
@@ -0,0 +1,267 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot.world;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.utils.io.ConfigPaths;
+import com.alpsbte.plotsystem.utils.io.ConfigUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Decides when plot worlds (p-, c- and t- worlds) are unloaded, so worlds are not loaded and unloaded over and over again.
+ * <p>
+ * A world is kept loaded as long as there are players in it or pending operations hold a reference, see {@link #acquire(String)}.
+ * Idle worlds stay loaded for at least {@link #MIN_IDLE_MILLIS}. After that, the least recently used idle worlds are unloaded
+ * as soon as the estimated memory of all plot worlds exceeds the configured budget, and any world is unloaded once it has
+ * been idle for {@link #MAX_IDLE_MILLIS}. Worlds which are deleted on unload, like completed and tutorial worlds, are
+ * unloaded as soon as they are not used anymore.
+ */
+public final class PlotWorldManager {
+    private static final long MIN_IDLE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final long MAX_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long SWEEP_INTERVAL_TICKS = 20 * 20;
+    private static final int DEFAULT_MEMORY_BUDGET_MB = 1024;
+
+    // Rough estimate of the memory a loaded plot world chunk takes
+    private static final long BYTES_PER_CHUNK = 64 * 1024;
+
+    private static final Map<String, AtomicInteger> references = new ConcurrentHashMap<>();
+    private static final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+    private static final Map<String, PlotWorld> idleWorlds = new ConcurrentHashMap<>();
+    // Worlds which are deleted on unload, so there is no reason to keep them loaded
+    private static final Set<String> deletableWorlds = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong unloaded = new AtomicLong();
+    private static final AtomicLong evicted = new AtomicLong();
+
+    private PlotWorldManager() {}
+
+    /**
+     * Starts unloading idle plot worlds
+     */
+    public static void init() {
+        Bukkit.getScheduler().runTaskTimer(PlotSystem.getPlugin(), PlotWorldManager::sweep, SWEEP_INTERVAL_TICKS, SWEEP_INTERVAL_TICKS);
+    }
+
+    /**
+     * Unloads all worlds which are waiting to become idle, so completed and tutorial worlds are still cleaned up on shutdown
+     */
+    public static void shutdown() {
+        for (String worldName : new ArrayList<>(idleWorlds.keySet())) {
+            if (Bukkit.getWorld(worldName) != null) unload(worldName);
+        }
+        idleWorlds.clear();
+        deletableWorlds.clear();
+    }
+
+    /**
+     * Keeps the world loaded until the reference is released again
+     * @param worldName name of the world
+     */
+    public static void acquire(String worldName) {
+        // Increment inside compute, so a concurrent release can not remove the counter in between
+        references.compute(worldName, (name, count) -> {
+            if (count == null) count = new AtomicInteger();
+            count.incrementAndGet();
+            return count;
+        });
+        touch(worldName);
+    }
+
+    /**
+     * Releases a reference taken with {@link #acquire(String)}
+     * @param worldName name of the world
+     */
+    public static void release(String worldName) {
+        references.computeIfPresent(worldName, (name, count) -> count.decrementAndGet() <= 0 ? null : count);
+        touch(worldName);
+    }
+
+    /**
+     * Marks the world as used, which resets its idle time
+     * @param worldName name of the world
+     */
+    public static void touch(String worldName) {
+        lastUsed.put(worldName, System.currentTimeMillis());
+    }
+
+    /**
+     * Unloads the world once it is idle instead of unloading it right away
+     * @param world plot world which is not needed anymore
+     */
+    public static void unloadWhenIdle(PlotWorld world) {
+        idleWorlds.put(world.getWorldName(), world);
+        touch(world.getWorldName());
+
+        try {
+            if (!(world instanceof OnePlotWorld) || !((OnePlotWorld) world).isDeletedOnUnload()) return;
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+            return;
+        }
+        deletableWorlds.add(world.getWorldName());
+
+        // Otherwise the next sweep unloads it once it is not used anymore
+        World bukkitWorld = Bukkit.getWorld(world.getWorldName());
+        if (Bukkit.isPrimaryThread() && bukkitWorld != null && isUnused(bukkitWorld) && unload(world.getWorldName())) unloaded.incrementAndGet();
+    }
+
+    /**
+     * @param worldName name of the world
+     * @return true if the world is a plot world which is managed by this class
+     */
+    public static boolean isManaged(String worldName) {
+        return PlotWorld.isOnePlotWorld(worldName) || PlotWorld.isCityPlotWorld(worldName);
+    }
+
+    private static void sweep() {
+        long now = System.currentTimeMillis();
+        long memory = 0;
+        List<World> idle = new ArrayList<>();
+        List<World> deletable = new ArrayList<>();
+
+        for (World world : Bukkit.getWorlds()) {
+            if (!isManaged(world.getName())) continue;
+            memory += estimateMemory(world);
+
+            if (!isUnused(world)) {
+                touch(world.getName());
+            } else if (deletableWorlds.contains(world.getName())) {
+                deletable.add(world);
+            } else if (now - lastUsed.computeIfAbsent(world.getName(), name -> now) >= MIN_IDLE_MILLIS) {
+                idle.add(world);
+            }
+        }
+
+        for (World world : deletable) {
+            long worldMemory = estimateMemory(world);
+            if (unload(world.getName())) {
+                memory -= worldMemory;
+                unloaded.incrementAndGet();
+            }
+        }
+
+        // Unload the least recently used worlds first
+        idle.sort(Comparator.comparingLong(world -> lastUsed.getOrDefault(world.getName(), now)));
+        long memoryBudget = getMemoryBudget();
+        for (World world : idle) {
+            boolean overBudget = memory > memoryBudget;
+            if (!overBudget && now - lastUsed.getOrDefault(world.getName(), now) < MAX_IDLE_MILLIS) continue;
+
+            long worldMemory = estimateMemory(world);
+            if (unload(world.getName())) {
+                memory -= worldMemory;
+                unloaded.incrementAndGet();
+                if (overBudget) evicted.incrementAndGet();
+            }
+        }
+
+        // Forget worlds which have been unloaded by other means
+        lastUsed.keySet().removeIf(name -> Bukkit.getWorld(name) == null && !references.containsKey(name));
+        idleWorlds.keySet().removeIf(name -> Bukkit.getWorld(name) == null);
+        deletableWorlds.removeIf(name -> Bukkit.getWorld(name) == null);
+    }
+
+    private static boolean isUnused(World world) {
+        return world.getPlayers().isEmpty() && !references.containsKey(world.getName());
+    }
+
+    private static boolean unload(String worldName) {
+        try {
+            PlotWorld world = idleWorlds.remove(worldName);
+            if (world == null) world = PlotWorld.getPlotWorldByName(worldName);
+            lastUsed.remove(worldName);
+            deletableWorlds.remove(worldName);
+            return world.unloadWorld(false);
+        } catch (SQLException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "A SQL error occurred!", ex);
+        }
+        return false;
+    }
+
+    private static long estimateMemory(World world) {
+        return world.getLoadedChunks().length * BYTES_PER_CHUNK;
+    }
+
+    private static long getMemoryBudget() {
+        return ConfigUtil.getInstance().configs[0].getInt(ConfigPaths.WORLD_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET_MB) * 1024L * 1024L;
+    }
+
+    /**
+     * @return number of loaded plot worlds
+     */
+    public static int getLoadedWorldCount() {
+        int count = 0;
+        for (World world : Bukkit.getWorlds()) {
+            if (isManaged(world.getName())) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return estimated memory of all loaded plot worlds in bytes
+     */
+    public static long getEstimatedMemory() {
+        long memory = 0;
+        for (World world : Bukkit.getWorlds()) {
+            if (isManaged(world.getName())) memory += estimateMemory(world);
+        }
+        return memory;
+    }
+
+    /**
+     * @return number of worlds which hold a reference
+     */
+    public static int getReferencedWorldCount() {
+        return references.size();
+    }
+
+    /**
+     * @return number of idle worlds which have been unloaded
+     */
+    public static long getUnloaded() {
+        return unloaded.get();
+    }
+
+    /**
+     * @return number of idle worlds which have been unloaded because the memory budget was exceeded
+     */
+    public static long getEvicted() {
+        return evicted.get();
+    }
+}
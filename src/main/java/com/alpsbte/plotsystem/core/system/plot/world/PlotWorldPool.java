@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.core.system.plot.world;
+
+import com.alpsbte.plotsystem.PlotSystem;
+import com.alpsbte.plotsystem.core.system.plot.generator.PlotWorldGenerator;
+import com.alpsbte.plotsystem.utils.Utils;
+import com.alpsbte.plotsystem.utils.io.ConfigPaths;
+import com.alpsbte.plotsystem.utils.io.ConfigUtil;
+import org.apache.commons.io.FileUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Keeps a pool of pre-generated void worlds, so claiming a plot in its own world does not have to create a new world.
+ * <p>
+ * Pooled worlds are unloaded world folders which are not registered in Multiverse. On claim, a pooled folder is renamed
+ * to the plot world name and loaded by the {@link PlotWorldGenerator}. Deleted plot worlds are wiped and put back into the pool.
+ * The pool is refilled on the main thread, one world at a time and only while the server is not under load.
+ */
+public final class PlotWorldPool {
+    private static final String POOL_PREFIX = "plotsystem-pool-";
+    private static final int DEFAULT_POOL_SIZE = 3;
+    private static final long REFILL_INTERVAL_TICKS = 20 * 30;
+    private static final double MIN_REFILL_TPS = 19.5;
+
+    // Folders which contain the blocks, entities and player data of a world
+    private static final String[] WORLD_DATA = {"region", "entities", "poi", "data", "playerdata", "advancements", "stats", "DIM-1", "DIM1", "uid.dat", "session.lock"};
+
+    private static final Deque<String> pool = new ConcurrentLinkedDeque<>();
+
+    private static final AtomicLong claimed = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong recycled = new AtomicLong();
+    private static final AtomicLong created = new AtomicLong();
+
+    private PlotWorldPool() {}
+
+    /**
+     * Adds the pooled worlds from the world container to the pool and starts refilling the pool
+     */
+    public static void init() {
+        File[] folders = Bukkit.getWorldContainer().listFiles((dir, name) -> name.startsWith(POOL_PREFIX));
+        if (folders != null) {
+            for (File folder : folders) {
+                if (new File(folder, "level.dat").exists()) {
+                    pool.add(folder.getName());
+                } else FileUtils.deleteQuietly(folder);
+            }
+        }
+
+        Bukkit.getScheduler().runTaskTimer(PlotSystem.getPlugin(), PlotWorldPool::refill, REFILL_INTERVAL_TICKS, REFILL_INTERVAL_TICKS);
+    }
+
+    /**
+     * Moves a pooled world to the given world name, the world has to be loaded afterwards
+     * @param worldName name of the plot world
+     * @return true if a pooled world has been claimed, false if the pool is empty or the world folder already exists
+     */
+    public static boolean claim(String worldName) {
+        File target = new File(Bukkit.getWorldContainer(), worldName);
+        if (target.exists()) return false;
+
+        String pooledWorld;
+        while ((pooledWorld = pool.poll()) != null) {
+            try {
+                Files.move(new File(Bukkit.getWorldContainer(), pooledWorld).toPath(), target.toPath());
+                claimed.incrementAndGet();
+                return true;
+            } catch (IOException ex) {
+                Bukkit.getLogger().log(Level.WARNING, "Could not claim pooled world " + pooledWorld + "!", ex);
+            }
+        }
+        misses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Removes the plot world from Multiverse, wipes its blocks and entities and puts it back into the pool
+     * @param world plot world to recycle
+     * @return true if the world has been recycled or deleted, false if the pool is full or disabled
+     */
+    public static boolean recycle(PlotWorld world) {
+        if (pool.size() >= getPoolSize() || !world.isWorldGenerated()) return false;
+
+        String worldName = world.getWorldName();
+        World bukkitWorld = world.getBukkitWorld();
+        if (bukkitWorld != null) {
+            for (Player player : bukkitWorld.getPlayers()) {
+                player.teleport(Utils.getSpawnLocation());
+            }
+            if (!Bukkit.unloadWorld(bukkitWorld, false)) return false;
+        }
+
+        if (!PlotSystem.DependencyManager.getMultiverseCore().getMVWorldManager().removeWorldFromConfig(worldName)) return false;
+        PlotSystem.DependencyManager.getMultiverseCore().saveWorldConfig();
+        if (!world.deleteWorldConfigs()) Bukkit.getLogger().log(Level.WARNING, "Could not delete config files for world " + worldName + "!");
+
+        File folder = new File(Bukkit.getWorldContainer(), worldName);
+        try {
+            wipeWorld(folder);
+            String pooledWorld = POOL_PREFIX + UUID.randomUUID();
+            Files.move(folder.toPath(), new File(Bukkit.getWorldContainer(), pooledWorld).toPath());
+            pool.add(pooledWorld);
+            recycled.incrementAndGet();
+        } catch (IOException ex) {
+            Bukkit.getLogger().log(Level.WARNING, "Could not recycle world " + worldName + "!", ex);
+            FileUtils.deleteQuietly(folder);
+        }
+        return !folder.exists();
+    }
+
+    /**
+     * Creates one new pooled world if the pool is not full and the server is not under load
+     */
+    private static void refill() {
+        if (pool.size() >= getPoolSize() || Bukkit.getTPS()[0] < MIN_REFILL_TPS) return;
+
+        String pooledWorld = POOL_PREFIX + UUID.randomUUID();
+        World bukkitWorld = PlotWorldGenerator.createWorldCreator(pooledWorld).createWorld();
+        if (bukkitWorld == null) return;
+
+        if (Bukkit.unloadWorld(bukkitWorld, true)) {
+            // Loading the world created config folders under the pool name, which would never be cleaned up
+            if (!PlotWorld.deleteWorldConfigs(pooledWorld)) Bukkit.getLogger().log(Level.WARNING, "Could not delete config files for world " + pooledWorld + "!");
+            pool.add(pooledWorld);
+            created.incrementAndGet();
+        } else Bukkit.getLogger().log(Level.WARNING, "Could not unload pooled world " + pooledWorld + "!");
+    }
+
+    private static void wipeWorld(File folder) throws IOException {
+        for (String data : WORLD_DATA) {
+            File file = new File(folder, data);
+            if (file.isDirectory()) {
+                FileUtils.deleteDirectory(file);
+            } else if (file.exists()) Files.delete(file.toPath());
+        }
+    }
+
+    private static int getPoolSize() {
+        return Math.max(ConfigUtil.getInstance().configs[0].getInt(ConfigPaths.WORLD_POOL_SIZE, DEFAULT_POOL_SIZE), 0);
+    }
+
+    /**
+     * @return number of worlds which are available in the pool
+     */
+    public static int getAvailable() {
+        return pool.size();
+    }
+
+    /**
+     * @return number of plot worlds which have been taken from the pool
+     */
+    public static long getClaimed() {
+        return claimed.get();
+    }
+
+    /**
+     * @return number of plot worlds which had to be created because the pool was empty
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of plot worlds which have been put back into the pool
+     */
+    public static long getRecycled() {
+        return recycled.get();
+    }
+
+    /**
+     * @return number of pooled worlds which have been created
+     */
+    public static long getCreated() {
+        return created.get();
+    }
+}
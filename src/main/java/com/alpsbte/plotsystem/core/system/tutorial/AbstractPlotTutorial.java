@@ -29,6 +29,7 @@ import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.system.Builder;
 import com.alpsbte.plotsystem.core.system.plot.TutorialPlot;
 import com.alpsbte.plotsystem.core.system.plot.generator.TutorialPlotGenerator;
+import com.alpsbte.plotsystem.core.system.plot.world.PlotWorldManager;
 import com.alpsbte.plotsystem.core.system.tutorial.stage.AbstractPlotStage;
 import com.alpsbte.plotsystem.core.system.tutorial.stage.AbstractStage;
 import com.alpsbte.plotsystem.core.system.tutorial.stage.TutorialNPC;
@@ -171,7 +172,7 @@ public abstract class AbstractPlotTutorial extends AbstractTutorial implements P
         if (!getPlayerUUID().toString().equals(playerUUID.toString())) return;
         super.onTutorialStop(playerUUID);
         try {
-            if (plot != null && plot.getWorld().isWorldLoaded()) plot.getWorld().unloadWorld(true);
+            if (plot != null && plot.getWorld().isWorldLoaded()) PlotWorldManager.unloadWhenIdle(plot.getWorld());
         } catch (SQLException ex) {
             onException(ex);
         }
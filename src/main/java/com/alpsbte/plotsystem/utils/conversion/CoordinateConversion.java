@@ -72,6 +72,28 @@ public class CoordinateConversion {
         return projection.fromGeo(lon, lat);
     }
 
+    /**
+     * Converts Minecraft coordinates to geographic coordinates in bulk
+     *
+     * @param xCords - Minecraft x-axis coordinates
+     * @param zCords - Minecraft z-axis coordinates
+     * @param out - receives WG84 EPSG:4979 coordinates as {lon,lat} pairs in degrees, NaN for points out of the projection bounds
+     */
+    public static void convertToGeo(double[] xCords, double[] zCords, double[] out) {
+        projection.toGeo(xCords, zCords, out);
+    }
+
+    /**
+     * Gets in-game coordinates from geographical locations in bulk
+     *
+     * @param lons Geographical Longitudes
+     * @param lats Geographic Latitudes
+     * @param out receives the in-game coordinates as (x, z) pairs, NaN for points out of the projection bounds
+     */
+    public static void convertFromGeo(double[] lons, double[] lats, double[] out) {
+        projection.fromGeo(lons, lats, out);
+    }
+
     /**
      * Get formatted numeric geographic coordinates
      *
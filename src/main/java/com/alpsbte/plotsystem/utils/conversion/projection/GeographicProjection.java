@@ -6,6 +6,8 @@ import com.alpsbte.plotsystem.utils.conversion.projection.airocean.ModifiedAiroc
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Support for various projection types.
@@ -35,6 +37,12 @@ public abstract class GeographicProjection {
         projections.put("bteairocean", new ModifiedAirocean());
     }
 
+    /**
+     * Number of points converted by a single fork-join task of the batch conversions.
+     * Batches of at most this size are converted on the calling thread.
+     */
+    private static final int BATCH_CHUNK_SIZE = 4096;
+
     /**
      * Orients a projection
      *
@@ -83,6 +91,87 @@ public abstract class GeographicProjection {
      */
     public abstract double[] fromGeo(double longitude, double latitude) throws OutOfProjectionBoundsException;
 
+    /**
+     * Converts map coordinates to geographic coordinates in bulk.
+     * Large batches are split into chunks which are converted in parallel on the common fork-join pool.
+     *
+     * @param xs - x map coordinates
+     * @param ys - y map coordinates
+     * @param out - receives the {longitude, latitude} pairs in degrees, points out of the projection bounds are set to NaN
+     */
+    public void toGeo(double[] xs, double[] ys, double[] out) {
+        int count = interleave(xs, ys, out);
+        if (count <= BATCH_CHUNK_SIZE) this.toGeoInPlace(out, 0, count);
+        else ForkJoinPool.commonPool().invoke(new BatchConversion(this, out, 0, count, true));
+    }
+
+    /**
+     * Converts geographic coordinates to map coordinates in bulk.
+     * Large batches are split into chunks which are converted in parallel on the common fork-join pool.
+     *
+     * @param longitudes - longitudes, in degrees
+     * @param latitudes - latitudes, in degrees
+     * @param out - receives the {x, y} map coordinate pairs, points out of the projection bounds are set to NaN
+     */
+    public void fromGeo(double[] longitudes, double[] latitudes, double[] out) {
+        int count = interleave(longitudes, latitudes, out);
+        if (count <= BATCH_CHUNK_SIZE) this.fromGeoInPlace(out, 0, count);
+        else ForkJoinPool.commonPool().invoke(new BatchConversion(this, out, 0, count, false));
+    }
+
+    /**
+     * Converts the interleaved map coordinates {x, y} of the points [from, to) to geographic coordinates in place.
+     * Projections override this to convert the points without allocating intermediate arrays.
+     *
+     * @param coords - interleaved coordinates
+     * @param from - index of the first point
+     * @param to - index after the last point
+     */
+    protected void toGeoInPlace(double[] coords, int from, int to) {
+        for (int i = from * 2; i < to * 2; i += 2) {
+            try {
+                double[] geo = this.toGeo(coords[i], coords[i + 1]);
+                coords[i] = geo[0];
+                coords[i + 1] = geo[1];
+            } catch (OutOfProjectionBoundsException e) {
+                coords[i] = Double.NaN;
+                coords[i + 1] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Converts the interleaved geographic coordinates {longitude, latitude} of the points [from, to) to map coordinates in place.
+     * Projections override this to convert the points without allocating intermediate arrays.
+     *
+     * @param coords - interleaved coordinates
+     * @param from - index of the first point
+     * @param to - index after the last point
+     */
+    protected void fromGeoInPlace(double[] coords, int from, int to) {
+        for (int i = from * 2; i < to * 2; i += 2) {
+            try {
+                double[] pos = this.fromGeo(coords[i], coords[i + 1]);
+                coords[i] = pos[0];
+                coords[i + 1] = pos[1];
+            } catch (OutOfProjectionBoundsException e) {
+                coords[i] = Double.NaN;
+                coords[i + 1] = Double.NaN;
+            }
+        }
+    }
+
+    private static int interleave(double[] first, double[] second, double[] out) {
+        if (first.length != second.length) throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        if (out.length < first.length * 2) throw new IllegalArgumentException("Output array must hold two values per point");
+
+        for (int i = 0; i < first.length; i++) {
+            out[i * 2] = first[i];
+            out[i * 2 + 1] = second[i];
+        }
+        return first.length;
+    }
+
     /**
      * Gives an estimation of the scale of this projection.
      * This is just an estimation, as distortion is inevitable when projecting a sphere onto a flat surface,
@@ -143,4 +232,32 @@ public abstract class GeographicProjection {
     public enum Orientation {
         none, upright, swapped
     }
+
+    private static final class BatchConversion extends RecursiveAction {
+        private final GeographicProjection projection;
+        private final double[] coords;
+        private final int from, to;
+        private final boolean toGeo;
+
+        private BatchConversion(GeographicProjection projection, double[] coords, int from, int to, boolean toGeo) {
+            this.projection = projection;
+            this.coords = coords;
+            this.from = from;
+            this.to = to;
+            this.toGeo = toGeo;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= BATCH_CHUNK_SIZE) {
+                if (this.toGeo) this.projection.toGeoInPlace(this.coords, this.from, this.to);
+                else this.projection.fromGeoInPlace(this.coords, this.from, this.to);
+                return;
+            }
+
+            int mid = (this.from + this.to) >>> 1;
+            invokeAll(new BatchConversion(this.projection, this.coords, this.from, mid, this.toGeo),
+                    new BatchConversion(this.projection, this.coords, mid, this.to, this.toGeo));
+        }
+    }
 }
@@ -16,6 +16,17 @@ public class InvertableVectorField {
 
 
     public double[] getInterpolatedVector(double x, double y) {
+        double[] out = new double[6];
+        this.getInterpolatedVector(x, y, out);
+        return out;
+    }
+
+    /**
+     * Interpolates the vector and its derivatives at the given position
+     *
+     * @param out - receives {x, y, dx/du, dx/dv, dy/du, dy/dv}, has to hold at least 6 values
+     */
+    public void getInterpolatedVector(double x, double y, double[] out) {
         //scale up triangle to be triangleSize across
         x *= this.sideLength;
         y *= this.sideLength;
@@ -80,14 +91,29 @@ public class InvertableVectorField {
         double w2 = 2 * (y - y3) / MathUtils.ROOT3;
         double w3 = 1 - w1 - w2;
 
-        return new double[]{ valx1 * w1 + valx2 * w2 + valx3 * w3, valy1 * w1 + valy2 * w2 + valy3 * w3,
-                (valx3 - valx1) * this.sideLength, this.sideLength * flip * (2 * valx2 - valx1 - valx3) / MathUtils.ROOT3,
-                (valy3 - valy1) * this.sideLength, this.sideLength * flip * (2 * valy2 - valy1 - valy3) / MathUtils.ROOT3 };
+        out[0] = valx1 * w1 + valx2 * w2 + valx3 * w3;
+        out[1] = valy1 * w1 + valy2 * w2 + valy3 * w3;
+        out[2] = (valx3 - valx1) * this.sideLength;
+        out[3] = this.sideLength * flip * (2 * valx2 - valx1 - valx3) / MathUtils.ROOT3;
+        out[4] = (valy3 - valy1) * this.sideLength;
+        out[5] = this.sideLength * flip * (2 * valy2 - valy1 - valy3) / MathUtils.ROOT3;
     }
 
     public double[] applyNewtonsMethod(double expectedf, double expectedg, double xest, double yest, int iter) {
+        double[] out = new double[6];
+        this.applyNewtonsMethod(expectedf, expectedg, xest, yest, iter, out);
+        return new double[]{ out[0], out[1] };
+    }
+
+    /**
+     * Finds the position whose interpolated vector is the expected vector
+     *
+     * @param out - used as scratch space and receives the {x, y} estimate, has to hold at least 6 values
+     */
+    public void applyNewtonsMethod(double expectedf, double expectedg, double xest, double yest, int iter, double[] out) {
+        double[] c = out;
         for (int i = 0; i < iter; i++) {
-            double[] c = this.getInterpolatedVector(xest, yest);
+            this.getInterpolatedVector(xest, yest, c);
 
             double f = c[0] - expectedf;
             double g = c[1] - expectedg;
@@ -102,6 +128,7 @@ public class InvertableVectorField {
             yest -= determinant * (-dgdx * f + dfdx * g);
         }
 
-        return new double[]{ xest, yest };
+        out[0] = xest;
+        out[1] = yest;
     }
 }
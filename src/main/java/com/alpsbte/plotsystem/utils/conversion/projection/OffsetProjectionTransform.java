@@ -42,4 +42,22 @@ public class OffsetProjectionTransform extends ProjectionTransform {
         pos[1] += this.deltaY;
         return pos;
     }
+
+    @Override
+    protected void toGeoInPlace(double[] coords, int from, int to) {
+        for (int i = from * 2; i < to * 2; i += 2) {
+            coords[i] -= this.deltaX;
+            coords[i + 1] -= this.deltaY;
+        }
+        this.input.toGeoInPlace(coords, from, to);
+    }
+
+    @Override
+    protected void fromGeoInPlace(double[] coords, int from, int to) {
+        this.input.fromGeoInPlace(coords, from, to);
+        for (int i = from * 2; i < to * 2; i += 2) {
+            coords[i] += this.deltaX;
+            coords[i + 1] += this.deltaY;
+        }
+    }
 }
@@ -38,6 +38,24 @@ public class ScaleProjectionTransform extends ProjectionTransform {
         return p;
     }
 
+    @Override
+    protected void toGeoInPlace(double[] coords, int from, int to) {
+        for (int i = from * 2; i < to * 2; i += 2) {
+            coords[i] /= this.scaleX;
+            coords[i + 1] /= this.scaleY;
+        }
+        this.input.toGeoInPlace(coords, from, to);
+    }
+
+    @Override
+    protected void fromGeoInPlace(double[] coords, int from, int to) {
+        this.input.fromGeoInPlace(coords, from, to);
+        for (int i = from * 2; i < to * 2; i += 2) {
+            coords[i] *= this.scaleX;
+            coords[i + 1] *= this.scaleY;
+        }
+    }
+
     @Override
     public boolean upright() {
         return (this.scaleY < 0) ^ this.input.upright();
@@ -25,6 +25,18 @@ public class UprightOrientationProjectionTransform extends ProjectionTransform {
         return p;
     }
 
+    @Override
+    protected void toGeoInPlace(double[] coords, int from, int to) {
+        for (int i = from * 2 + 1; i < to * 2; i += 2) coords[i] = -coords[i];
+        this.input.toGeoInPlace(coords, from, to);
+    }
+
+    @Override
+    protected void fromGeoInPlace(double[] coords, int from, int to) {
+        this.input.fromGeoInPlace(coords, from, to);
+        for (int i = from * 2 + 1; i < to * 2; i += 2) coords[i] = -coords[i];
+    }
+
     @Override
     public boolean upright() {
         return !this.input.upright();
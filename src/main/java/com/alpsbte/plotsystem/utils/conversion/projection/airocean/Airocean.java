@@ -129,6 +129,11 @@ public class Airocean extends GeographicProjection {
      */
     protected static final double[][][] INVERSE_ROTATION_MATRICES = new double[22][3][3];
 
+    /**
+     * Number of values in the scratch arrays passed through the conversion of a single point
+     */
+    protected static final int SCRATCH_SIZE = 6;
+
     protected static final int[] FACE_ON_GRID = {
             -1, -1, 0, 1, 2, -1, -1, 3, -1, 4, -1,
             -1, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14,
@@ -185,18 +190,20 @@ public class Airocean extends GeographicProjection {
      * Finds the face of the icosahedron on which to project a point.
      * In practice, it works by finding the face with the closest centroid to the point.
      *
-     * @param vector - position vector as double array of length 3, using Cartesian coordinates
+     * @param x - x Cartesian coordinate of the position vector
+     * @param y - y Cartesian coordinate of the position vector
+     * @param z - z Cartesian coordinate of the position vector
      * @return an integer identifying the face on which to project the point
      */
-    protected int findTriangle(double[] vector) {
+    protected int findTriangle(double x, double y, double z) {
 
         double min = Double.MAX_VALUE;
         int face = 0;
 
         for (int i = 0; i < 20; i++) {
-            double xd = CENTROIDS[i][0] - vector[0];
-            double yd = CENTROIDS[i][1] - vector[1];
-            double zd = CENTROIDS[i][2] - vector[2];
+            double xd = CENTROIDS[i][0] - x;
+            double yd = CENTROIDS[i][1] - y;
+            double zd = CENTROIDS[i][2] - z;
 
             double dissq = xd * xd + yd * yd + zd * zd;
             if (dissq < min) {
@@ -275,21 +282,27 @@ public class Airocean extends GeographicProjection {
         };
     }
 
-    protected double[] triangleTransform(double[] vec) {
+    /**
+     * Projects a point of the template triangle on the sphere onto the flat triangle
+     *
+     * @param out - receives the {x, y} coordinates, has to hold at least 6 values as subclasses use it as scratch space
+     */
+    protected void triangleTransform(double x, double y, double z, double[] out) {
 
-        double S = Z / vec[2];
+        double S = Z / z;
 
-        double xp = S * vec[0];
-        double yp = S * vec[1];
+        double xp = S * x;
+        double yp = S * y;
 
         double a = Math.atan((2 * yp / MathUtils.ROOT3 - EL6) / DVE); //ARC/2 terms cancel
         double b = Math.atan((xp - yp / MathUtils.ROOT3 - EL6) / DVE);
         double c = Math.atan((-xp - yp / MathUtils.ROOT3 - EL6) / DVE);
 
-        return new double[]{ 0.5 * (b - c), (2 * a - b - c) / (2 * MathUtils.ROOT3) };
+        out[0] = 0.5 * (b - c);
+        out[1] = (2 * a - b - c) / (2 * MathUtils.ROOT3);
     }
 
-    protected double[] inverseTriangleTransformNewton(double xpp, double ypp) {
+    protected void inverseTriangleTransformNewton(double xpp, double ypp, double[] out) {
 
         //a & b are linearly related to c, so using the tan of sum formula we know: tan(c+off) = (tanc + tanoff)/(1-tanc*tanoff)
         double tanaoff = Math.tan(MathUtils.ROOT3 * ypp + xpp); // a = c + root3*y'' + x''
@@ -332,49 +345,110 @@ public class Airocean extends GeographicProjection {
 
         double z = 1 / Math.sqrt(1 + xpoZ * xpoZ + ypoZ * ypoZ);
 
-        return new double[]{ z * xpoZ, z * ypoZ, z };
+        out[0] = z * xpoZ;
+        out[1] = z * ypoZ;
+        out[2] = z;
     }
 
-    protected double[] inverseTriangleTransform(double x, double y) {
-        return this.inverseTriangleTransformNewton(x, y);
+    /**
+     * Maps a point of the flat triangle back onto the template triangle on the sphere
+     *
+     * @param out - receives the {x, y, z} Cartesian coordinates, has to hold at least 6 values as subclasses use it as scratch space
+     */
+    protected void inverseTriangleTransform(double x, double y, double[] out) {
+        this.inverseTriangleTransformNewton(x, y, out);
     }
 
     @Override
     public double[] fromGeo(double longitude, double latitude) {
+        double[] pos = new double[2];
+        this.fromGeo(longitude, latitude, pos, 0, new double[SCRATCH_SIZE]);
+        return pos;
+    }
 
-        double[] vector = MathUtils.spherical2Cartesian(MathUtils.geo2Spherical(new double[] {longitude, latitude}));
+    @Override
+    public double[] toGeo(double x, double y) throws OutOfProjectionBoundsException {
+        double[] geo = new double[2];
+        if (!this.toGeo(x, y, geo, 0, new double[SCRATCH_SIZE])) throw OutOfProjectionBoundsException.get();
+        return geo;
+    }
 
-        int face = findTriangle(vector);
+    @Override
+    protected void fromGeoInPlace(double[] coords, int from, int to) {
+        double[] scratch = new double[SCRATCH_SIZE];
+        for (int i = from * 2; i < to * 2; i += 2) this.fromGeo(coords[i], coords[i + 1], coords, i, scratch);
+    }
+
+    @Override
+    protected void toGeoInPlace(double[] coords, int from, int to) {
+        double[] scratch = new double[SCRATCH_SIZE];
+        for (int i = from * 2; i < to * 2; i += 2) {
+            if (!this.toGeo(coords[i], coords[i + 1], coords, i, scratch)) {
+                coords[i] = Double.NaN;
+                coords[i + 1] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Converts geographic coordinates to map coordinates
+     *
+     * @param longitude - longitude, in degrees
+     * @param latitude - latitude, in degrees
+     * @param out - array to write the {x, y} map coordinates to
+     * @param index - index in out to write x to, y is written to index + 1
+     * @param scratch - scratch space of at least {@link #SCRATCH_SIZE} values, reused across points by the batch conversions
+     */
+    protected void fromGeo(double longitude, double latitude, double[] out, int index, double[] scratch) {
+        double lambda = Math.toRadians(longitude);
+        double phi = Math.toRadians(90 - latitude);
+        double sinphi = Math.sin(phi);
+        double vx = sinphi * Math.cos(lambda), vy = sinphi * Math.sin(lambda), vz = Math.cos(phi);
+
+        int face = findTriangle(vx, vy, vz);
 
         //apply rotation matrix (move triangle onto template triangle)
-        double[] pvec = MathUtils.matVecProdD(ROTATION_MATRICES[face], vector);
-        double[] projectedVec = this.triangleTransform(pvec);
+        double[][] rotation = ROTATION_MATRICES[face];
+        this.triangleTransform(
+                rotation[0][0] * vx + rotation[0][1] * vy + rotation[0][2] * vz,
+                rotation[1][0] * vx + rotation[1][1] * vy + rotation[1][2] * vz,
+                rotation[2][0] * vx + rotation[2][1] * vy + rotation[2][2] * vz,
+                scratch);
+        double x = scratch[0];
+        double y = scratch[1];
 
         //flip triangle to correct orientation
         if (FLIP_TRIANGLE[face]) {
-            projectedVec[0] = -projectedVec[0];
-            projectedVec[1] = -projectedVec[1];
+            x = -x;
+            y = -y;
         }
 
-        vector[0] = projectedVec[0];
         //deal with special snowflakes (child faces 20, 21)
-        if (((face == 15 && vector[0] > projectedVec[1] * MathUtils.ROOT3) || face == 14) && vector[0] > 0) {
-            projectedVec[0] = 0.5 * vector[0] - 0.5 * MathUtils.ROOT3 * projectedVec[1];
-            projectedVec[1] = 0.5 * MathUtils.ROOT3 * vector[0] + 0.5 * projectedVec[1];
+        if (((face == 15 && x > y * MathUtils.ROOT3) || face == 14) && x > 0) {
+            double t = x;
+            x = 0.5 * t - 0.5 * MathUtils.ROOT3 * y;
+            y = 0.5 * MathUtils.ROOT3 * t + 0.5 * y;
             face += 6; //shift 14->20 & 15->21
         }
 
-        projectedVec[0] += CENTER_MAP[face][0];
-        projectedVec[1] += CENTER_MAP[face][1];
-
-        return projectedVec;
+        out[index] = x + CENTER_MAP[face][0];
+        out[index + 1] = y + CENTER_MAP[face][1];
     }
 
-    @Override
-    public double[] toGeo(double x, double y) throws OutOfProjectionBoundsException {
+    /**
+     * Converts map coordinates to geographic coordinates
+     *
+     * @param x - x map coordinate
+     * @param y - y map coordinate
+     * @param out - array to write the {longitude, latitude} in degrees to
+     * @param index - index in out to write the longitude to, the latitude is written to index + 1
+     * @param scratch - scratch space of at least {@link #SCRATCH_SIZE} values, reused across points by the batch conversions
+     * @return false if the point is out of the projection bounds, out is not modified in that case
+     */
+    protected boolean toGeo(double x, double y, double[] out, int index, double[] scratch) {
         int face = findTriangleGrid(x, y);
 
-        if (face == -1) throw OutOfProjectionBoundsException.get();
+        if (face == -1) return false;
 
         x -= CENTER_MAP[face][0];
         y -= CENTER_MAP[face][1];
@@ -382,16 +456,16 @@ public class Airocean extends GeographicProjection {
         //deal with bounds of special snowflakes
         switch (face) {
             case 14:
-                if (x > 0) throw OutOfProjectionBoundsException.get();
+                if (x > 0) return false;
                 break;
             case 20:
-                if (-y * MathUtils.ROOT3 > x) throw OutOfProjectionBoundsException.get();
+                if (-y * MathUtils.ROOT3 > x) return false;
                 break;
             case 15:
-                if (x > 0 && x > y * MathUtils.ROOT3) throw OutOfProjectionBoundsException.get();
+                if (x > 0 && x > y * MathUtils.ROOT3) return false;
                 break;
             case 21:
-                if (x < 0 || -y * MathUtils.ROOT3 > x) throw OutOfProjectionBoundsException.get();
+                if (x < 0 || -y * MathUtils.ROOT3 > x) return false;
                 break;
         }
 
@@ -402,17 +476,19 @@ public class Airocean extends GeographicProjection {
         }
 
         //invert triangle transform
-        double[] c = this.inverseTriangleTransform(x, y);
-        x = c[0];
-        y = c[1];
-        double z = c[2];
+        double[] c = scratch;
+        this.inverseTriangleTransform(x, y, c);
 
-        double[] vec = new double[] {x, y, z};
         //apply inverse rotation matrix (move triangle from template triangle to correct position on globe)
-        double[] vecp = MathUtils.matVecProdD(INVERSE_ROTATION_MATRICES[face], vec);
+        double[][] rotation = INVERSE_ROTATION_MATRICES[face];
+        double vx = rotation[0][0] * c[0] + rotation[0][1] * c[1] + rotation[0][2] * c[2];
+        double vy = rotation[1][0] * c[0] + rotation[1][1] * c[1] + rotation[1][2] * c[2];
+        double vz = rotation[2][0] * c[0] + rotation[2][1] * c[1] + rotation[2][2] * c[2];
 
         //convert back to geo coordinates
-        return MathUtils.spherical2Geo(MathUtils.cartesian2Spherical(vecp));
+        out[index] = Math.toDegrees(Math.atan2(vy, vx));
+        out[index + 1] = 90 - Math.toDegrees(Math.atan2(Math.sqrt(vx * vx + vy * vy), vz));
+        return true;
     }
 
     @Override
@@ -53,12 +53,13 @@ public class ConformalEstimate extends Airocean {
     }
 
     @Override
-    protected double[] triangleTransform(double[] vec) {
-        double[] c = super.triangleTransform(vec);
+    protected void triangleTransform(double x, double y, double z, double[] out) {
+        super.triangleTransform(x, y, z, out);
 
-        double x = c[0];
-        double y = c[1];
+        x = out[0];
+        y = out[1];
 
+        double[] c = out;
         c[0] /= ARC;
         c[1] /= ARC;
 
@@ -71,19 +72,17 @@ public class ConformalEstimate extends Airocean {
         //c = inverse.applyNewtonsMethod(x, y, c[0]/ARC + 0.5, c[1]/ARC + ROOT3/6, 1);
 
         //just use newtons method: slower
-        c = this.inverse.applyNewtonsMethod(x, y, c[0], c[1], 5);//c[0]/ARC + 0.5, c[1]/ARC + ROOT3/6
+        this.inverse.applyNewtonsMethod(x, y, c[0], c[1], 5, c);//c[0]/ARC + 0.5, c[1]/ARC + ROOT3/6
 
         c[0] -= 0.5;
         c[1] -= MathUtils.ROOT3 / 6;
 
         c[0] *= ARC;
         c[1] *= ARC;
-
-        return c;
     }
 
     @Override
-    protected double[] inverseTriangleTransform(double x, double y) {
+    protected void inverseTriangleTransform(double x, double y, double[] out) {
 
         x /= ARC;
         y /= ARC;
@@ -91,8 +90,8 @@ public class ConformalEstimate extends Airocean {
         x += 0.5;
         y += MathUtils.ROOT3 / 6;
 
-        double[] c = this.inverse.getInterpolatedVector(x, y);
-        return super.inverseTriangleTransform(c[0], c[1]);
+        this.inverse.getInterpolatedVector(x, y, out);
+        super.inverseTriangleTransform(out[0], out[1], out);
     }
 
     @Override
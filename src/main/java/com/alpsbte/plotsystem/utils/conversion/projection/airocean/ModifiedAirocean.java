@@ -1,7 +1,6 @@
 package com.alpsbte.plotsystem.utils.conversion.projection.airocean;
 
 import com.alpsbte.plotsystem.utils.conversion.MathUtils;
-import com.alpsbte.plotsystem.utils.conversion.projection.OutOfProjectionBoundsException;
 
 /**
  * Implementation of the BTE modified Dynmaxion projection.
@@ -26,10 +25,10 @@ public class ModifiedAirocean extends ConformalEstimate {
     protected static final double ALEUTIAN_B = BERING_Y - ALEUTIAN_M * BERING_X;
 
     @Override
-    public double[] fromGeo(double longitude, double latitude) {
-        double[] c = super.fromGeo(longitude, latitude);
-        double x = c[0];
-        double y = c[1];
+    protected void fromGeo(double longitude, double latitude, double[] out, int index, double[] scratch) {
+        super.fromGeo(longitude, latitude, out, index, scratch);
+        double x = out[index];
+        double y = out[index + 1];
 
         boolean easia = this.isEurasianPart(x, y);
 
@@ -46,13 +45,12 @@ public class ModifiedAirocean extends ConformalEstimate {
             x -= ARC;
         }
 
-        c[0] = y;
-        c[1] = -x;
-        return c;
+        out[index] = y;
+        out[index + 1] = -x;
     }
 
     @Override
-    public double[] toGeo(double x, double y) throws OutOfProjectionBoundsException {
+    protected boolean toGeo(double x, double y, double[] out, int index, double[] scratch) {
         boolean easia;
         if (y < 0) {
             easia = x > 0;
@@ -79,9 +77,9 @@ public class ModifiedAirocean extends ConformalEstimate {
         y += 0.75 * ARC * MathUtils.ROOT3;
 
         //check to make sure still in right part
-        if (easia != this.isEurasianPart(x, y)) throw OutOfProjectionBoundsException.get();
+        if (easia != this.isEurasianPart(x, y)) return false;
 
-        return super.toGeo(x, y);
+        return super.toGeo(x, y, out, index, scratch);
     }
 
     protected boolean isEurasianPart(double x, double y) {
@@ -38,6 +38,11 @@ public abstract class ConfigPaths {
     public static final String SYNC_FTP_FILES_ENABLE = SYNC_FTP_FILES + "sff-enable";
     public static final String SYNC_FTP_FILES_INTERVAL = SYNC_FTP_FILES + "sync-interval";
 
+    private static final String WORLD_POOL = "world-pool.";
+    public static final String WORLD_POOL_SIZE = WORLD_POOL + "wp-size";
+
+    public static final String WORLD_MEMORY_BUDGET = "world-memory-budget";
+
 
     // Database
     private static final String DATABASE = "database.";
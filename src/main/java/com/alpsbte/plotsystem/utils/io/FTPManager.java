@@ -24,26 +24,51 @@
 
 package com.alpsbte.plotsystem.utils.io;
 
+import com.alpsbte.plotsystem.PlotSystem;
 import com.alpsbte.plotsystem.core.system.Server;
 import org.apache.commons.vfs2.*;
 import org.apache.commons.vfs2.impl.StandardFileSystemManager;
 import org.apache.commons.vfs2.provider.ftp.FtpFileSystemConfigBuilder;
 import org.apache.commons.vfs2.provider.sftp.SftpFileSystemConfigBuilder;
 import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 
+/**
+ * Transfers schematics from and to the FTP/SFTP servers of the build servers.
+ * <p>
+ * All transfers share one file system manager, which keeps one open file system (login) per FTP configuration.
+ * Sessions are reused by subsequent transfers, kept alive while they are used and closed after
+ * {@link #SESSION_IDLE_TIMEOUT_MILLIS} without a transfer. Several files can be transferred with a single
+ * session by using a {@link Batch}.
+ */
 public class FTPManager {
 
     private static FileSystemOptions fileOptions;
 
     private final static String DEFAULT_SCHEMATIC_PATH_LINUX = "/var/lib/Plot-System/schematics";
 
+    private static final long SESSION_IDLE_TIMEOUT_MILLIS = 60_000;
+    private static final long SESSION_KEEP_ALIVE_MILLIS = 20_000;
+    private static final long SESSION_CHECK_INTERVAL_TICKS = 20 * 10;
+    private static final int MAX_CONCURRENT_TRANSFERS = 4;
+
+    private static StandardFileSystemManager fileManager;
+    private static BukkitTask sessionCheckTask;
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
     static {
         try {
             fileOptions = new FileSystemOptions();
@@ -70,22 +95,8 @@ public class FTPManager {
     }
 
     public static CompletableFuture<Void> uploadSchematic(String ftpURL, File schematic) {
-        try (StandardFileSystemManager fileManager = new StandardFileSystemManager()) {
-            fileManager.init();
-
-            // Get local schematic
-            FileObject localSchematic = fileManager.toFileObject(schematic);
-
-            // Get remote path and create missing directories
-            FileObject remote = fileManager.resolveFile(ftpURL, fileOptions);
-            remote.createFolder();
-
-            // Create remote schematic and write to it
-            FileObject remoteSchematic = remote.resolveFile(schematic.getName());
-            remoteSchematic.copyFrom(localSchematic, Selectors.SELECT_SELF);
-
-            localSchematic.close();
-            remoteSchematic.close();
+        try {
+            batch().upload(ftpURL, schematic).execute();
         } catch (FileSystemException ex) {
             Bukkit.getLogger().log(Level.SEVERE, "Exception found with FileSystemManager!", ex);
         }
@@ -93,44 +104,306 @@ public class FTPManager {
     }
 
     public static boolean downloadSchematic(String ftpURL, File schematic) {
-        boolean fileExists = false;
-        try (StandardFileSystemManager fileManager = new StandardFileSystemManager()) {
-            fileManager.init();
+        try {
+            return batch().download(ftpURL.replaceFirst("finishedSchematics/",""), schematic).execute() > 0;
+        } catch (FileSystemException ex) {
+            Bukkit.getLogger().log(Level.SEVERE, "Exception found with FileSystemManager!", ex);
+        }
+        return false;
+    }
+
+    public static void deleteSchematic(String ftpURL, String schematicName) throws FileSystemException {
+        batch().delete(ftpURL, schematicName).execute();
+    }
 
-            // Get local schematic
-            FileObject localSchematic = fileManager.toFileObject(schematic);
+    /**
+     * @return new batch to transfer several files with as few sessions as possible
+     */
+    public static Batch batch() {
+        return new Batch();
+    }
 
-            // Get remote path
-            FileObject remote = fileManager.resolveFile(ftpURL.replaceFirst("finishedSchematics/",""), fileOptions);
+    /**
+     * Runs the given task with the pooled session of the server the url points to
+     * @param ftpURL remote folder url
+     * @param task task which receives the resolved remote folder
+     * @return result of the task
+     * @throws FileSystemException if the session could not be opened or the task failed
+     */
+    public static <T> T withSession(String ftpURL, SessionTask<T> task) throws FileSystemException {
+        while (true) {
+            FileSystem fileSystem = getFileManager().resolveFile(ftpURL, fileOptions).getFileSystem();
+            Session session = sessions.computeIfAbsent(fileSystem.getRootURI(), uri -> new Session(fileSystem));
 
-            // Get remote schematic and write it to local file
-            FileObject remoteSchematic = remote.resolveFile(schematic.getName());
-            if (remoteSchematic.exists()) {
-                localSchematic.copyFrom(remoteSchematic, Selectors.SELECT_SELF);
-                fileExists = true;
+            session.acquire();
+            try {
+                // checkSessions may have closed the session before it was acquired, retry with a new one in that case
+                if (session.closed) continue;
+
+                // Resolve the file only while the session is held, so it can not be closed during the transfer
+                FileObject remote = getFileManager().resolveFile(ftpURL, fileOptions);
+                if (remote.getFileSystem() != session.fileSystem) {
+                    // The file system of the session was closed before the session was registered
+                    session.closed = true;
+                    sessions.remove(session.fileSystem.getRootURI(), session);
+                    continue;
+                }
+
+                try {
+                    return task.run(remote);
+                } catch (FileSystemException ex) {
+                    // The connection might be broken, it is closed once the other transfers using it are done
+                    session.broken = true;
+                    throw ex;
+                }
+            } finally {
+                session.release();
             }
+        }
+    }
 
-            localSchematic.close();
-            remoteSchematic.close();
-        } catch (FileSystemException ex) {
-            Bukkit.getLogger().log(Level.SEVERE, "Exception found with FileSystemManager!", ex);
+    /**
+     * Closes all open sessions
+     */
+    public static synchronized void shutdown() {
+        if (sessionCheckTask != null) {
+            sessionCheckTask.cancel();
+            sessionCheckTask = null;
+        }
+        sessions.values().forEach(FTPManager::closeSession);
+        if (fileManager != null) {
+            fileManager.close();
+            fileManager = null;
         }
-        return fileExists;
     }
 
-    public static void deleteSchematic(String ftpURL, String schematicName) throws FileSystemException {
-        try (StandardFileSystemManager fileManager = new StandardFileSystemManager()) {
-            fileManager.init();
-            FileObject remote, remoteSchematic;
-
-            remote = fileManager.resolveFile(ftpURL, fileOptions);
-            remoteSchematic = remote.resolveFile(schematicName);
-            if (remoteSchematic.exists()) {
-                remoteSchematic.delete();
+    /**
+     * @return number of currently open sessions
+     */
+    public static int getOpenSessions() {
+        return sessions.size();
+    }
+
+    private static synchronized StandardFileSystemManager getFileManager() throws FileSystemException {
+        if (fileManager == null) {
+            StandardFileSystemManager manager = new StandardFileSystemManager();
+            manager.init();
+            fileManager = manager;
+
+            // Transfers after shutdown, e.g. while the plugin is disabled, do not start a new check task
+            if (sessionCheckTask == null && PlotSystem.getPlugin().isEnabled()) {
+                sessionCheckTask = Bukkit.getScheduler().runTaskTimerAsynchronously(PlotSystem.getPlugin(), FTPManager::checkSessions,
+                        SESSION_CHECK_INTERVAL_TICKS, SESSION_CHECK_INTERVAL_TICKS);
+            }
+        }
+        return fileManager;
+    }
+
+    /**
+     * Closes sessions which were not used for a while and keeps the others alive
+     */
+    private static void checkSessions() {
+        long now = System.currentTimeMillis();
+        for (Session session : sessions.values()) {
+            if (!session.tryAcquireIdle()) continue;
+            try {
+                long idle = now - session.lastUsed;
+                if (session.broken || idle >= SESSION_IDLE_TIMEOUT_MILLIS) {
+                    closeSession(session);
+                } else if (now - session.lastKeepAlive >= SESSION_KEEP_ALIVE_MILLIS) {
+                    session.keepAlive();
+                }
+            } catch (FileSystemException ex) {
+                closeSession(session);
+            } finally {
+                session.releaseIdle();
+            }
+        }
+    }
+
+    /**
+     * Closes the session, must only be called while no transfer is using it
+     */
+    private static synchronized void closeSession(Session session) {
+        session.closed = true;
+        if (sessions.remove(session.fileSystem.getRootURI(), session) && fileManager != null) {
+            fileManager.closeFileSystem(session.fileSystem);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SessionTask<T> {
+        T run(FileObject remote) throws FileSystemException;
+    }
+
+    /**
+     * Collects uploads, downloads and deletions and executes them with one session per server.
+     * Operations on the same server are executed in the order they were added.
+     */
+    public static class Batch {
+        private final Map<String, List<Operation>> operations = new LinkedHashMap<>();
+
+        private Batch() {}
+
+        /**
+         * @param ftpURL remote folder, missing folders are created
+         * @param schematic local file to upload
+         */
+        public Batch upload(String ftpURL, File schematic) {
+            return add(ftpURL, remote -> {
+                remote.createFolder();
+                try (FileObject remoteSchematic = remote.resolveFile(schematic.getName());
+                     FileObject localSchematic = getFileManager().toFileObject(schematic)) {
+                    remoteSchematic.copyFrom(localSchematic, Selectors.SELECT_SELF);
+                }
+                return true;
+            });
+        }
+
+        /**
+         * @param ftpURL remote folder
+         * @param schematic local file to download to, the remote file has the same name
+         */
+        public Batch download(String ftpURL, File schematic) {
+            return download(ftpURL, schematic.getName(), schematic);
+        }
+
+        /**
+         * @param ftpURL remote folder
+         * @param schematicName name of the remote file
+         * @param target local file to download to
+         */
+        public Batch download(String ftpURL, String schematicName, File target) {
+            return add(ftpURL, remote -> {
+                try (FileObject remoteSchematic = remote.resolveFile(schematicName)) {
+                    if (!remoteSchematic.exists()) return false;
+                    try (FileObject localSchematic = getFileManager().toFileObject(target)) {
+                        localSchematic.copyFrom(remoteSchematic, Selectors.SELECT_SELF);
+                    }
+                }
+                return true;
+            });
+        }
+
+        /**
+         * @param ftpURL remote folder, it is deleted as well if it is empty afterwards
+         * @param schematicName name of the remote file
+         */
+        public Batch delete(String ftpURL, String schematicName) {
+            return add(ftpURL, remote -> {
+                try (FileObject remoteSchematic = remote.resolveFile(schematicName)) {
+                    if (!remoteSchematic.exists()) return false;
+                    remoteSchematic.delete();
+                }
                 if (remote.getChildren().length == 0) {
                     remote.delete();
                 }
+                return true;
+            });
+        }
+
+        /**
+         * Executes all operations, the first failing operation stops the batch
+         * @return number of operations which transferred or deleted a file
+         * @throws FileSystemException if a session could not be opened or an operation failed
+         */
+        public int execute() throws FileSystemException {
+            int transferred = 0;
+            for (Map.Entry<String, List<Operation>> server : operations.entrySet()) {
+                List<Operation> serverOperations = server.getValue();
+                transferred += withSession(server.getKey(), root -> {
+                    int count = 0;
+                    for (Operation operation : serverOperations) {
+                        if (operation.run(root.resolveFile(operation.path))) count++;
+                    }
+                    return count;
+                });
+            }
+            operations.clear();
+            return transferred;
+        }
+
+        private Batch add(String ftpURL, Operation.Action action) {
+            URI uri = URI.create(ftpURL);
+            String root = uri.getScheme() + "://" + uri.getRawAuthority() + "/";
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath().replaceFirst("^/+", "");
+            operations.computeIfAbsent(root, r -> new ArrayList<>()).add(new Operation(path, action));
+            return this;
+        }
+    }
+
+    private static class Operation {
+        private final String path;
+        private final Action action;
+
+        private Operation(String path, Action action) {
+            this.path = path;
+            this.action = action;
+        }
+
+        private boolean run(FileObject remote) throws FileSystemException {
+            return action.run(remote);
+        }
+
+        @FunctionalInterface
+        private interface Action {
+            boolean run(FileObject remote) throws FileSystemException;
+        }
+    }
+
+    private static class Session {
+        private final FileSystem fileSystem;
+        private final Semaphore permits = new Semaphore(MAX_CONCURRENT_TRANSFERS);
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile long lastKeepAlive = System.currentTimeMillis();
+        private volatile boolean broken;
+        private volatile boolean closed;
+
+        private Session(FileSystem fileSystem) {
+            this.fileSystem = fileSystem;
+        }
+
+        private void acquire() throws FileSystemException {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new FileSystemException(ex);
+            }
+        }
+
+        private void release() {
+            lastUsed = System.currentTimeMillis();
+            lastKeepAlive = lastUsed;
+            permits.release();
+
+            // The last transfer using a broken session closes it, the next transfer opens a new one
+            if (broken && tryAcquireIdle()) {
+                try {
+                    closeSession(this);
+                } finally {
+                    releaseIdle();
+                }
+            }
+        }
+
+        /**
+         * @return true if no transfer is running, blocks new transfers until {@link #releaseIdle()} is called
+         */
+        private boolean tryAcquireIdle() {
+            return permits.tryAcquire(MAX_CONCURRENT_TRANSFERS);
+        }
+
+        private void releaseIdle() {
+            permits.release(MAX_CONCURRENT_TRANSFERS);
+        }
+
+        private void keepAlive() throws FileSystemException {
+            try (FileObject root = fileSystem.getRoot()) {
+                root.refresh();
+                root.getType();
             }
+            lastKeepAlive = System.currentTimeMillis();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.utils.conversion;
+
+import com.alpsbte.plotsystem.utils.conversion.projection.OutOfProjectionBoundsException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting points one by one with the batch conversions of {@link CoordinateConversion}.
+ * Run it from the IDE or with {@code java -cp <test classpath> com.alpsbte.plotsystem.utils.conversion.CoordinateConversionBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinateConversionBenchmark {
+
+    // A single chunk converted on the calling thread and several chunks converted in parallel
+    @Param({ "100", "100000" })
+    private int count;
+
+    private double[] longitudes, latitudes;
+    private double[] xs, zs;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(count);
+        longitudes = new double[count];
+        latitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            longitudes[i] = random.nextDouble() * 360 - 180;
+            latitudes[i] = random.nextDouble() * 170 - 85;
+        }
+
+        out = new double[count * 2];
+        CoordinateConversion.convertFromGeo(longitudes, latitudes, out);
+        xs = new double[count];
+        zs = new double[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = out[i * 2];
+            zs[i] = out[i * 2 + 1];
+        }
+    }
+
+    @Benchmark
+    public void fromGeoScalar(Blackhole blackhole) throws OutOfProjectionBoundsException {
+        for (int i = 0; i < count; i++) blackhole.consume(CoordinateConversion.convertFromGeo(longitudes[i], latitudes[i]));
+    }
+
+    @Benchmark
+    public double[] fromGeoBatch() {
+        CoordinateConversion.convertFromGeo(longitudes, latitudes, out);
+        return out;
+    }
+
+    @Benchmark
+    public void toGeoScalar(Blackhole blackhole) throws OutOfProjectionBoundsException {
+        for (int i = 0; i < count; i++) blackhole.consume(CoordinateConversion.convertToGeo(xs[i], zs[i]));
+    }
+
+    @Benchmark
+    public double[] toGeoBatch() {
+        CoordinateConversion.convertToGeo(xs, zs, out);
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CoordinateConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
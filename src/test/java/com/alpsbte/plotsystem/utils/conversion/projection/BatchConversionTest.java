@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ *  Copyright © 2023, Alps BTE <bte.atchli@gmail.com>
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package com.alpsbte.plotsystem.utils.conversion.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchConversionTest {
+
+    // More than one fork-join chunk, so the parallel path is exercised as well
+    private static final int LARGE_BATCH = 10000;
+    private static final int SMALL_BATCH = 100;
+
+    // Captured from the scalar conversions before batch conversions were added. Each row holds longitude, latitude,
+    // the projected x and y, and the longitude and latitude converted back from x and y.
+    private static final Map<String, double[][]> REFERENCE_POINTS = new HashMap<>();
+
+    static {
+        REFERENCE_POINTS.put("airocean", new double[][]{
+                { 0.0, 0.0, -1.197209324066023, 1.3830732773167145, 3.1805546814635176E-15, 0.0 },
+                { 8.5417, 47.3769, -0.7564151320471426, 0.7113896682781129, 8.541699999999981, 47.3769 },
+                { -74.006, 40.7128, 0.29825473604579494, 0.2845945709172554, -74.006, 40.71280000000001 },
+                { 139.6917, 35.6895, -0.9229721054115365, -0.6557302864673431, 139.6917, 35.689499999999995 },
+                { -58.3816, -34.6037, 1.5811397126458575, 0.48254536746129106, -58.3816, -34.6037 },
+                { 151.2093, -33.8688, -2.210391886313665, -1.0792939414427618, 151.2093, -33.86879999999999 },
+                { -179.5, 89.5, -0.43984253343291724, 0.04078830648524004, -179.49999999999883, 89.5 }
+        });
+        REFERENCE_POINTS.put("conformal", new double[][]{
+                { 0.0, 0.0, -1.2180489062578919, 1.3701636431621904, 3.1805546814635176E-15, 0.0 },
+                { 8.5417, 47.3769, -0.7697394633732303, 0.7283866578406729, 8.541700000000008, 47.3769 },
+                { -74.006, 40.7128, 0.28432390039506944, 0.2731415753515742, -74.006, 40.712800000000016 },
+                { 139.6917, 35.6895, -0.906826419845137, -0.6728245606258221, 139.69170000000003, 35.68950000000002 },
+                { -58.3816, -34.6037, 1.553807340232831, 0.4833520016205207, -58.381599999999985, -34.6037 },
+                { 151.2093, -33.8688, -2.210463138820804, -1.0805498518746328, 151.2093, -33.86879999999999 },
+                { -179.5, 89.5, -0.4373359674996653, 0.031990857130698575, -179.499999999999, 89.5 }
+        });
+        REFERENCE_POINTS.put("bteairocean", new double[][]{
+                { 0.0, 0.0, 0.11439587942995882, -0.06201001554244131, 3.1805546814635176E-15, 0.0 },
+                { 8.5417, 47.3769, 0.44603633084025507, 0.6471258434128833, 8.541700000000017, 47.3769 },
+                { -74.006, 40.7128, -1.1650867977140016, 0.8228248173990209, -74.006, 40.71280000000001 },
+                { 139.6917, 35.6895, 1.72806432033594, 1.2290106658139677, 139.69170000000003, 35.68950000000002 },
+                { -58.3816, -34.6037, -0.9548763714450551, -0.44665862243874055, -58.381599999999985, -34.6037 },
+                { 151.2093, -33.8688, 2.7329831398106528, 0.30389079549925035, 151.2093, -33.86879999999999 },
+                { -179.5, 89.5, 0.8829310374071155, 1.2831936155011334, -179.49999999999937, 89.50000000000001 }
+        });
+    }
+
+    @Test
+    void batchMatchesReferenceValues() {
+        for (Map.Entry<String, double[][]> entry : REFERENCE_POINTS.entrySet()) {
+            GeographicProjection projection = GeographicProjection.projections.get(entry.getKey());
+            double[][] points = entry.getValue();
+
+            // The point out of the projection is expected to come back as NaN
+            double[] longitudes = new double[points.length], latitudes = new double[points.length];
+            double[] xs = new double[points.length + 1], ys = new double[points.length + 1];
+            for (int i = 0; i < points.length; i++) {
+                longitudes[i] = points[i][0];
+                latitudes[i] = points[i][1];
+                xs[i] = points[i][2];
+                ys[i] = points[i][3];
+            }
+            xs[points.length] = 10;
+            ys[points.length] = 10;
+
+            double[] projected = new double[points.length * 2];
+            projection.fromGeo(longitudes, latitudes, projected);
+            double[] geo = new double[xs.length * 2];
+            projection.toGeo(xs, ys, geo);
+
+            for (int i = 0; i < points.length; i++) {
+                assertPoint(entry.getKey(), new double[]{ points[i][2], points[i][3] }, projected, i);
+                assertPoint(entry.getKey(), new double[]{ points[i][4], points[i][5] }, geo, i);
+            }
+            assertPoint(entry.getKey(), new double[]{ Double.NaN, Double.NaN }, geo, points.length);
+        }
+    }
+
+    @Test
+    void fromGeoBatchMatchesScalar() {
+        for (Map.Entry<String, GeographicProjection> entry : projections()) {
+            for (int count : new int[]{ SMALL_BATCH, LARGE_BATCH }) {
+                double[][] geo = randomGeo(count);
+                double[] out = new double[count * 2];
+                entry.getValue().fromGeo(geo[0], geo[1], out);
+
+                for (int i = 0; i < count; i++) {
+                    double[] expected;
+                    try {
+                        expected = entry.getValue().fromGeo(geo[0][i], geo[1][i]);
+                    } catch (OutOfProjectionBoundsException e) {
+                        expected = new double[]{ Double.NaN, Double.NaN };
+                    }
+                    assertPoint(entry.getKey(), expected, out, i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void toGeoBatchMatchesScalar() {
+        for (Map.Entry<String, GeographicProjection> entry : projections()) {
+            double[] bounds = entry.getValue().bounds();
+            for (int count : new int[]{ SMALL_BATCH, LARGE_BATCH }) {
+                // Sample a bit beyond the bounds so points out of the projection are covered too
+                Random random = new Random(count);
+                double[] xs = new double[count];
+                double[] ys = new double[count];
+                for (int i = 0; i < count; i++) {
+                    xs[i] = bounds[0] + (random.nextDouble() * 1.2 - 0.1) * (bounds[2] - bounds[0]);
+                    ys[i] = bounds[1] + (random.nextDouble() * 1.2 - 0.1) * (bounds[3] - bounds[1]);
+                }
+
+                double[] out = new double[count * 2];
+                entry.getValue().toGeo(xs, ys, out);
+
+                int outOfBounds = 0;
+                for (int i = 0; i < count; i++) {
+                    double[] expected;
+                    try {
+                        expected = entry.getValue().toGeo(xs[i], ys[i]);
+                    } catch (OutOfProjectionBoundsException e) {
+                        expected = new double[]{ Double.NaN, Double.NaN };
+                        outOfBounds++;
+                    }
+                    assertPoint(entry.getKey(), expected, out, i);
+                }
+                assertTrue(outOfBounds > 0, entry.getKey() + ": no out of bounds points sampled");
+            }
+        }
+    }
+
+    private static Iterable<Map.Entry<String, GeographicProjection>> projections() {
+        return GeographicProjection.projections.entrySet();
+    }
+
+    private static double[][] randomGeo(int count) {
+        Random random = new Random(count);
+        double[] longitudes = new double[count];
+        double[] latitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            longitudes[i] = random.nextDouble() * 360 - 180;
+            latitudes[i] = random.nextDouble() * 180 - 90;
+        }
+        return new double[][]{ longitudes, latitudes };
+    }
+
+    private static void assertPoint(String projection, double[] expected, double[] out, int index) {
+        // The batch path has to produce exactly the same values as the scalar path
+        assertEquals(expected[0], out[index * 2], 0, projection + ": point " + index);
+        assertEquals(expected[1], out[index * 2 + 1], 0, projection + ": point " + index);
+    }
+}